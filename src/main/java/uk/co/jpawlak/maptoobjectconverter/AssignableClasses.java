@@ -0,0 +1,38 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.util.Arrays;
+
+/**
+ * Assignability of values to a single field, cached per value class. Fields usually receive values of one or a few
+ * classes, so after the first value of each class, the check is an identity comparison against the classes accepted so far.
+ */
+class AssignableClasses {
+
+    private static final int MAXIMUM_SIZE = 8;
+
+    private final Class<?> targetClass;
+    private volatile Class<?>[] accepted = new Class<?>[0];
+
+    AssignableClasses(Class<?> targetClass) {
+        this.targetClass = targetClass;
+    }
+
+    boolean accepts(Class<?> valueClass) {
+        Class<?>[] accepted = this.accepted;
+        for (Class<?> acceptedClass : accepted) {
+            if (acceptedClass == valueClass) {
+                return true;
+            }
+        }
+        if (!targetClass.isAssignableFrom(valueClass)) {
+            return false;
+        }
+        if (accepted.length < MAXIMUM_SIZE) {
+            Class<?>[] newAccepted = Arrays.copyOf(accepted, accepted.length + 1);
+            newAccepted[accepted.length] = valueClass;
+            this.accepted = newAccepted;
+        }
+        return true;
+    }
+
+}
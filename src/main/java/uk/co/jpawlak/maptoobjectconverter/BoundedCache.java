@@ -0,0 +1,150 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Concurrent cache bounded by the number of entries. When the bound is exceeded, the oldest entries are evicted. Entries
+ * can also expire after a fixed time since they were loaded, in which case they are loaded again when they are requested.
+ *
+ * <br><br>
+ *
+ * Concurrent requests for the same absent key are de-duplicated: only one thread computes the value while the others
+ * wait for its result. Failed computations are not cached. Both keys and values may be null.
+ *
+ * <br><br>
+ *
+ * Entries are kept in insertion order and are only looked up, added and removed under a lock, so that removing any entry
+ * takes constant time and the bound always holds. Values are computed outside of the lock.
+ */
+class BoundedCache<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    private final Object lock = new Object();
+    private final LinkedHashMap<Object, Entry<V>> entries = new LinkedHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    BoundedCache(int maximumSize) {
+        this(maximumSize, 0, System::nanoTime);
+    }
+
+    /**
+     * @param timeToLiveNanos time after which loaded entries expire, or 0 if they do not expire
+     */
+    BoundedCache(int maximumSize, long timeToLiveNanos, LongSupplier nanoTime) {
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, UnaryOperator.identity(), loader);
+    }
+
+    /**
+     * @param keyToStore creates the key stored in the cache on a miss from the requested key, to which it has to be equal
+     */
+    V get(K key, UnaryOperator<K> keyToStore, Function<? super K, ? extends V> loader) {
+        Object cacheKey = key == null ? NULL_KEY : key;
+
+        Entry<V> entry;
+        boolean load = false;
+        synchronized (lock) {
+            entry = entries.get(cacheKey);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(cacheKey);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry<>(new FutureTask<>(() -> loader.apply(key)), nanoTime.getAsLong());
+                K storedKey = keyToStore.apply(key);
+                entries.put(storedKey == null ? NULL_KEY : storedKey, entry);
+                evictExcessEntries();
+                load = true;
+            }
+        }
+        if (load) {
+            misses.increment();
+            entry.future.run();
+        } else {
+            hits.increment();
+        }
+
+        try {
+            return entry.future.get();
+        } catch (ExecutionException e) {
+            synchronized (lock) {
+                entries.remove(cacheKey, entry);
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new ConverterUnknownException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Has to be called while holding the lock.
+     */
+    private void evictExcessEntries() {
+        Iterator<Object> oldestKeys = entries.keySet().iterator();
+        while (entries.size() > maximumSize) {
+            oldestKeys.next();
+            oldestKeys.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return timeToLiveNanos > 0 && nanoTime.getAsLong() - entry.loadedAt >= timeToLiveNanos;
+    }
+
+    int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all entries, without counting them as evictions.
+     */
+    void clear() {
+        synchronized (lock) {
+            entries.clear();
+        }
+    }
+
+    CacheStatistics statistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private static final class Entry<V> {
+
+        private final FutureTask<V> future;
+        private final long loadedAt;
+
+        private Entry(FutureTask<V> future, long loadedAt) {
+            this.future = future;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
+}
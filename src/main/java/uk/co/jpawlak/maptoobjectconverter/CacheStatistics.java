@@ -0,0 +1,55 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+/**
+ * Counters of a bounded cache maintained by the converter.
+ *
+ * <br><br>
+ *
+ * A <i>hit</i> is a lookup answered from the cache (including lookups which waited for a concurrent computation of the
+ * same key), a <i>miss</i> is a lookup which computed the value, an <i>eviction</i> is an entry removed because the
+ * cache exceeded its maximum size and an <i>expiration</i> is an entry removed because it outlived its time to live.
+ *
+ * @see MapToObjectConverter#memoizationStatistics(Class)
+ * @see MapToObjectConverter#resultCacheStatistics()
+ */
+public final class CacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    CacheStatistics(long hits, long misses, long evictions, long expirations) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", expirations=" + expirations + "}";
+    }
+
+}
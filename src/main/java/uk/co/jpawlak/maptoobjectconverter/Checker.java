@@ -5,7 +5,6 @@ import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsExcep
 import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
 import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -16,29 +15,24 @@ import java.util.Set;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
-import static uk.co.jpawlak.maptoobjectconverter.Utils.fieldsOf;
 
 class Checker {
 
     private final Converters converters;
     private final boolean keyCaseSensitive;
+    private volatile boolean ignoreUnknownKeys;
 
     Checker(Converters converters, boolean keyCaseSensitive) {
         this.converters = converters;
         this.keyCaseSensitive = keyCaseSensitive;
     }
 
+    void ignoreUnknownKeys() {
+        this.ignoreUnknownKeys = true;
+    }
+
     void checkParameters(Map<String, ?> map, Class<?> targetClass) {
-        if (map == null) {
-            throw new ConverterIllegalArgumentException("Map cannot be null.");
-        }
-        try {
-            if (map.containsKey(null)) {
-                throw new ConverterIllegalArgumentException("Map's keys cannot be null.");
-            }
-        } catch (NullPointerException ignored) {
-            // map does not permit null keys
-        }
+        checkMap(map);
         if (targetClass == null) {
             throw new ConverterIllegalArgumentException("Target class cannot be null.");
         }
@@ -51,12 +45,30 @@ class Checker {
         if (targetClass.isAnnotation()) {
             throw new ConverterIllegalArgumentException("Cannot convert map to annotation.");
         }
-        if (targetClass.isInterface()) {
+        boolean polymorphic = converters.getDiscriminatorFor(targetClass) != null;
+        if (targetClass.isInterface() && !polymorphic) {
             throw new ConverterIllegalArgumentException("Cannot convert map to interface.");
         }
-        if ((targetClass.getModifiers() & Modifier.ABSTRACT) != 0) {
+        if ((targetClass.getModifiers() & Modifier.ABSTRACT) != 0 && !polymorphic) {
             throw new ConverterIllegalArgumentException("Cannot convert map to abstract class.");
         }
+        checkKeysDuplicates(map);
+    }
+
+    void checkMap(Map<String, ?> map) {
+        if (map == null) {
+            throw new ConverterIllegalArgumentException("Map cannot be null.");
+        }
+        try {
+            if (map.containsKey(null)) {
+                throw new ConverterIllegalArgumentException("Map's keys cannot be null.");
+            }
+        } catch (NullPointerException ignored) {
+            // map does not permit null keys
+        }
+    }
+
+    void checkKeysDuplicates(Map<String, ?> map) {
         if (!keyCaseSensitive) {
             List<String> keysDuplicates = map.keySet().stream()
                     .filter(key1 -> map.keySet().stream().anyMatch(key2 -> key1.equalsIgnoreCase(key2) && !key1.equals(key2)))
@@ -68,20 +80,49 @@ class Checker {
         }
     }
 
-    void checkKeysEqualToFieldsNames(Set<String> keys, Class<?> targetClass) {
-        Set<String> fieldsNames = fieldsOf(targetClass)
-                .map(Field::getName)
-                .collect(toCollection(LinkedHashSet::new));
+    /**
+     * @param ignoredKey key which does not require a field (i.e. the discriminator key), or null
+     * @return keys without fields, which are allowed only if unknown keys are ignored or collected by the plan
+     */
+    List<String> checkKeysEqualToFieldsNames(Set<String> keys, ClassPlan<?> plan, String ignoredKey) {
+        List<String> unknownKeys = checkKeysHaveFields(keys, plan.keys(), ignoredKey, plan.unknownKeysProperty() != null);
+        if (plan.prototype() == null) {
+            checkFieldsHaveKeys(keys, plan.keys());
+        }
+        return unknownKeys;
+    }
+
+    /**
+     * @param unknownKeysCollected true if keys without fields are allowed regardless of whether unknown keys are ignored
+     * @return keys without fields, which are allowed only if unknown keys are ignored or collected
+     */
+    List<String> checkKeysEqualToFieldsNames(Set<String> keys, Set<String> fieldsNames, String ignoredKey, boolean unknownKeysCollected) {
+        List<String> unknownKeys = checkKeysHaveFields(keys, fieldsNames, ignoredKey, unknownKeysCollected);
+        checkFieldsHaveKeys(keys, fieldsNames);
+        return unknownKeys;
+    }
 
-        checkKeysEqualToFieldsNames(keys, fieldsNames);
+    /**
+     * Validates keys of a map holding values of only some of the fields.
+     *
+     * @return keys without fields, which are allowed only if unknown keys are ignored or collected by the plan
+     */
+    List<String> checkKeysHaveFields(Set<String> keys, ClassPlan<?> plan) {
+        return checkKeysHaveFields(keys, plan.keys(), null, plan.unknownKeysProperty() != null);
     }
 
-    private void checkKeysEqualToFieldsNames(Set<String> keys, Set<String> fieldsNames) {
-        Set<String> missingFields = keys.stream().filter(key -> !contains(fieldsNames, key)).collect(toCollection(LinkedHashSet::new));
-        if (!missingFields.isEmpty()) {
+    private List<String> checkKeysHaveFields(Set<String> keys, Set<String> fieldsNames, String ignoredKey, boolean unknownKeysCollected) {
+        List<String> missingFields = keys.stream()
+                .filter(key -> !contains(fieldsNames, key))
+                .filter(key -> ignoredKey == null || !(keyCaseSensitive ? key.equals(ignoredKey) : key.equalsIgnoreCase(ignoredKey)))
+                .collect(toList());
+        if (!missingFields.isEmpty() && !ignoreUnknownKeys && !unknownKeysCollected) {
             throw new ConverterMissingFieldsException("No fields for keys: '%s'.", missingFields.stream().collect(joining("', '")));
         }
+        return missingFields;
+    }
 
+    private void checkFieldsHaveKeys(Set<String> keys, Set<String> fieldsNames) {
         Set<String> missingValues = fieldsNames.stream().filter(fieldName -> !contains(keys, fieldName)).collect(toCollection(LinkedHashSet::new));
         if (!missingValues.isEmpty()) {
             throw new ConverterMissingValuesException("No values for fields: '%s'.", missingValues.stream().collect(joining("', '")));
@@ -96,16 +137,51 @@ class Checker {
         }
     }
 
-    void checkOptionalFieldsForNullValues(Map<String, Object> map, Class<?> targetClass) {
-        Set<String> fieldsNames = fieldsOf(targetClass)
-                .filter(field -> field.getType() != Optional.class && map.get(field.getName()) == null)
-                .filter(field -> !converters.hasRegisteredConverterFor(field.getGenericType()))
-                .map(Field::getName)
-                .collect(toCollection(LinkedHashSet::new));
+    void checkOptionalFieldsForNullValues(Map<String, Object> map, ClassPlan<?> plan) {
+        checkOptionalFieldsForNullValues(map, plan, plan.prototype() != null);
+    }
 
-        if (!fieldsNames.isEmpty()) {
+    /**
+     * Does not allocate unless there are null values.
+     *
+     * @param presentKeysOnly true if the map holds values of only some of the fields
+     */
+    void checkOptionalFieldsForNullValues(Map<String, Object> map, ClassPlan<?> plan, boolean presentKeysOnly) {
+        Set<String> fieldsNames = null;
+        if (!presentKeysOnly) {
+            for (FieldPlan fieldPlan : plan.fieldPlans()) {
+                fieldsNames = addIfNullValue(map, fieldPlan, fieldsNames);
+            }
+        } else {
+            for (String key : map.keySet()) {
+                FieldPlan fieldPlan = plan.fieldFor(key, keyCaseSensitive);
+                if (fieldPlan != null) {
+                    fieldsNames = addIfNullValue(map, fieldPlan, fieldsNames);
+                }
+            }
+        }
+
+        if (fieldsNames != null) {
             throw new ConverterNullValueException("Null values require fields to be Optional. Null values for fields: '%s'.", fieldsNames.stream().collect(joining("', '")));
         }
     }
 
+    private Set<String> addIfNullValue(Map<String, Object> map, FieldPlan fieldPlan, Set<String> fieldsNames) {
+        if (fieldPlan.isComposite() || map.get(fieldPlan.name()) != null || acceptsNull(fieldPlan)) {
+            return fieldsNames;
+        }
+        Set<String> result = fieldsNames == null ? new LinkedHashSet<>() : fieldsNames;
+        result.add(fieldPlan.name());
+        return result;
+    }
+
+    /**
+     * @return true if the field can be assigned from a null value, i.e. it is optional or has a registered converter
+     */
+    boolean acceptsNull(FieldPlan fieldPlan) {
+        return fieldPlan.type() == Optional.class
+                || PrimitiveOptionals.isPrimitiveOptional(fieldPlan.type())
+                || converters.hasRegisteredConverterFor(fieldPlan.genericType());
+    }
+
 }
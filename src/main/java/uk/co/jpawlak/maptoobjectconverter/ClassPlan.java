@@ -0,0 +1,217 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static uk.co.jpawlak.maptoobjectconverter.Utils.fieldsOf;
+
+class ClassPlan<T> {
+
+    private static final Type UNKNOWN_KEYS_TYPE = new GenericTypes.ResolvedParameterizedType(null, Map.class, new Type[] {String.class, Object.class});
+
+    private final Class<T> targetClass;
+    private final Type targetType;
+    private final Creator<T> creator;
+    private final List<FieldPlan> fieldPlans;
+    private final Property unknownKeysProperty;
+    private final Prototype<T> prototype;
+    private volatile Copier<T> copier;
+    private volatile RecordLayout<T> layout;
+    private volatile FlatLayout<T> flatLayout;
+    private final Map<String, FieldPlan> fieldsByKey = new HashMap<>();
+    private final Map<String, FieldPlan> fieldsByKeyIgnoringCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final KeyShapes<List<String>> keyShapes = new KeyShapes<>();
+    private final Set<String> keys;
+    private final Map<String, FieldPlan> nestedFields = new HashMap<>();
+    private final Map<String, FieldPlan> nestedFieldsIgnoringCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * @param targetType <code>targetClass</code> or its parameterization, against which type variables of the properties are resolved
+     */
+    ClassPlan(Class<T> targetClass, Type targetType, Converters converters, NestedConversion.NestedConverter nestedConverter) {
+        this.targetClass = targetClass;
+        this.targetType = targetType;
+        this.creator = Creator.of(targetClass);
+        Stream<Property> properties = creator == null ? fieldsOf(targetClass).map(Property::ofField) : creator.parameters().stream();
+        GenericTypes genericTypes = GenericTypes.of(targetType);
+        if (!genericTypes.isEmpty()) {
+            properties = properties.map(property -> Property.withGenericType(property, genericTypes.resolve(property.genericType())));
+        }
+        List<Property> allProperties = properties.collect(toList());
+        this.unknownKeysProperty = unknownKeysPropertyOf(targetClass, allProperties);
+        this.fieldPlans = allProperties.stream()
+                .filter(property -> property != unknownKeysProperty)
+                .map(property -> new FieldPlan(property, converters, nestedConverter))
+                .collect(toList());
+        this.keys = fieldPlans.stream()
+                .flatMap(fieldPlan -> fieldPlan.keys().stream())
+                .collect(toCollection(LinkedHashSet::new));
+        this.prototype = Prototype.of(targetClass, creator, converters.getDefaultsFor(targetClass));
+        for (FieldPlan fieldPlan : fieldPlans) {
+            for (String key : fieldPlan.keys()) {
+                fieldsByKey.put(key, fieldPlan);
+                fieldsByKeyIgnoringCase.put(key, fieldPlan);
+            }
+            if (fieldPlan.nestedType() != null && !fieldPlan.isComposite()) {
+                nestedFields.put(fieldPlan.name(), fieldPlan);
+                nestedFieldsIgnoringCase.put(fieldPlan.name(), fieldPlan);
+            }
+        }
+    }
+
+    private static Property unknownKeysPropertyOf(Class<?> targetClass, List<Property> properties) {
+        List<Property> annotated = properties.stream()
+                .filter(property -> property.isAnnotationPresent(UnknownKeys.class))
+                .collect(toList());
+        if (annotated.size() > 1) {
+            throw new ConverterIllegalArgumentException("Class '%s' has more than one field annotated with @UnknownKeys.", targetClass.getTypeName());
+        }
+        if (annotated.isEmpty()) {
+            return null;
+        }
+        Property property = annotated.get(0);
+        if (!UNKNOWN_KEYS_TYPE.equals(property.genericType())) {
+            throw new ConverterIllegalArgumentException("Field '%s' of '%s' annotated with @UnknownKeys has to be of type 'Map<String, Object>'.", property.name(), targetClass.getTypeName());
+        }
+        return property;
+    }
+
+    Class<T> targetClass() {
+        return targetClass;
+    }
+
+    Type targetType() {
+        return targetType;
+    }
+
+    /**
+     * @return creator of the instances or null if they are created without calling a constructor and their fields are set
+     */
+    Creator<T> creator() {
+        return creator;
+    }
+
+    /**
+     * @return plans of the fields or, if there is a {@link #creator()}, of its parameters
+     */
+    List<FieldPlan> fieldPlans() {
+        return fieldPlans;
+    }
+
+    /**
+     * @return the property annotated with {@link UnknownKeys}, which has no field plan, or null if there is no such property
+     */
+    Property unknownKeysProperty() {
+        return unknownKeysProperty;
+    }
+
+    /**
+     * @return prototype of the instances or null if the class has no defaults, in which case maps need keys for all the fields
+     */
+    Prototype<T> prototype() {
+        return prototype;
+    }
+
+    /**
+     * @return copier of the instances, created when it is needed for the first time
+     */
+    Copier<T> copier() {
+        Copier<T> copier = this.copier;
+        if (copier == null) {
+            copier = prototype != null ? prototype.copier() : new Copier<>(targetClass, creator);
+            this.copier = copier;
+        }
+        return copier;
+    }
+
+    /**
+     * @return layout of the instances, created when it is needed for the first time
+     */
+    RecordLayout<T> layout() {
+        RecordLayout<T> layout = this.layout;
+        if (layout == null) {
+            layout = RecordLayout.of(this);
+            this.layout = layout;
+        }
+        return layout;
+    }
+
+    /**
+     * @return binary layout of the instances, created when it is needed for the first time
+     */
+    FlatLayout<T> flatLayout() {
+        FlatLayout<T> flatLayout = this.flatLayout;
+        if (flatLayout == null) {
+            flatLayout = FlatLayout.of(layout());
+            this.flatLayout = flatLayout;
+        }
+        return flatLayout;
+    }
+
+    /**
+     * @return plan of the field consuming the key, or null if there is no such field
+     */
+    FieldPlan fieldFor(String key, boolean caseSensitive) {
+        return caseSensitive ? fieldsByKey.get(key) : fieldsByKeyIgnoringCase.get(key);
+    }
+
+    /**
+     * @return keys without fields of maps converted with this plan, cached per key shape
+     */
+    KeyShapes<List<String>> keyShapes() {
+        return keyShapes;
+    }
+
+    /**
+     * @return keys of the map consumed by the fields, in order of the fields
+     */
+    Set<String> keys() {
+        return keys;
+    }
+
+    boolean hasNestedFields() {
+        return !nestedFields.isEmpty();
+    }
+
+    /**
+     * Together with the plans of nested classes, nested fields form the tree of key paths used to bind dotted keys.
+     *
+     * @return plan of the field holding a nested object, or null if there is no such field
+     */
+    FieldPlan nestedField(String name, boolean caseSensitive) {
+        return caseSensitive ? nestedFields.get(name) : nestedFieldsIgnoringCase.get(name);
+    }
+
+    /**
+     * @return plan of the field or null if there is no such field
+     */
+    FieldPlan fieldPlan(String name) {
+        for (FieldPlan fieldPlan : fieldPlans) {
+            if (fieldPlan.name().equals(name)) {
+                return fieldPlan;
+            }
+        }
+        return null;
+    }
+
+    SpecializationStatistics specializationStatistics() {
+        long hits = 0;
+        long deoptimizations = 0;
+        for (FieldPlan fieldPlan : fieldPlans) {
+            hits += fieldPlan.specializationHits();
+            deoptimizations += fieldPlan.deoptimizations();
+        }
+        return new SpecializationStatistics(hits, deoptimizations);
+    }
+
+}
@@ -0,0 +1,57 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class ClassPlans {
+
+    private final Converters converters;
+    private final NestedConversion.NestedConverter nestedConverter;
+    private final Map<Type, ClassPlan<?>> plans = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ViewPlan<?>> viewPlans = new ConcurrentHashMap<>();
+
+    ClassPlans(Converters converters, NestedConversion.NestedConverter nestedConverter) {
+        this.converters = converters;
+        this.nestedConverter = nestedConverter;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> ClassPlan<T> planFor(Class<T> targetClass) {
+        return (ClassPlan<T>) plans.computeIfAbsent(targetClass, aClass -> new ClassPlan<>(targetClass, targetClass, converters, nestedConverter));
+    }
+
+    /**
+     * Plans of parameterized classes are cached per resolved type, e.g. <code>Page&lt;Order&gt;</code> and <code>Page&lt;Payment&gt;</code>
+     * have separate plans.
+     *
+     * @param targetType a class or a parameterized class
+     */
+    ClassPlan<?> planFor(Type targetType) {
+        if (targetType instanceof Class<?>) {
+            return planFor((Class<?>) targetType);
+        }
+        Class<?> targetClass = GenericTypes.rawClassOf(targetType);
+        return plans.computeIfAbsent(targetType, type -> new ClassPlan<>(targetClass, type, converters, nestedConverter));
+    }
+
+    <T> ClassPlan<T> existingPlanFor(Class<T> targetClass) {
+        @SuppressWarnings("unchecked")
+        ClassPlan<T> plan = (ClassPlan<T>) plans.get(targetClass);
+        return plan;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> ViewPlan<T> viewPlanFor(Class<T> viewInterface, Checker checker, boolean keyCaseSensitive) {
+        return (ViewPlan<T>) viewPlans.computeIfAbsent(viewInterface, anInterface -> new ViewPlan<>(viewInterface, converters, nestedConverter, checker, keyCaseSensitive));
+    }
+
+    /**
+     * Plans capture converters resolved for their fields, so they have to be discarded whenever a converter is registered.
+     */
+    void invalidate() {
+        plans.clear();
+        viewPlans.clear();
+    }
+
+}
@@ -0,0 +1,385 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Unmodifiable list of instances of a class stored column by column: the values of every field are kept in a separate array,
+ * primitive fields in arrays of primitives, <code>String</code> fields as codes into a dictionary of distinct strings and other
+ * fields in arrays of references. Elements are created only when they are {@link #get(int) read}, so every call creates a new
+ * instance. Columns can also be read directly, without creating the elements, e.g. to sum the values of a single field.
+ *
+ * <br><br>
+ *
+ * Arrays returned by the column accessors are the arrays backing the list, and must not be modified.
+ *
+ * @param <T> the type of the elements
+ * @see MapToObjectConverter#convertAllColumnar(Iterable, Class)
+ */
+public final class ColumnarList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final RecordLayout<T> layout;
+    private final List<Column> columns;
+    private final int size;
+
+    private ColumnarList(RecordLayout<T> layout, List<Column> columns, int size) {
+        this.layout = layout;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        Object target = layout.newTarget();
+        for (Column column : columns) {
+            column.write(index, target);
+        }
+        return layout.finish(target);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return names of the columns, i.e. of the fields (or of the parameters of the constructor or factory method creating the class)
+     */
+    public List<String> columnNames() {
+        return columns.stream().map(column -> column.name).collect(toList());
+    }
+
+    /**
+     * Returns the values of a primitive field, e.g. <code>primitiveColumn("quantity", long[].class)</code>.
+     *
+     * @param name name of the field
+     * @param arrayType array of the primitive type of the field
+     * @param <A> the type of <code>arrayType</code>
+     * @return the array of the values, of length {@link #size()}
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if there is no such column or it is of other type
+     */
+    public <A> A primitiveColumn(String name, Class<A> arrayType) {
+        Column column = column(name);
+        if (!(column instanceof PrimitiveColumn) || column.type != arrayType.getComponentType()) {
+            throw typeMismatch(column, arrayType);
+        }
+        return arrayType.cast(((PrimitiveColumn) column).array);
+    }
+
+    public int[] intColumn(String name) {
+        return primitiveColumn(name, int[].class);
+    }
+
+    public long[] longColumn(String name) {
+        return primitiveColumn(name, long[].class);
+    }
+
+    public double[] doubleColumn(String name) {
+        return primitiveColumn(name, double[].class);
+    }
+
+    /**
+     * Returns the codes of the values of a <code>String</code> field, i.e. indexes of the values in {@link #stringDictionary(String)}.
+     * Equal values have equal codes, so the codes can be compared or grouped instead of the strings.
+     *
+     * @param name name of the field
+     * @return the array of the codes, of length {@link #size()}
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if there is no such column or it is of other type
+     */
+    public int[] stringCodes(String name) {
+        return stringColumn(name).codes;
+    }
+
+    /**
+     * @param name name of the field
+     * @return distinct values of a <code>String</code> field, in the order of their first occurrence
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if there is no such column or it is of other type
+     */
+    public List<String> stringDictionary(String name) {
+        return unmodifiableList(stringColumn(name).dictionary);
+    }
+
+    /**
+     * Returns the values of a field which is not primitive, e.g. <code>referenceColumn("price", BigDecimal.class)</code>.
+     *
+     * @param name name of the field
+     * @param type the type of the field or its superclass
+     * @param <V> the type of <code>type</code>
+     * @return unmodifiable list of the values, of size {@link #size()}
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if there is no such column or it is of other type
+     */
+    @SuppressWarnings("unchecked")
+    public <V> List<V> referenceColumn(String name, Class<V> type) {
+        Column column = column(name);
+        if (column instanceof PrimitiveColumn || !type.isAssignableFrom(column.type)) {
+            throw typeMismatch(column, type);
+        }
+        if (column instanceof StringColumn) {
+            StringColumn stringColumn = (StringColumn) column;
+            return (List<V>) new AbstractList<String>() {
+                @Override
+                public String get(int index) {
+                    int code = stringColumn.codes[index];
+                    return code < 0 ? null : stringColumn.dictionary.get(code);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return unmodifiableList(Arrays.asList((V[]) ((ReferenceColumn) column).array));
+    }
+
+    private Column column(String name) {
+        for (Column column : columns) {
+            if (column.name.equals(name)) {
+                return column;
+            }
+        }
+        throw new ConverterIllegalArgumentException("No column '%s' in '%s'.", name, layout.targetClass().getTypeName());
+    }
+
+    private StringColumn stringColumn(String name) {
+        Column column = column(name);
+        if (!(column instanceof StringColumn)) {
+            throw typeMismatch(column, String.class);
+        }
+        return (StringColumn) column;
+    }
+
+    private ConverterIllegalArgumentException typeMismatch(Column column, Class<?> requestedType) {
+        return new ConverterIllegalArgumentException("Column '%s' of '%s' is of type '%s', not '%s'.",
+                column.name, layout.targetClass().getTypeName(), column.type.getTypeName(), requestedType.getTypeName());
+    }
+
+    /**
+     * Appends instances column by column. The instances are discarded once their values are appended.
+     */
+    static final class Builder<T> {
+
+        private final RecordLayout<T> layout;
+        private final List<Column> columns = new ArrayList<>();
+        private int size;
+
+        Builder(RecordLayout<T> layout, int expectedSize) {
+            this.layout = layout;
+            int capacity = Math.max(expectedSize, 16);
+            for (RecordLayout.Slot slot : layout.slots()) {
+                Column column;
+                if (slot.type().isPrimitive()) {
+                    column = new PrimitiveColumn(slot, capacity);
+                } else if (slot.type() == String.class) {
+                    column = new StringColumn(slot, capacity);
+                } else {
+                    column = new ReferenceColumn(slot, capacity);
+                }
+                columns.add(column);
+            }
+        }
+
+        void add(T instance) {
+            for (Column column : columns) {
+                column.append(size, instance);
+            }
+            size++;
+        }
+
+        ColumnarList<T> build() {
+            for (Column column : columns) {
+                column.trim(size);
+            }
+            return new ColumnarList<>(layout, columns, size);
+        }
+
+    }
+
+    private abstract static class Column {
+
+        final String name;
+        final Class<?> type;
+
+        Column(RecordLayout.Slot slot) {
+            this.name = slot.name();
+            this.type = slot.type();
+        }
+
+        abstract void append(int index, Object instance);
+
+        abstract void write(int index, Object target);
+
+        abstract void trim(int size);
+
+    }
+
+    private static final class PrimitiveColumn extends Column {
+
+        private final MethodHandle appender;
+        private final MethodHandle writer;
+        private Object array;
+
+        /**
+         * Method handles read the field into the array element and write the array element into the target directly,
+         * so the values are never boxed.
+         */
+        PrimitiveColumn(RecordLayout.Slot slot, int capacity) {
+            super(slot);
+            Class<?> arrayType = slot.type().arrayType();
+            this.appender = MethodHandles.filterArguments(MethodHandles.arrayElementSetter(arrayType), 2, slot.getter())
+                    .asType(methodType(void.class, Object.class, int.class, Object.class));
+            this.writer = MethodHandles.collectArguments(slot.writer(), 1, MethodHandles.arrayElementGetter(arrayType))
+                    .asType(methodType(void.class, Object.class, Object.class, int.class));
+            this.array = Array.newInstance(slot.type(), capacity);
+        }
+
+        @Override
+        void append(int index, Object instance) {
+            if (index == Array.getLength(array)) {
+                array = copyOf(array, index * 2);
+            }
+            try {
+                appender.invokeExact(array, index, instance);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        void write(int index, Object target) {
+            try {
+                writer.invokeExact(target, array, index);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            if (size != Array.getLength(array)) {
+                array = copyOf(array, size);
+            }
+        }
+
+        private static Object copyOf(Object array, int length) {
+            Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+            System.arraycopy(array, 0, copy, 0, Math.min(length, Array.getLength(array)));
+            return copy;
+        }
+
+    }
+
+    private static final class StringColumn extends Column {
+
+        private final MethodHandle getter;
+        private final MethodHandle writer;
+        private final Map<String, Integer> codesByValue = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int[] codes;
+
+        StringColumn(RecordLayout.Slot slot, int capacity) {
+            super(slot);
+            this.getter = slot.getter().asType(methodType(String.class, Object.class));
+            this.writer = slot.writer().asType(methodType(void.class, Object.class, String.class));
+            this.codes = new int[capacity];
+        }
+
+        @Override
+        void append(int index, Object instance) {
+            String value;
+            try {
+                value = (String) getter.invokeExact(instance);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+            if (index == codes.length) {
+                codes = Arrays.copyOf(codes, index * 2);
+            }
+            codes[index] = value == null ? -1 : codesByValue.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        @Override
+        void write(int index, Object target) {
+            int code = codes[index];
+            String value = code < 0 ? null : dictionary.get(code);
+            try {
+                writer.invokeExact(target, value);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            if (size != codes.length) {
+                codes = Arrays.copyOf(codes, size);
+            }
+            codesByValue.clear();
+        }
+
+    }
+
+    private static final class ReferenceColumn extends Column {
+
+        private final MethodHandle getter;
+        private final MethodHandle writer;
+        private Object[] array;
+
+        ReferenceColumn(RecordLayout.Slot slot, int capacity) {
+            super(slot);
+            this.getter = slot.getter().asType(methodType(Object.class, Object.class));
+            this.writer = slot.writer().asType(methodType(void.class, Object.class, Object.class));
+            this.array = (Object[]) Array.newInstance(slot.type(), capacity);
+        }
+
+        @Override
+        void append(int index, Object instance) {
+            if (index == array.length) {
+                array = Arrays.copyOf(array, index * 2);
+            }
+            try {
+                array[index] = (Object) getter.invokeExact(instance);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        void write(int index, Object target) {
+            try {
+                writer.invokeExact(target, array[index]);
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        void trim(int size) {
+            if (size != array.length) {
+                array = Arrays.copyOf(array, size);
+            }
+        }
+
+    }
+
+}
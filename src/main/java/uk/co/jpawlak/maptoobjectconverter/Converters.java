@@ -9,15 +9,40 @@ import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterExceptio
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Arrays.asList;
 
 class Converters {
 
     private final Map<Type, SingleValueConverter<?>> converters = new HashMap<>();
+    private final Map<Type, Map<Class<?>, SingleValueConverter<?>>> typedConverters = new HashMap<>();
+    private final Map<Type, ExceptionWrappingMultiValueConverter<?>> multiValueConverters = new HashMap<>();
+    private final Map<Class<?>, Discriminator<?>> discriminators = new HashMap<>();
+    private final Map<Class<?>, Object> defaults = new HashMap<>();
+    private boolean numericCoercionEnabled;
 
     void registerConverter(Type type, SingleValueConverter<?> singleValueConverter) {
+        checkSingleValueConverter(type, singleValueConverter);
+        converters.put(type, new ExceptionWrappingSingleValueConverter<>(singleValueConverter));
+    }
+
+    void registerMemoizingConverter(Type type, int maximumSize, SingleValueConverter<?> singleValueConverter) {
+        checkSingleValueConverter(type, singleValueConverter);
+        if (maximumSize <= 0) {
+            throw new ConverterIllegalArgumentException("Maximum size of the cache has to be positive.");
+        }
+        converters.put(type, new MemoizingSingleValueConverter<>(new ExceptionWrappingSingleValueConverter<>(singleValueConverter), maximumSize));
+    }
+
+    private static void checkSingleValueConverter(Type type, SingleValueConverter<?> singleValueConverter) {
         if (type == null) {
             throw new ConverterIllegalArgumentException("Cannot register converter for null class.");
         }
@@ -27,30 +52,157 @@ class Converters {
         if (singleValueConverter == null) {
             throw new ConverterIllegalArgumentException("Registered converter cannot be null.");
         }
-        converters.put(type, new ExceptionWrappingSingleValueConverter<>(singleValueConverter));
+    }
+
+    CacheStatistics getMemoizationStatistics(Type type) {
+        SingleValueConverter<?> converter = converters.get(type);
+        if (!(converter instanceof MemoizingSingleValueConverter)) {
+            throw new ConverterIllegalArgumentException("No memoizing converter registered for '%s'.", type == null ? null : type.getTypeName());
+        }
+        return ((MemoizingSingleValueConverter<?>) converter).statistics();
+    }
+
+    @SuppressWarnings("unchecked")
+    <S, T> void registerConverter(Class<S> sourceClass, Class<T> targetClass, Function<S, T> function) {
+        if (sourceClass == null) {
+            throw new ConverterIllegalArgumentException("Cannot register converter from null class.");
+        }
+        if (targetClass == null) {
+            throw new ConverterIllegalArgumentException("Cannot register converter for null class.");
+        }
+        if (targetClass == Optional.class) {
+            throw new ConverterIllegalArgumentException("Cannot register convert for 'java.util.Optional'. Register converter for the type parameter instead.");
+        }
+        if (function == null) {
+            throw new ConverterIllegalArgumentException("Registered converter cannot be null.");
+        }
+        typedConverters.computeIfAbsent(targetClass, type -> new HashMap<>())
+                .put(Utils.wrapperOf(sourceClass), new ExceptionWrappingSingleValueConverter<>(value -> function.apply((S) value)));
+    }
+
+    <T> void registerConverter(Class<T> type, List<String> keys, MultiValueConverter<T> multiValueConverter) {
+        if (type == null) {
+            throw new ConverterIllegalArgumentException("Cannot register converter for null class.");
+        }
+        if (type == Optional.class) {
+            throw new ConverterIllegalArgumentException("Cannot register convert for 'java.util.Optional'. Register converter for the type parameter instead.");
+        }
+        if (keys == null || keys.isEmpty()) {
+            throw new ConverterIllegalArgumentException("Registered converter has to read at least one key.");
+        }
+        if (keys.contains(null)) {
+            throw new ConverterIllegalArgumentException("Keys read by registered converter cannot be null.");
+        }
+        if (multiValueConverter == null) {
+            throw new ConverterIllegalArgumentException("Registered converter cannot be null.");
+        }
+        multiValueConverters.put(type, new ExceptionWrappingMultiValueConverter<>(List.copyOf(keys), multiValueConverter));
+    }
+
+    ExceptionWrappingMultiValueConverter<?> getMultiValueConverterFor(Type type) {
+        return multiValueConverters.get(type);
+    }
+
+    <T> void registerSubclasses(Class<T> baseClass, String key, Map<?, Class<? extends T>> subclasses) {
+        discriminators.put(baseClass, new Discriminator<>(baseClass, key, subclasses));
+    }
+
+    /**
+     * @return discriminator of subclasses registered for <code>baseClass</code> or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    <T> Discriminator<T> getDiscriminatorFor(Class<T> baseClass) {
+        return (Discriminator<T>) discriminators.get(baseClass);
+    }
+
+    <T> void registerDefaults(Class<T> aClass, T instance) {
+        if (aClass == null) {
+            throw new ConverterIllegalArgumentException("Cannot register defaults of null class.");
+        }
+        if (instance == null) {
+            throw new ConverterIllegalArgumentException("Defaults cannot be null.");
+        }
+        if (instance.getClass() != aClass) {
+            throw new ConverterIllegalArgumentException("Defaults of '%s' cannot be an instance of '%s'.", aClass.getTypeName(), instance.getClass().getTypeName());
+        }
+        defaults.put(aClass, instance);
+    }
+
+    /**
+     * @return defaults registered for the class or null if there are none
+     */
+    Object getDefaultsFor(Class<?> aClass) {
+        return defaults.get(aClass);
+    }
+
+    void enableNumericCoercion() {
+        numericCoercionEnabled = true;
+    }
+
+    boolean isNumericCoercionEnabled() {
+        return numericCoercionEnabled;
     }
 
     boolean hasRegisteredConverterFor(Type type) {
         return converters.containsKey(type);
     }
 
+    boolean hasTypedConvertersFor(Type targetType) {
+        return typedConverters.containsKey(targetType);
+    }
+
+    /**
+     * Finds a converter registered from <code>sourceClass</code> (or the closest of its supertypes, superclasses first)
+     * to <code>targetType</code>.
+     *
+     * @return the converter or null if there is none
+     */
+    SingleValueConverter<?> getTypedConverterFor(Class<?> sourceClass, Type targetType) {
+        Map<Class<?>, SingleValueConverter<?>> bySourceClass = typedConverters.get(targetType);
+        if (bySourceClass == null) {
+            return null;
+        }
+        for (Class<?> aClass = sourceClass; aClass != null; aClass = aClass.getSuperclass()) {
+            if (bySourceClass.containsKey(aClass)) {
+                return bySourceClass.get(aClass);
+            }
+        }
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> aClass = sourceClass; aClass != null; aClass = aClass.getSuperclass()) {
+            interfaces.addAll(asList(aClass.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> anInterface = interfaces.poll();
+            if (bySourceClass.containsKey(anInterface)) {
+                return bySourceClass.get(anInterface);
+            }
+            interfaces.addAll(asList(anInterface.getInterfaces()));
+        }
+        return null;
+    }
+
     SingleValueConverter<?> getConverterFor(Type type, String fieldName) {
         if (type == Optional.class) {
             throw new ConverterIllegalArgumentException("Raw types are not supported. Field '%s' is 'Optional'.", fieldName);
         }
 
         if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Optional.class) {
-            Type parameterType = ((ParameterizedType) type).getActualTypeArguments()[0];
+            Type typeArgument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            Type parameterType = optionalValueType(typeArgument);
             if (!(parameterType instanceof Class<?>)) {
-                throw new ConverterIllegalArgumentException("Wildcards are not supported. Field '%s' is 'Optional<%s>'.", fieldName, parameterType);
+                throw new ConverterIllegalArgumentException("Wildcards are not supported. Field '%s' is 'Optional<%s>'.", fieldName, typeArgument);
             }
-            return optionalValueConverter(parameterType, fieldName);
+            return optionalValueConverter((Class<?>) parameterType, typeArgument, fieldName);
         }
 
         if (converters.containsKey(type)) {
             return converters.get(type);
         }
 
+        if (PrimitiveOptionals.isPrimitiveOptional(type)) {
+            return primitiveOptionalConverter(type, fieldName);
+        }
+
         if (type instanceof Class<?> && ((Class<?>) type).isEnum()) {
             return value -> asEnum(((Class<?>) type), value);
         }
@@ -58,27 +210,80 @@ class Converters {
         return value -> value;
     }
 
-    private SingleValueConverter<?> optionalValueConverter(Type parameterType, String fieldName) {
+    /**
+     * @return <code>X</code> for type argument <code>X</code> or <code>? extends X</code> of <code>Optional</code>, where <code>X</code>
+     * is a class other than <code>Object</code>, or the type argument itself otherwise
+     */
+    static Type optionalValueType(Type typeArgument) {
+        if (typeArgument instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) typeArgument;
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            if (wildcardType.getLowerBounds().length == 0 && upperBounds.length == 1 && upperBounds[0] instanceof Class<?> && upperBounds[0] != Object.class) {
+                return upperBounds[0];
+            }
+        }
+        return typeArgument;
+    }
+
+    private SingleValueConverter<?> optionalValueConverter(Class<?> parameterType, Type typeArgument, String fieldName) {
+        SingleValueConverter<?> converter = getConverterFor(parameterType, fieldName);
+        boolean registered = hasRegisteredConverterFor(parameterType);
+        AssignableClasses assignableClasses = new AssignableClasses(parameterType);
         return value -> {
-            SingleValueConverter<?> converter = this.getConverterFor(parameterType, fieldName);
             Object convertedValue = converter.convert(value);
 
-            if (convertedValue != null && convertedValue.getClass() != parameterType) {
-                if (this.hasRegisteredConverterFor(parameterType)) {
-                    throw new RegisteredConverterException("Cannot assign value of type 'Optional<%s>' returned by registered converter to field '%s' of type 'Optional<%s>'.", convertedValue.getClass().getTypeName(), fieldName, parameterType.getTypeName());
+            if (convertedValue != null && !assignableClasses.accepts(convertedValue.getClass())) {
+                if (registered) {
+                    throw new RegisteredConverterException("Cannot assign value of type 'Optional<%s>' returned by registered converter to field '%s' of type 'Optional<%s>'.", convertedValue.getClass().getTypeName(), fieldName, typeArgument.getTypeName());
                 } else {
-                    throw new ConverterTypeMismatchException("Cannot assign value of type 'Optional<%s>' to field '%s' of type 'Optional<%s>'.", value.getClass().getTypeName(), fieldName, parameterType.getTypeName());
+                    throw new ConverterTypeMismatchException("Cannot assign value of type 'Optional<%s>' to field '%s' of type 'Optional<%s>'.", value.getClass().getTypeName(), fieldName, typeArgument.getTypeName());
                 }
             }
             return Optional.ofNullable(convertedValue);
         };
     }
 
+    private SingleValueConverter<?> primitiveOptionalConverter(Type optionalType, String fieldName) {
+        SingleValueConverter<?> registeredConverter = getElementConverterFor(optionalType);
+        return value -> {
+            Object convertedValue = registeredConverter == null ? value : registeredConverter.convert(value);
+            if (convertedValue == null) {
+                return PrimitiveOptionals.empty(optionalType);
+            }
+
+            Function<Object, Object> factory = PrimitiveOptionals.factory(optionalType, convertedValue.getClass());
+            if (factory == null) {
+                if (registeredConverter != null) {
+                    throw new RegisteredConverterException("Cannot assign value of type '%s' returned by registered converter to field '%s' of type '%s'.", convertedValue.getClass().getTypeName(), fieldName, optionalType.getTypeName());
+                } else {
+                    throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to field '%s' of type '%s'.", value.getClass().getTypeName(), fieldName, optionalType.getTypeName());
+                }
+            }
+            return factory.apply(convertedValue);
+        };
+    }
+
+    /**
+     * @return converter registered for the primitive type of <code>OptionalInt</code>, <code>OptionalLong</code> or
+     * <code>OptionalDouble</code> (or its wrapper), or null if there is none
+     */
+    SingleValueConverter<?> getElementConverterFor(Type optionalType) {
+        Class<?> elementType = PrimitiveOptionals.elementTypeOf(optionalType);
+        SingleValueConverter<?> converter = converters.get(elementType);
+        return converter != null ? converter : converters.get(Utils.wrapperOf(elementType));
+    }
+
     @SuppressWarnings("unchecked")
     private static <E> E asEnum(Class<E> enumClass, Object value) {
         if (value == null) {
             return null;
         }
+        if (value instanceof Number) {
+            EnumLookup<?> lookup = EnumLookup.of(enumClass.asSubclass(Enum.class));
+            if (lookup.hasCodes()) {
+                return (E) lookup.byCode(value);
+            }
+        }
         try {
             return (E) enumClass.getDeclaredMethod("valueOf", String.class).invoke(null, value);
         } catch (Exception e) {
@@ -0,0 +1,135 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static uk.co.jpawlak.maptoobjectconverter.Utils.fieldsOf;
+
+/**
+ * Copies all fields of instances of a class, to create instances which differ from existing ones only in the fields
+ * present in a map. Instances of <code>Cloneable</code> classes overriding <code>clone()</code> are cloned, which copies
+ * the whole object at once. Instances of other classes are created without calling a constructor and their fields are
+ * copied one by one.
+ *
+ * <br><br>
+ *
+ * For classes with a {@link Creator}, the copy is the array of arguments of the creator, read from the fields with the
+ * same names as its parameters.
+ */
+class Copier<T> {
+
+    private final Class<T> targetClass;
+    private final MethodHandle clone;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+
+    Copier(Class<T> targetClass, Creator<T> creator) {
+        this.targetClass = targetClass;
+        try {
+            if (creator != null) {
+                Map<String, Field> fields = fieldsOf(targetClass).collect(toMap(Field::getName, identity(), (first, second) -> first));
+                List<Property> parameters = creator.parameters();
+                this.clone = null;
+                this.getters = new MethodHandle[parameters.size()];
+                this.setters = null;
+                for (int i = 0; i < getters.length; i++) {
+                    Field field = fields.get(parameters.get(i).name());
+                    if (field == null) {
+                        throw new ConverterIllegalArgumentException("Cannot copy instances of '%s'. Parameter '%s' of its constructor or factory method has no field with the same name.",
+                                targetClass.getTypeName(), parameters.get(i).name());
+                    }
+                    getters[i] = getterOf(field);
+                }
+                return;
+            }
+
+            this.clone = cloneMethodOf(targetClass);
+            List<Field> fields = fieldsOf(targetClass).collect(toList());
+            this.getters = new MethodHandle[fields.size()];
+            this.setters = new MethodHandle[getters.length];
+            for (int i = 0; i < getters.length; i++) {
+                getters[i] = getterOf(fields.get(i));
+                setters[i] = MethodHandles.lookup().unreflectSetter(fields.get(i)).asType(methodType(void.class, Object.class, Object.class));
+            }
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    private static MethodHandle getterOf(Field field) throws IllegalAccessException {
+        field.trySetAccessible();
+        return MethodHandles.lookup().unreflectGetter(field).asType(methodType(Object.class, Object.class));
+    }
+
+    private static MethodHandle cloneMethodOf(Class<?> targetClass) throws IllegalAccessException {
+        if (!Cloneable.class.isAssignableFrom(targetClass)) {
+            return null;
+        }
+        for (Class<?> aClass = targetClass; aClass != Object.class; aClass = aClass.getSuperclass()) {
+            try {
+                Method method = aClass.getDeclaredMethod("clone");
+                if (method.trySetAccessible()) {
+                    return MethodHandles.lookup().unreflect(method).asType(methodType(Object.class, Object.class));
+                }
+                return null;
+            } catch (NoSuchMethodException ignored) {
+                // not overridden by this class
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies all fields of <code>source</code> into <code>target</code>, which cannot be used for classes with a {@link Creator}.
+     */
+    void copyInto(T source, T target) {
+        try {
+            for (int i = 0; i < getters.length; i++) {
+                setters[i].invokeExact((Object) target, (Object) getters[i].invokeExact((Object) source));
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * @return a copy of the instance or, if the class has a {@link Creator}, the arguments of the creator
+     */
+    Object copy(T instance) {
+        try {
+            if (setters == null) {
+                Object[] arguments = new Object[getters.length];
+                for (int i = 0; i < getters.length; i++) {
+                    arguments[i] = (Object) getters[i].invokeExact((Object) instance);
+                }
+                return arguments;
+            }
+            if (clone != null) {
+                return targetClass.cast((Object) clone.invokeExact((Object) instance));
+            }
+            T copy = ObjectCreator.createInstance(targetClass);
+            for (int i = 0; i < getters.length; i++) {
+                setters[i].invokeExact((Object) copy, (Object) getters[i].invokeExact((Object) instance));
+            }
+            return copy;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterInstantiationException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Creates instances by calling a constructor or a factory method, for classes which cannot (records) or do not want to
+ * be created without calling a constructor. In order of precedence, it is:
+ * <ul>
+ *     <li>static method annotated with {@link FactoryMethod}</li>
+ *     <li>or constructor annotated with {@link ConstructorProperties}</li>
+ *     <li>or canonical constructor of a record</li>
+ * </ul>
+ * Its parameters become the properties of the class (instead of its fields). The arguments are collected into an array
+ * and the instance is created by a single invocation of a method handle bound once per class.
+ */
+class Creator<T> {
+
+    private final Class<T> targetClass;
+    private final String description;
+    private final List<Property> parameters;
+    private final MethodHandle handle;
+
+    /**
+     * @return creator of the class or null if its instances should be created without calling a constructor
+     */
+    static <T> Creator<T> of(Class<T> targetClass) {
+        List<Method> factoryMethods = stream(targetClass.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(FactoryMethod.class))
+                .collect(toList());
+        if (factoryMethods.size() > 1) {
+            throw new ConverterIllegalArgumentException("Class '%s' has more than one method annotated with @FactoryMethod.", targetClass.getTypeName());
+        }
+        if (!factoryMethods.isEmpty()) {
+            Method method = factoryMethods.get(0);
+            if (!Modifier.isStatic(method.getModifiers()) || !targetClass.isAssignableFrom(method.getReturnType())) {
+                throw new ConverterIllegalArgumentException("Method '%s' annotated with @FactoryMethod has to be static and return '%s'.", method.getName(), targetClass.getTypeName());
+            }
+            return new Creator<>(targetClass, method, method.getAnnotation(FactoryMethod.class).value());
+        }
+
+        List<Constructor<?>> constructors = stream(targetClass.getDeclaredConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(ConstructorProperties.class))
+                .collect(toList());
+        if (constructors.size() > 1) {
+            throw new ConverterIllegalArgumentException("Class '%s' has more than one constructor annotated with @ConstructorProperties.", targetClass.getTypeName());
+        }
+        if (!constructors.isEmpty()) {
+            Constructor<?> constructor = constructors.get(0);
+            return new Creator<>(targetClass, constructor, constructor.getAnnotation(ConstructorProperties.class).value());
+        }
+
+        if (targetClass.isRecord()) {
+            RecordComponent[] components = targetClass.getRecordComponents();
+            try {
+                Constructor<T> canonicalConstructor = targetClass.getDeclaredConstructor(stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+                return new Creator<>(targetClass, canonicalConstructor, stream(components).map(RecordComponent::getName).toArray(String[]::new));
+            } catch (NoSuchMethodException e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        return null;
+    }
+
+    private Creator(Class<T> targetClass, Executable executable, String[] names) {
+        this.targetClass = targetClass;
+        this.description = executable instanceof Method ? "Factory method '" + executable.getName() + "'" : "Constructor";
+
+        Type[] genericTypes = executable.getGenericParameterTypes();
+        Class<?>[] types = executable.getParameterTypes();
+        Parameter[] executableParameters = executable.getParameters();
+        if (names.length != types.length || genericTypes.length != types.length) {
+            throw new ConverterIllegalArgumentException("%s of '%s' has %d parameters but %d names.", description, targetClass.getTypeName(), types.length, names.length);
+        }
+
+        Set<String> distinctNames = new HashSet<>();
+        List<Property> parameters = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null || !distinctNames.add(names[i])) {
+                throw new ConverterIllegalArgumentException("%s of '%s' has invalid or duplicate parameter name '%s'.", description, targetClass.getTypeName(), names[i]);
+            }
+            parameters.add(Property.ofArgument(i, names[i], genericTypes[i], types[i], executableParameters[i]));
+        }
+        this.parameters = parameters;
+
+        try {
+            executable.trySetAccessible();
+            MethodHandle handle = executable instanceof Method
+                    ? MethodHandles.lookup().unreflect((Method) executable)
+                    : MethodHandles.lookup().unreflectConstructor((Constructor<?>) executable);
+            this.handle = handle.asSpreader(Object[].class, types.length).asType(methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * @return parameters of the constructor or factory method, in order
+     */
+    List<Property> parameters() {
+        return parameters;
+    }
+
+    T create(Object[] arguments) {
+        Object instance;
+        try {
+            instance = handle.invokeExact(arguments);
+        } catch (ConverterException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterInstantiationException(e, "%s of '%s' threw exception.", description, targetClass.getTypeName());
+        }
+        if (instance == null) {
+            throw new ConverterInstantiationException("%s of '%s' returned null.", description, targetClass.getTypeName());
+        }
+        return targetClass.cast(instance);
+    }
+
+}
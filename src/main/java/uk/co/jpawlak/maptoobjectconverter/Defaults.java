@@ -0,0 +1,29 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a static field holding the default instance of the class declaring it, e.g.:
+ *
+ * <pre>
+ * public class Settings {
+ *     &#64;Defaults
+ *     private static final Settings DEFAULTS = new Settings("UTC", 100, false);
+ *
+ *     private final String timeZone;
+ *     private final int pageSize;
+ *     private final boolean verbose;
+ * }
+ * </pre>
+ *
+ * Maps converted into such class do not need keys for all the fields. Fields without keys get the values of the fields
+ * of the default instance, which are shared, so they should be immutable. Defaults registered with
+ * {@link MapToObjectConverter#registerDefaults(Class, Object)} take precedence over the annotated field.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Defaults {
+}
@@ -0,0 +1,64 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table of subclasses of a base class, selected by the value of the discriminator key of the converted map. The key is
+ * not validated against the fields of the subclass unless the subclass has a field of the same name.
+ */
+class Discriminator<T> {
+
+    private final Class<T> baseClass;
+    private final String key;
+    private final Map<Object, Class<? extends T>> subclasses;
+
+    Discriminator(Class<T> baseClass, String key, Map<?, Class<? extends T>> subclasses) {
+        if (baseClass == null) {
+            throw new ConverterIllegalArgumentException("Cannot register subclasses of null class.");
+        }
+        if (key == null) {
+            throw new ConverterIllegalArgumentException("Discriminator key cannot be null.");
+        }
+        if (subclasses == null || subclasses.isEmpty()) {
+            throw new ConverterIllegalArgumentException("At least one subclass has to be registered.");
+        }
+        this.baseClass = baseClass;
+        this.key = key;
+        this.subclasses = new HashMap<>(subclasses);
+        this.subclasses.forEach((value, subclass) -> checkSubclass(baseClass, value, subclass));
+    }
+
+    private static void checkSubclass(Class<?> baseClass, Object value, Class<?> subclass) {
+        if (subclass == null) {
+            throw new ConverterIllegalArgumentException("Subclass registered for value '%s' cannot be null.", value);
+        }
+        if (!baseClass.isAssignableFrom(subclass)) {
+            throw new ConverterIllegalArgumentException("'%s' is not a subclass of '%s'.", subclass.getTypeName(), baseClass.getTypeName());
+        }
+        if (subclass.isInterface() || Modifier.isAbstract(subclass.getModifiers())) {
+            throw new ConverterIllegalArgumentException("Subclass '%s' registered for value '%s' cannot be abstract.", subclass.getTypeName(), value);
+        }
+    }
+
+    String key() {
+        return key;
+    }
+
+    Class<? extends T> subclassFor(Map<String, Object> map) {
+        Object value = map.get(key);
+        Class<? extends T> subclass = subclasses.get(value);
+        if (subclass != null) {
+            return subclass;
+        }
+        if (value == null && !map.containsKey(key)) {
+            throw new ConverterMissingValuesException("No value for discriminator key '%s'.", key);
+        }
+        throw new ConverterIllegalArgumentException("No subclass of '%s' registered for value '%s' of key '%s'.", baseClass.getTypeName(), value, key);
+    }
+
+}
@@ -0,0 +1,129 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Binds flat maps with dotted keys (e.g. rows of SQL joins with keys <code>customer.id</code>, <code>customer.name</code>)
+ * into nested objects. A key is routed through the nested fields of the target class (see {@link ClassPlan#nestedField(String, boolean)})
+ * segment by segment, and its value is put into the map of the deepest nested object the key leads to. Each entry is
+ * visited once, then the maps of nested objects are converted and validated as if they were nested in the original map.
+ *
+ * <br><br>
+ *
+ * Segments which do not match any nested field are left in the key, so they are reported as keys without fields by the
+ * validation of the nested level.
+ */
+class DottedKeys {
+
+    private final ClassPlans classPlans;
+    private final boolean keyCaseSensitive;
+
+    DottedKeys(ClassPlans classPlans, boolean keyCaseSensitive) {
+        this.classPlans = classPlans;
+        this.keyCaseSensitive = keyCaseSensitive;
+    }
+
+    /**
+     * @return the map with dotted keys of nested objects replaced by maps of these objects, or the same map if it does
+     * not contain such keys
+     */
+    Map<String, Object> group(Map<String, Object> map, ClassPlan<?> plan) {
+        if (!plan.hasNestedFields() || isGroup(map) || !containsDottedKey(map, plan)) {
+            return map;
+        }
+
+        Map<String, Object> result = newGroup(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = entry.getKey();
+            Map<String, Object> target = result;
+            ClassPlan<?> targetPlan = plan;
+            int start = 0;
+            int dot = plan.keys().contains(key) ? -1 : key.indexOf('.');
+            while (dot >= 0) {
+                FieldPlan nestedField = targetPlan.nestedField(key.substring(start, dot), keyCaseSensitive);
+                if (nestedField == null) {
+                    break;
+                }
+                target = groupOf(target, nestedField.name());
+                targetPlan = classPlans.planFor(nestedField.nestedType());
+                start = dot + 1;
+                dot = key.indexOf('.', start);
+            }
+            put(target, key.substring(start), entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return true if the map was created by {@link #group(Map, ClassPlan)}, i.e. its keys are already grouped and
+     * compared according to key case sensitivity
+     */
+    static boolean isGroup(Map<?, ?> map) {
+        return map instanceof Group;
+    }
+
+    private Map<String, Object> newGroup(int expectedSize) {
+        return keyCaseSensitive ? new HashGroup(expectedSize) : new SortedGroup();
+    }
+
+    private static boolean containsDottedKey(Map<String, Object> map, ClassPlan<?> plan) {
+        for (String key : map.keySet()) {
+            if (key.indexOf('.') >= 0 && !plan.keys().contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> groupOf(Map<String, Object> map, String name) {
+        Object existing = map.get(name);
+        if (existing instanceof Group) {
+            return (Map<String, Object>) existing;
+        }
+        if (existing != null || map.containsKey(name)) {
+            throw conflict(name);
+        }
+        Map<String, Object> group = newGroup(8);
+        map.put(name, group);
+        return group;
+    }
+
+    private static void put(Map<String, Object> map, String key, Object value) {
+        if (map.containsKey(key)) {
+            throw conflict(key);
+        }
+        map.put(key, value);
+    }
+
+    private static ConverterIllegalArgumentException conflict(String name) {
+        return new ConverterIllegalArgumentException("Map contains both key '%s' and keys starting with '%s.'.", name, name);
+    }
+
+    /**
+     * Map of a nested object created from dotted keys. Its keys are already grouped.
+     */
+    private interface Group {
+    }
+
+    private static class HashGroup extends HashMap<String, Object> implements Group {
+
+        private HashGroup(int expectedSize) {
+            super((int) (expectedSize / 0.75f) + 1);
+        }
+
+    }
+
+    private static class SortedGroup extends TreeMap<String, Object> implements Group {
+
+        private SortedGroup() {
+            super(String.CASE_INSENSITIVE_ORDER);
+        }
+
+    }
+
+}
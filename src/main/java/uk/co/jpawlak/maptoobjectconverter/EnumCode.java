@@ -0,0 +1,33 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the integer code of an enum constant. Can be placed on a single <code>int</code> field or a single method without
+ * parameters returning <code>int</code> declared in the enum, e.g.:
+ *
+ * <pre>
+ * public enum Gender {
+ *     MALE(0), FEMALE(1);
+ *
+ *     &#64;EnumCode
+ *     private final int number;
+ *
+ *     Gender(int number) {
+ *         this.number = number;
+ *     }
+ * }
+ * </pre>
+ *
+ * Integer values (<code>Byte</code>, <code>Short</code>, <code>Integer</code> and <code>Long</code>) assigned to fields of
+ * such enum are then mapped to the constant with equal code. Codes have to be unique.
+ *
+ * @see EnumConverters#byCode(Class)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface EnumCode {
+}
@@ -0,0 +1,52 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+/**
+ * Converters mapping integer values to enum constants, to be registered with
+ * {@link MapToObjectConverter#registerConverter(Class, SingleValueConverter)}:
+ *
+ * <pre>
+ * converter.registerConverter(Gender.class, EnumConverters.byOrdinal(Gender.class));
+ * </pre>
+ *
+ * The lookup tables are computed once per enum class, so the conversion does not iterate over the constants nor allocate.
+ * Both converters return null for null values and throw <code>ConverterEnumCreationException</code> if there is no enum
+ * for the value or the value is not an integer. As with any registered converter, the exception reaches the caller wrapped in
+ * <code>RegisteredConverterException</code>. Enums with {@link EnumCode codes} do not need a registered converter, in which
+ * case <code>ConverterEnumCreationException</code> is thrown directly.
+ */
+public final class EnumConverters {
+
+    private EnumConverters() {
+    }
+
+    /**
+     * @return converter mapping values to the constant with equal {@link Enum#ordinal() ordinal}
+     */
+    public static <E extends Enum<E>> SingleValueConverter<E> byOrdinal(Class<E> enumClass) {
+        EnumLookup<E> lookup = lookupFor(enumClass);
+        return lookup::byOrdinal;
+    }
+
+    /**
+     * @return converter mapping values to the constant with equal {@link EnumCode code}
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if the enum does not declare
+     * valid and unique codes
+     */
+    public static <E extends Enum<E>> SingleValueConverter<E> byCode(Class<E> enumClass) {
+        EnumLookup<E> lookup = lookupFor(enumClass);
+        if (!lookup.hasCodes()) {
+            throw new ConverterIllegalArgumentException("Enum '%s' does not have a field or method annotated with @EnumCode.", enumClass.getTypeName());
+        }
+        return lookup::byCode;
+    }
+
+    private static <E extends Enum<E>> EnumLookup<E> lookupFor(Class<E> enumClass) {
+        if (enumClass == null) {
+            throw new ConverterIllegalArgumentException("Cannot create converter for null class.");
+        }
+        return EnumLookup.of(enumClass);
+    }
+
+}
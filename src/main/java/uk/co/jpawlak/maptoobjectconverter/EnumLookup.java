@@ -0,0 +1,180 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterEnumCreationException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup tables mapping ordinals and {@link EnumCode codes} to constants of a single enum, computed once per enum class.
+ *
+ * <br><br>
+ *
+ * Codes are kept in an array indexed by <code>code - minimum code</code> when they are reasonably dense, and in a hash map
+ * otherwise, so that a few distant codes do not allocate a huge array.
+ */
+class EnumLookup<E extends Enum<E>> {
+
+    private static final int MAXIMUM_DENSE_SLACK = 64;
+
+    private static final ClassValue<EnumLookup<?>> LOOKUPS = new ClassValue<EnumLookup<?>>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected EnumLookup<?> computeValue(Class<?> type) {
+            return new EnumLookup(type);
+        }
+    };
+
+    private final Class<E> enumClass;
+    private final E[] constants;
+    private final boolean hasCodes;
+    private final int minimumCode;
+    private final E[] denseCodes;
+    private final Map<Integer, E> sparseCodes;
+
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<E>> EnumLookup<E> of(Class<E> enumClass) {
+        return (EnumLookup<E>) LOOKUPS.get(enumClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EnumLookup(Class<E> enumClass) {
+        this.enumClass = enumClass;
+        this.constants = enumClass.getEnumConstants();
+
+        AccessibleObject codeMember = codeMemberOf(enumClass);
+        this.hasCodes = codeMember != null;
+        if (codeMember == null) {
+            this.minimumCode = 0;
+            this.denseCodes = null;
+            this.sparseCodes = null;
+            return;
+        }
+
+        int[] codes = new int[constants.length];
+        int minimum = Integer.MAX_VALUE;
+        int maximum = Integer.MIN_VALUE;
+        Map<Integer, E> byCode = new HashMap<>();
+        for (int i = 0; i < constants.length; i++) {
+            codes[i] = codeOf(codeMember, constants[i]);
+            if (byCode.put(codes[i], constants[i]) != null) {
+                throw new ConverterIllegalArgumentException("Enum '%s' has more than one constant with code '%d'.", enumClass.getTypeName(), codes[i]);
+            }
+            minimum = Math.min(minimum, codes[i]);
+            maximum = Math.max(maximum, codes[i]);
+        }
+
+        long range = constants.length == 0 ? 0 : (long) maximum - minimum + 1;
+        if (range <= 2L * constants.length + MAXIMUM_DENSE_SLACK) {
+            this.minimumCode = minimum;
+            this.denseCodes = (E[]) Array.newInstance(enumClass, (int) range);
+            for (int i = 0; i < constants.length; i++) {
+                denseCodes[codes[i] - minimum] = constants[i];
+            }
+            this.sparseCodes = null;
+        } else {
+            this.minimumCode = 0;
+            this.denseCodes = null;
+            this.sparseCodes = byCode;
+        }
+    }
+
+    boolean hasCodes() {
+        return hasCodes;
+    }
+
+    E byOrdinal(Object value) {
+        if (value == null) {
+            return null;
+        }
+        long ordinal = integerValueOf(value);
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new ConverterEnumCreationException("'%s' does not have an enum with ordinal '%s'.", enumClass.getTypeName(), value);
+        }
+        return constants[(int) ordinal];
+    }
+
+    E byCode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        long code = integerValueOf(value);
+        E constant = null;
+        if (denseCodes != null) {
+            long index = code - minimumCode;
+            if (index >= 0 && index < denseCodes.length) {
+                constant = denseCodes[(int) index];
+            }
+        } else if (code >= Integer.MIN_VALUE && code <= Integer.MAX_VALUE) {
+            constant = sparseCodes.get((int) code);
+        }
+        if (constant == null) {
+            throw new ConverterEnumCreationException("'%s' does not have an enum with code '%s'.", enumClass.getTypeName(), value);
+        }
+        return constant;
+    }
+
+    private static long integerValueOf(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        throw new ConverterEnumCreationException("Cannot convert value of type '%s' to enum.", value.getClass().getTypeName());
+    }
+
+    private static AccessibleObject codeMemberOf(Class<?> enumClass) {
+        List<AccessibleObject> members = new ArrayList<>();
+        for (Field field : enumClass.getDeclaredFields()) {
+            if (field.isAnnotationPresent(EnumCode.class)) {
+                if (field.getType() != int.class || Modifier.isStatic(field.getModifiers())) {
+                    throw invalidCode(enumClass);
+                }
+                members.add(field);
+            }
+        }
+        for (Method method : enumClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(EnumCode.class)) {
+                if (method.getReturnType() != int.class || method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+                    throw invalidCode(enumClass);
+                }
+                members.add(method);
+            }
+        }
+        if (members.size() > 1) {
+            throw new ConverterIllegalArgumentException("Enum '%s' has more than one field or method annotated with @EnumCode.", enumClass.getTypeName());
+        }
+        if (members.isEmpty()) {
+            return null;
+        }
+        AccessibleObject member = members.get(0);
+        member.trySetAccessible();
+        return member;
+    }
+
+    private static ConverterIllegalArgumentException invalidCode(Class<?> enumClass) {
+        return new ConverterIllegalArgumentException("@EnumCode in enum '%s' has to be placed on non-static int field or non-static method without parameters returning int.", enumClass.getTypeName());
+    }
+
+    private static int codeOf(AccessibleObject codeMember, Object constant) {
+        try {
+            if (codeMember instanceof Field) {
+                return ((Field) codeMember).getInt(constant);
+            }
+            return (int) ((Method) codeMember).invoke(constant);
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        } catch (InvocationTargetException e) {
+            throw new ConverterUnknownException(e.getCause());
+        }
+    }
+
+}
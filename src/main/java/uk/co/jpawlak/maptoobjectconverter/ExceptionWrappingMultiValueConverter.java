@@ -0,0 +1,31 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.util.List;
+import java.util.Map;
+
+class ExceptionWrappingMultiValueConverter<T> implements MultiValueConverter<T> {
+
+    private final List<String> keys;
+    private final MultiValueConverter<T> converter;
+
+    ExceptionWrappingMultiValueConverter(List<String> keys, MultiValueConverter<T> converter) {
+        this.keys = keys;
+        this.converter = converter;
+    }
+
+    List<String> keys() {
+        return keys;
+    }
+
+    @Override
+    public T convert(Map<String, Object> values) {
+        try {
+            return converter.convert(values);
+        } catch (Exception ex) {
+            throw new RegisteredConverterException(ex);
+        }
+    }
+
+}
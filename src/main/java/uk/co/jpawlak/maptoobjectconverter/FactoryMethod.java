@@ -0,0 +1,35 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Designates a static method of the target class used to create its instances. The method receives the values of keys
+ * listed in {@link #value()}, in order of its parameters, e.g.:
+ *
+ * <pre>
+ * public class Employee {
+ *     private final String name;
+ *     private final int age;
+ *
+ *     &#64;FactoryMethod({"name", "age"})
+ *     static Employee of(String name, int age) {
+ *         return new Employee(name, age);
+ *     }
+ * }
+ * </pre>
+ *
+ * The values are validated and converted in the same way as values assigned to fields.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface FactoryMethod {
+
+    /**
+     * @return keys of the map passed as the parameters of the method, in order of the parameters
+     */
+    String[] value();
+
+}
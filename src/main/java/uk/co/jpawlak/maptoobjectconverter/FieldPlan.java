@@ -0,0 +1,455 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNumericCoercionException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Binds a single field of the target class (or a single argument of the constructor creating it, see {@link Property}).
+ *
+ * <br><br>
+ *
+ * How values are written (converter registered from a source class, numeric coercion or the generic path) is resolved
+ * once per class of the value and cached. On top of that, the field has an inline cache: the first value class assigned
+ * successfully is recorded and values of exactly that class skip the lookup, converter dispatch and reflective type
+ * checks. If a value of a different class appears, the field deoptimizes and uses the cached resolution from then on.
+ *
+ * <br><br>
+ *
+ * If a {@link MultiValueConverter} is registered for the type of the field, the field consumes the keys read by the
+ * converter instead of the key equal to its name.
+ *
+ * <br><br>
+ *
+ * Maps assigned to fields of convertible classes or collections of them are converted recursively, see {@link NestedConversion}.
+ * Exceptions propagating out of the field get its name prepended to their path.
+ *
+ * <br><br>
+ *
+ * Values of fields annotated with {@link Interned} are interned right before they are written, after any conversion.
+ */
+class FieldPlan {
+
+    private interface FieldWriter {
+        void write(Object target, Object value) throws Throwable;
+    }
+
+    private static final FieldWriter GENERIC = (target, value) -> {
+        throw new AssertionError("generic path is not a writer");
+    };
+
+    private final Property property;
+    private final Converters converters;
+    private final Type targetType;
+    private final boolean optional;
+    private final AssignableClasses optionalValueClasses;
+    private final boolean primitiveOptional;
+    private final boolean elementConverterRegistered;
+    private final boolean passThrough;
+    private final boolean hasTypedConverters;
+    private final boolean numericCoercion;
+    private final ExceptionWrappingMultiValueConverter<?> multiValueConverter;
+    private final NestedConversion nestedConversion;
+    private final List<String> keys;
+    private final InternTable internTable;
+    private final Map<Class<?>, FieldWriter> writers = new ConcurrentHashMap<>();
+
+    private volatile SingleValueConverter<?> converter;
+    private volatile MethodHandle setter;
+    private volatile Specialization specialization;
+    private volatile boolean megamorphic;
+
+    private final LongAdder specializationHits = new LongAdder();
+    private final LongAdder deoptimizations = new LongAdder();
+
+    FieldPlan(Property property, Converters converters, NestedConversion.NestedConverter nestedConverter) {
+        this.property = property;
+        this.converters = converters;
+
+        Type type = property.genericType();
+        this.optional = type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == Optional.class;
+        this.primitiveOptional = PrimitiveOptionals.isPrimitiveOptional(type) && !converters.hasRegisteredConverterFor(type);
+        this.elementConverterRegistered = primitiveOptional && converters.getElementConverterFor(type) != null;
+        if (optional) {
+            this.targetType = Converters.optionalValueType(((ParameterizedType) type).getActualTypeArguments()[0]);
+        } else if (primitiveOptional) {
+            this.targetType = PrimitiveOptionals.elementTypeOf(type);
+        } else {
+            this.targetType = type;
+        }
+        this.optionalValueClasses = optional && targetType instanceof Class<?> ? new AssignableClasses((Class<?>) targetType) : null;
+        this.passThrough = !primitiveOptional
+                && targetType instanceof Class<?>
+                && targetType != Optional.class
+                && !((Class<?>) targetType).isEnum()
+                && !converters.hasRegisteredConverterFor(targetType);
+        this.hasTypedConverters = converters.hasTypedConvertersFor(targetType)
+                || primitiveOptional && converters.hasTypedConvertersFor(Utils.wrapperOf((Class<?>) targetType));
+        this.numericCoercion = (passThrough || primitiveOptional) && converters.isNumericCoercionEnabled();
+        this.multiValueConverter = converters.getMultiValueConverterFor(targetType);
+        this.nestedConversion = multiValueConverter == null && !primitiveOptional && (!optional || targetType instanceof Class<?>)
+                ? NestedConversion.of(targetType, converters, nestedConverter)
+                : null;
+        this.keys = multiValueConverter == null ? List.of(property.name()) : multiValueConverter.keys();
+        Interned interned = property.annotation(Interned.class);
+        if (interned != null && interned.maximumSize() <= 0) {
+            throw new ConverterIllegalArgumentException("Maximum size of interned values of field '%s' has to be positive.", property.name());
+        }
+        this.internTable = interned == null ? null : new InternTable(interned.maximumSize());
+        this.megamorphic = multiValueConverter != null || (!passThrough && !hasTypedConverters && !primitiveOptional && nestedConversion == null);
+    }
+
+    String name() {
+        return property.name();
+    }
+
+    Type genericType() {
+        return property.genericType();
+    }
+
+    Class<?> type() {
+        return property.type();
+    }
+
+    /**
+     * @return keys of the map consumed by this field
+     */
+    List<String> keys() {
+        return keys;
+    }
+
+    boolean isComposite() {
+        return multiValueConverter != null;
+    }
+
+    /**
+     * @return the type of the object nested in this field (or in <code>Optional</code>), or null if the field does not hold a nested object
+     */
+    Type nestedType() {
+        return nestedConversion == null ? null : nestedConversion.objectType();
+    }
+
+    /**
+     * @return the type of the objects nested in this <code>List</code> or <code>Set</code> field, or null if the field is not such a collection
+     */
+    Type nestedElementType() {
+        return nestedConversion == null ? null : nestedConversion.elementType();
+    }
+
+    void setField(Object target, Map<String, Object> map) {
+        try {
+            if (multiValueConverter == null) {
+                setField(target, map.get(property.name()));
+                return;
+            }
+
+            Object convertedValue = multiValueConverter.convert(new KeyGroupView(map, keys));
+            if (optional) {
+                checkOptionalValueType(convertedValue);
+                convertedValue = Optional.ofNullable(convertedValue);
+            }
+            setConvertedValue(target, convertedValue);
+        } catch (ConverterException e) {
+            throw e.withPathPrefix(property.name());
+        }
+    }
+
+    void setField(Object target, Object value) {
+        Specialization specialization = this.specialization;
+        if (specialization != null && value != null && value.getClass() == specialization.valueClass) {
+            specializationHits.increment();
+            write(specialization.writer, target, value);
+            return;
+        }
+
+        if (value == null) {
+            setFieldGeneric(target, null);
+            return;
+        }
+
+        FieldWriter writer = writerFor(value.getClass());
+        if (writer == GENERIC) {
+            setFieldGeneric(target, value);
+        } else {
+            write(writer, target, value);
+        }
+        observe(value.getClass(), writer);
+    }
+
+    private void setFieldGeneric(Object target, Object value) {
+        setConvertedValue(target, converter().convert(value));
+    }
+
+    private void setConvertedValue(Object target, Object convertedValue) {
+        if (convertedValue == null) {
+            throw nullReturnedByConverter();
+        }
+        try {
+            property.set(target, internTable == null ? convertedValue : internTable.intern(convertedValue));
+        } catch (IllegalArgumentException e) {
+            throw typeMismatch(convertedValue);
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    private void write(FieldWriter writer, Object target, Object value) {
+        try {
+            writer.write(target, value);
+        } catch (ArithmeticException e) {
+            throw new ConverterNumericCoercionException("Cannot assign value '%s' of type '%s' to field '%s' of type '%s' without overflow or loss of precision.", value, value.getClass().getTypeName(), property.name(), property.genericType().getTypeName());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    private SingleValueConverter<?> converter() {
+        SingleValueConverter<?> converter = this.converter;
+        if (converter == null) {
+            converter = converters.getConverterFor(property.genericType(), property.name());
+            this.converter = converter;
+        }
+        return converter;
+    }
+
+    private FieldWriter writerFor(Class<?> valueClass) {
+        if (!hasTypedConverters && !numericCoercion && !primitiveOptional && nestedConversion == null) {
+            return GENERIC;
+        }
+        return writers.computeIfAbsent(valueClass, this::resolveWriter);
+    }
+
+    private FieldWriter resolveWriter(Class<?> valueClass) {
+        SingleValueConverter<?> typedConverter = hasTypedConverters ? typedConverterFor(valueClass) : null;
+        if (primitiveOptional) {
+            return resolvePrimitiveOptionalWriter(valueClass, typedConverter);
+        }
+        if (typedConverter != null) {
+            return convertingWriter(value -> {
+                Object convertedValue = typedConverter.convert(value);
+                if (optional) {
+                    checkOptionalValueType(convertedValue);
+                }
+                return convertedValue;
+            });
+        }
+        if (nestedConversion != null && nestedConversion.accepts(valueClass)) {
+            return convertingWriter(nestedConversion::convert);
+        }
+        if (numericCoercion && Utils.wrapperOf((Class<?>) targetType) != valueClass) {
+            FieldWriter coercingWriter = coercingWriter(valueClass, (Class<?>) targetType);
+            if (coercingWriter != null) {
+                return coercingWriter;
+            }
+        }
+        return GENERIC;
+    }
+
+    private SingleValueConverter<?> typedConverterFor(Class<?> valueClass) {
+        SingleValueConverter<?> typedConverter = converters.getTypedConverterFor(valueClass, targetType);
+        if (typedConverter == null && primitiveOptional) {
+            typedConverter = converters.getTypedConverterFor(valueClass, Utils.wrapperOf((Class<?>) targetType));
+        }
+        return typedConverter;
+    }
+
+    /**
+     * Writers of <code>OptionalInt</code>, <code>OptionalLong</code> and <code>OptionalDouble</code> fields wrap the value
+     * straight into the field's optional, without boxing it into <code>Optional</code> first.
+     */
+    private FieldWriter resolvePrimitiveOptionalWriter(Class<?> valueClass, SingleValueConverter<?> typedConverter) {
+        MethodHandle setter = setter(Object.class);
+        if (typedConverter != null) {
+            return (target, value) -> writeChecked(setter, target, primitiveOptionalOf(typedConverter.convert(value)));
+        }
+        if (elementConverterRegistered) {
+            return GENERIC;
+        }
+        Function<Object, Object> factory = PrimitiveOptionals.factory(property.type(), valueClass);
+        if (factory == null && numericCoercion) {
+            factory = PrimitiveOptionals.coercingFactory(property.type(), valueClass);
+        }
+        if (factory == null) {
+            return GENERIC;
+        }
+        Function<Object, Object> wrapping = factory;
+        return (target, value) -> writeChecked(setter, target, wrapping.apply(value));
+    }
+
+    private Object primitiveOptionalOf(Object convertedValue) {
+        if (convertedValue == null) {
+            return PrimitiveOptionals.empty(property.type());
+        }
+        Function<Object, Object> factory = PrimitiveOptionals.factory(property.type(), convertedValue.getClass());
+        if (factory == null) {
+            throw new RegisteredConverterException("Cannot assign value of type '%s' returned by registered converter to field '%s' of type '%s'.", convertedValue.getClass().getTypeName(), property.name(), property.type().getTypeName());
+        }
+        return factory.apply(convertedValue);
+    }
+
+    private void checkOptionalValueType(Object convertedValue) {
+        if (convertedValue != null && !optionalValueClasses.accepts(convertedValue.getClass())) {
+            Type typeArgument = ((ParameterizedType) property.genericType()).getActualTypeArguments()[0];
+            throw new RegisteredConverterException("Cannot assign value of type 'Optional<%s>' returned by registered converter to field '%s' of type 'Optional<%s>'.", convertedValue.getClass().getTypeName(), property.name(), typeArgument.getTypeName());
+        }
+    }
+
+    private FieldWriter convertingWriter(SingleValueConverter<?> conversion) {
+        MethodHandle setter = setter(Object.class);
+        return (target, value) -> {
+            Object convertedValue = conversion.convert(value);
+            if (optional) {
+                convertedValue = Optional.ofNullable(convertedValue);
+            } else if (convertedValue == null) {
+                throw nullReturnedByConverter();
+            }
+            writeChecked(setter, target, convertedValue);
+        };
+    }
+
+    private FieldWriter coercingWriter(Class<?> valueClass, Class<?> targetClass) {
+        if (targetClass == int.class) {
+            ToIntFunction<Object> toInt = NumericCoercions.toInt(valueClass);
+            MethodHandle setter = setter(int.class);
+            return toInt == null || setter == null ? null : (target, value) -> {
+                setter.invokeExact(target, toInt.applyAsInt(value));
+            };
+        }
+        if (targetClass == long.class) {
+            ToLongFunction<Object> toLong = NumericCoercions.toLong(valueClass);
+            MethodHandle setter = setter(long.class);
+            return toLong == null || setter == null ? null : (target, value) -> {
+                setter.invokeExact(target, toLong.applyAsLong(value));
+            };
+        }
+        if (targetClass == double.class) {
+            ToDoubleFunction<Object> toDouble = NumericCoercions.toDouble(valueClass);
+            MethodHandle setter = setter(double.class);
+            return toDouble == null || setter == null ? null : (target, value) -> {
+                setter.invokeExact(target, toDouble.applyAsDouble(value));
+            };
+        }
+        SingleValueConverter<?> boxing = NumericCoercions.boxing(valueClass, targetClass);
+        return boxing == null ? null : convertingWriter(boxing);
+    }
+
+    private void observe(Class<?> valueClass, FieldWriter writer) {
+        if (megamorphic) {
+            return;
+        }
+        Specialization specialization = this.specialization;
+        if (specialization == null) {
+            this.specialization = specializationFor(valueClass, writer);
+            this.megamorphic = this.specialization == null;
+        } else if (specialization.valueClass != valueClass) {
+            this.megamorphic = true;
+            this.specialization = null;
+            deoptimizations.increment();
+        }
+    }
+
+    private Specialization specializationFor(Class<?> valueClass, FieldWriter writer) {
+        if (writer != GENERIC) {
+            return new Specialization(valueClass, writer);
+        }
+        if (!passThrough || (optional && !optionalValueClasses.accepts(valueClass))) {
+            return null;
+        }
+        MethodHandle setter = setter(Object.class);
+        if (setter == null) {
+            return null;
+        }
+        if (optional) {
+            return new Specialization(valueClass, (target, value) -> writeChecked(setter, target, Optional.of(value)));
+        }
+        return new Specialization(valueClass, (target, value) -> writeChecked(setter, target, value));
+    }
+
+    private void writeChecked(MethodHandle setter, Object target, Object convertedValue) throws Throwable {
+        if (internTable != null) {
+            convertedValue = internTable.intern(convertedValue);
+        }
+        try {
+            if (setter == null) {
+                property.set(target, convertedValue);
+            } else {
+                setter.invokeExact(target, convertedValue);
+            }
+        } catch (ClassCastException | IllegalArgumentException e) {
+            throw typeMismatch(convertedValue);
+        }
+    }
+
+    /**
+     * @return setter accepting the target as <code>Object</code> and the value as <code>valueType</code>, or null if the field
+     * cannot be set through a method handle
+     */
+    private MethodHandle setter(Class<?> valueType) {
+        try {
+            MethodHandle setter = this.setter;
+            if (setter == null) {
+                setter = property.setter();
+                this.setter = setter;
+            }
+            return setter.asType(methodType(void.class, Object.class, valueType));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private RegisteredConverterException nullReturnedByConverter() {
+        return new RegisteredConverterException("Null values require fields to be Optional. Registered converter for type '%s' returned null.", property.type().getTypeName());
+    }
+
+    private ConverterTypeMismatchException typeMismatch(Object convertedValue) {
+        return new ConverterTypeMismatchException("Cannot assign value of type '%s' to field '%s' of type '%s'.", convertedValue.getClass().getTypeName(), property.name(), property.type().getTypeName());
+    }
+
+    /**
+     * @return statistics of interning or null if the field is not {@link Interned}
+     */
+    InterningStatistics interningStatistics() {
+        return internTable == null ? null : internTable.statistics();
+    }
+
+    long specializationHits() {
+        return specializationHits.sum();
+    }
+
+    long deoptimizations() {
+        return deoptimizations.sum();
+    }
+
+    private static class Specialization {
+
+        private final Class<?> valueClass;
+        private final FieldWriter writer;
+
+        private Specialization(Class<?> valueClass, FieldWriter writer) {
+            this.valueClass = valueClass;
+            this.writer = writer;
+        }
+
+    }
+
+}
@@ -0,0 +1,285 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingInt;
+
+/**
+ * Fixed-width binary layout of the instances of a class, derived from its {@link RecordLayout}. Primitive fields are stored
+ * inline, enum fields as their ordinals and <code>String</code> fields as references into a separate {@link StringWriter store of
+ * strings}, so every instance takes {@link #recordSize()} bytes. Fields are ordered by descending width, so that every value
+ * is aligned to its width. Other fields are not supported.
+ */
+class FlatLayout<T> {
+
+    enum Kind {
+        LONG(8), DOUBLE(8), STRING(8), INT(4), FLOAT(4), ENUM(4), SHORT(2), CHAR(2), BYTE(1), BOOLEAN(1);
+
+        private final int width;
+
+        Kind(int width) {
+            this.width = width;
+        }
+
+        private static Kind of(Class<?> type) {
+            if (type == long.class) return LONG;
+            if (type == double.class) return DOUBLE;
+            if (type == String.class) return STRING;
+            if (type == int.class) return INT;
+            if (type == float.class) return FLOAT;
+            if (type.isEnum()) return ENUM;
+            if (type == short.class) return SHORT;
+            if (type == char.class) return CHAR;
+            if (type == byte.class) return BYTE;
+            if (type == boolean.class) return BOOLEAN;
+            return null;
+        }
+    }
+
+    /**
+     * Storage of the values of <code>String</code> fields, which are of variable length, written together with the records.
+     */
+    interface StringWriter {
+
+        /**
+         * @return reference to the stored string, which is written into the record
+         */
+        long put(String value);
+
+    }
+
+    /**
+     * Storage of the values of <code>String</code> fields, read together with the records.
+     */
+    interface StringReader {
+
+        /**
+         * @param reference reference returned by {@link StringWriter#put(String)}
+         */
+        String get(long reference);
+
+    }
+
+    /**
+     * A single field of the records, at a fixed offset from the start of the record.
+     */
+    static final class FlatField {
+
+        private final String name;
+        private final Class<?> type;
+        private final Kind kind;
+        private final int offset;
+        private final MethodHandle getter;
+        private final MethodHandle writer;
+        private final Object[] enumConstants;
+
+        private FlatField(RecordLayout.Slot slot, Kind kind, int offset) {
+            Class<?> exactType = kind == Kind.ENUM ? Object.class : slot.type();
+            this.name = slot.name();
+            this.type = slot.type();
+            this.kind = kind;
+            this.offset = offset;
+            this.getter = slot.getter().asType(methodType(exactType, Object.class));
+            this.writer = slot.writer().asType(methodType(void.class, Object.class, exactType));
+            this.enumConstants = kind == Kind.ENUM ? type.getEnumConstants() : null;
+        }
+
+        String name() {
+            return name;
+        }
+
+        Class<?> type() {
+            return type;
+        }
+
+        Kind kind() {
+            return kind;
+        }
+
+        int offset() {
+            return offset;
+        }
+
+        Object enumConstant(int ordinal) {
+            return enumConstants[ordinal];
+        }
+
+    }
+
+    private final RecordLayout<T> layout;
+    private final List<FlatField> fields;
+    private final Map<String, FlatField> fieldsByName = new HashMap<>();
+    private final int recordSize;
+    private final long layoutHash;
+
+    private FlatLayout(RecordLayout<T> layout, List<FlatField> fields, int recordSize) {
+        this.layout = layout;
+        this.fields = unmodifiableList(fields);
+        this.recordSize = recordSize;
+        for (FlatField field : fields) {
+            fieldsByName.putIfAbsent(field.name, field);
+        }
+        this.layoutHash = hashOf(layout.targetClass(), fields);
+    }
+
+    static <T> FlatLayout<T> of(RecordLayout<T> layout) {
+        List<RecordLayout.Slot> slots = new ArrayList<>(layout.slots());
+        for (RecordLayout.Slot slot : slots) {
+            if (Kind.of(slot.type()) == null) {
+                throw new ConverterIllegalArgumentException("Cannot store field '%s' of type '%s' of '%s' in binary records. Only primitive, String and enum fields are supported.",
+                        slot.name(), slot.type().getTypeName(), layout.targetClass().getTypeName());
+            }
+        }
+        slots.sort(comparingInt(slot -> -Kind.of(slot.type()).width));
+        List<FlatField> fields = new ArrayList<>();
+        int offset = 0;
+        for (RecordLayout.Slot slot : slots) {
+            Kind kind = Kind.of(slot.type());
+            fields.add(new FlatField(slot, kind, offset));
+            offset += kind.width;
+        }
+        return new FlatLayout<>(layout, fields, Math.max(offset, 1));
+    }
+
+    Class<T> targetClass() {
+        return layout.targetClass();
+    }
+
+    List<FlatField> fields() {
+        return fields;
+    }
+
+    /**
+     * @return the field or null if there is no such field
+     */
+    FlatField field(String name) {
+        return fieldsByName.get(name);
+    }
+
+    int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * @return hash of the class name and of the names, types, offsets and enum constants of the fields, which changes whenever
+     * records written with one layout cannot be read with the other
+     */
+    long layoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * Writes the values of the fields of the instance into the buffer, starting at <code>position</code>.
+     *
+     * @throws ConverterNullValueException if a <code>String</code> or enum field is null
+     */
+    void write(T instance, ByteBuffer buffer, int position, StringWriter strings) {
+        try {
+            for (FlatField field : fields) {
+                int index = position + field.offset;
+                switch (field.kind) {
+                    case LONG: buffer.putLong(index, (long) field.getter.invokeExact(instance)); break;
+                    case DOUBLE: buffer.putDouble(index, (double) field.getter.invokeExact(instance)); break;
+                    case STRING: buffer.putLong(index, strings.put((String) nonNull(field, (String) field.getter.invokeExact(instance)))); break;
+                    case INT: buffer.putInt(index, (int) field.getter.invokeExact(instance)); break;
+                    case FLOAT: buffer.putFloat(index, (float) field.getter.invokeExact(instance)); break;
+                    case ENUM: buffer.putInt(index, ((Enum<?>) nonNull(field, (Object) field.getter.invokeExact(instance))).ordinal()); break;
+                    case SHORT: buffer.putShort(index, (short) field.getter.invokeExact(instance)); break;
+                    case CHAR: buffer.putChar(index, (char) field.getter.invokeExact(instance)); break;
+                    case BYTE: buffer.put(index, (byte) field.getter.invokeExact(instance)); break;
+                    case BOOLEAN: buffer.put(index, (boolean) field.getter.invokeExact(instance) ? (byte) 1 : (byte) 0); break;
+                }
+            }
+        } catch (ConverterException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    private Object nonNull(FlatField field, Object value) {
+        if (value == null) {
+            throw new ConverterNullValueException("Cannot store null value of field '%s' of '%s' in binary records.", field.name, targetClass().getTypeName());
+        }
+        return value;
+    }
+
+    /**
+     * Creates an instance from the values of the fields written into the buffer at <code>position</code>.
+     */
+    T read(ByteBuffer buffer, int position, StringReader strings) {
+        Object target = layout.newTarget();
+        try {
+            for (FlatField field : fields) {
+                int index = position + field.offset;
+                switch (field.kind) {
+                    case LONG: field.writer.invokeExact(target, buffer.getLong(index)); break;
+                    case DOUBLE: field.writer.invokeExact(target, buffer.getDouble(index)); break;
+                    case STRING: field.writer.invokeExact(target, strings.get(buffer.getLong(index))); break;
+                    case INT: field.writer.invokeExact(target, buffer.getInt(index)); break;
+                    case FLOAT: field.writer.invokeExact(target, buffer.getFloat(index)); break;
+                    case ENUM: field.writer.invokeExact(target, field.enumConstant(buffer.getInt(index))); break;
+                    case SHORT: field.writer.invokeExact(target, buffer.getShort(index)); break;
+                    case CHAR: field.writer.invokeExact(target, buffer.getChar(index)); break;
+                    case BYTE: field.writer.invokeExact(target, buffer.get(index)); break;
+                    case BOOLEAN: field.writer.invokeExact(target, buffer.get(index) != 0); break;
+                }
+            }
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+        return layout.finish(target);
+    }
+
+    /**
+     * @return estimated size of the instance on the heap together with its strings, assuming compressed references (enum
+     * constants are shared, so they are not counted)
+     */
+    long estimatedHeapSize(T instance) {
+        long size = 12;
+        try {
+            for (FlatField field : fields) {
+                if (field.kind == Kind.STRING) {
+                    size += 4 + InternTable.estimatedSizeOf((String) field.getter.invokeExact(instance));
+                } else if (field.kind == Kind.ENUM) {
+                    size += 4;
+                } else {
+                    size += field.kind.width;
+                }
+            }
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+        return (size + 7) & ~7L;
+    }
+
+    private static long hashOf(Class<?> targetClass, List<FlatField> fields) {
+        StringBuilder description = new StringBuilder(targetClass.getName());
+        for (FlatField field : fields) {
+            description.append(';').append(field.name).append(':').append(field.type.getName()).append('@').append(field.offset);
+            if (field.enumConstants != null) {
+                for (Object constant : field.enumConstants) {
+                    description.append(',').append(((Enum<?>) constant).name());
+                }
+            }
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < description.length(); i++) {
+            hash = (hash ^ description.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+}
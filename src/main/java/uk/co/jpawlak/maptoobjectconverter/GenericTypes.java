@@ -0,0 +1,236 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Resolution of type variables of a parameterized target type, e.g. of field <code>T content</code> of <code>Page&lt;Order&gt;</code>
+ * into <code>Order</code>. Type variables of superclasses are resolved through the type arguments in the <code>extends</code>
+ * clauses. Type variables without bindings are left as they are.
+ */
+final class GenericTypes {
+
+    private final Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+
+    private GenericTypes() {
+    }
+
+    /**
+     * @return the class of <code>type</code>, if it is a class or a parameterized class
+     * @throws ConverterIllegalArgumentException for other types
+     */
+    static Class<?> rawClassOf(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() instanceof Class<?>) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        throw new ConverterIllegalArgumentException("Cannot convert map to type '%s'.", type == null ? null : type.getTypeName());
+    }
+
+    /**
+     * @param targetType a class or a parameterized class
+     * @return resolver of the type variables of <code>targetType</code> and its superclasses
+     */
+    static GenericTypes of(Type targetType) {
+        GenericTypes genericTypes = new GenericTypes();
+        Type type = targetType instanceof Class<?> ? ((Class<?>) targetType).getGenericSuperclass() : targetType;
+        while (type instanceof Class<?> && type != Object.class) {
+            type = ((Class<?>) type).getGenericSuperclass();
+        }
+        while (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Class<?> rawClass = (Class<?>) parameterizedType.getRawType();
+            TypeVariable<?>[] variables = rawClass.getTypeParameters();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (variables.length != arguments.length) {
+                throw new ConverterIllegalArgumentException("Type '%s' has %d type arguments but class '%s' has %d type parameters.",
+                        targetType.getTypeName(), arguments.length, rawClass.getTypeName(), variables.length);
+            }
+            for (int i = 0; i < variables.length; i++) {
+                genericTypes.bindings.put(variables[i], genericTypes.resolve(arguments[i]));
+            }
+            type = rawClass.getGenericSuperclass();
+            while (type instanceof Class<?> && type != Object.class) {
+                type = ((Class<?>) type).getGenericSuperclass();
+            }
+        }
+        return genericTypes;
+    }
+
+    /**
+     * @return true if there are no type variables to resolve
+     */
+    boolean isEmpty() {
+        return bindings.isEmpty();
+    }
+
+    Type resolve(Type type) {
+        if (type instanceof TypeVariable<?>) {
+            return bindings.getOrDefault(type, type);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] arguments = resolveAll(parameterizedType.getActualTypeArguments());
+            return new ResolvedParameterizedType(parameterizedType.getOwnerType(), (Class<?>) parameterizedType.getRawType(), arguments);
+        }
+        if (type instanceof GenericArrayType) {
+            Type componentType = resolve(((GenericArrayType) type).getGenericComponentType());
+            return componentType instanceof Class<?>
+                    ? Array.newInstance((Class<?>) componentType, 0).getClass()
+                    : new ResolvedGenericArrayType(componentType);
+        }
+        if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return new ResolvedWildcardType(resolveAll(wildcardType.getUpperBounds()), resolveAll(wildcardType.getLowerBounds()));
+        }
+        return type;
+    }
+
+    private Type[] resolveAll(Type[] types) {
+        Type[] result = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            result[i] = resolve(types[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Equal to, and with the same hash code as, the JDK implementation, so it can be used as a key of maps of types.
+     */
+    static final class ResolvedParameterizedType implements ParameterizedType {
+
+        private final Type ownerType;
+        private final Class<?> rawType;
+        private final Type[] arguments;
+
+        ResolvedParameterizedType(Type ownerType, Class<?> rawType, Type[] arguments) {
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return arguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) o;
+            return rawType.equals(that.getRawType())
+                    && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(arguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return rawType.getTypeName() + Arrays.stream(arguments).map(Type::getTypeName).collect(joining(", ", "<", ">"));
+        }
+
+    }
+
+    private static final class ResolvedGenericArrayType implements GenericArrayType {
+
+        private final Type componentType;
+
+        private ResolvedGenericArrayType(Type componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenericArrayType && componentType.equals(((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return componentType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return componentType.getTypeName() + "[]";
+        }
+
+    }
+
+    private static final class ResolvedWildcardType implements WildcardType {
+
+        private final Type[] upperBounds;
+        private final Type[] lowerBounds;
+
+        private ResolvedWildcardType(Type[] upperBounds, Type[] lowerBounds) {
+            this.upperBounds = upperBounds;
+            this.lowerBounds = lowerBounds;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WildcardType
+                    && Arrays.equals(upperBounds, ((WildcardType) o).getUpperBounds())
+                    && Arrays.equals(lowerBounds, ((WildcardType) o).getLowerBounds());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+        }
+
+        @Override
+        public String toString() {
+            if (lowerBounds.length > 0) {
+                return "? super " + lowerBounds[0].getTypeName();
+            }
+            return upperBounds.length == 0 || upperBounds[0] == Object.class ? "?" : "? extends " + upperBounds[0].getTypeName();
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class whose instances are immutable, so a single instance can be shared by all maps with equal content, e.g.:
+ *
+ * <pre>
+ * &#64;Immutable
+ * public class Product {
+ *     private final String code;
+ *     private final String name;
+ *     private final List&lt;String&gt; tags;
+ * }
+ * </pre>
+ *
+ * If the result cache is {@link MapToObjectConverter#enableResultCache(int, java.time.Duration) enabled}, maps converted into
+ * such class are converted only once, until the result expires or is evicted, and later conversions of equal maps return the
+ * same instance. The fields of the class and the objects they refer to must not be modified.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Immutable {
+}
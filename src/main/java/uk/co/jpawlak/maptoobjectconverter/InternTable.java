@@ -0,0 +1,89 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent canonicalisation table of the values of a single field, see {@link Interned}. The first instance of each
+ * distinct value becomes the canonical one and equal values are replaced by it. The table is bounded: once it is full,
+ * values which are not in the table are returned as they are, so fields with unexpectedly many distinct values do not
+ * exhaust the memory, and the canonical instances are never evicted, so they stay shared.
+ */
+class InternTable {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int STRING = 24;
+    private static final int BIG_DECIMAL = 40;
+    private static final int BIG_INTEGER = 40;
+
+    private final int maximumSize;
+    private final Map<Object, Object> canonicalValues = new ConcurrentHashMap<>();
+
+    private final LongAdder values = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    InternTable(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @return the canonical instance equal to the value, or the value itself if it is the first such value or the table is full
+     */
+    Object intern(Object value) {
+        values.increment();
+        Object canonicalValue = canonicalValues.get(value);
+        if (canonicalValue == null) {
+            if (canonicalValues.size() >= maximumSize) {
+                return value;
+            }
+            canonicalValue = canonicalValues.putIfAbsent(value, value);
+            if (canonicalValue == null) {
+                return value;
+            }
+        }
+        if (canonicalValue != value) {
+            duplicates.increment();
+            bytesSaved.add(estimatedSizeOf(value));
+        }
+        return canonicalValue;
+    }
+
+    /**
+     * @return estimated shallow size of the value together with the objects it owns, assuming compressed references and
+     * one byte per character of strings
+     */
+    static long estimatedSizeOf(Object value) {
+        if (value instanceof String) {
+            return STRING + aligned(OBJECT_HEADER + ((String) value).length());
+        }
+        if (value instanceof BigDecimal) {
+            BigDecimal bigDecimal = (BigDecimal) value;
+            return BIG_DECIMAL + (bigDecimal.precision() > 18 ? sizeOf(bigDecimal.unscaledValue()) : 0);
+        }
+        if (value instanceof BigInteger) {
+            return sizeOf((BigInteger) value);
+        }
+        if (value instanceof Optional) {
+            return OBJECT_HEADER + ((Optional<?>) value).map(InternTable::estimatedSizeOf).orElse(0L);
+        }
+        return OBJECT_HEADER;
+    }
+
+    private static long sizeOf(BigInteger bigInteger) {
+        return BIG_INTEGER + aligned(OBJECT_HEADER + 4L * (bigInteger.bitLength() / 32 + 1));
+    }
+
+    private static long aligned(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    InterningStatistics statistics() {
+        return new InterningStatistics(values.sum(), canonicalValues.size(), duplicates.sum(), bytesSaved.sum());
+    }
+
+}
@@ -0,0 +1,42 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field whose values are interned, i.e. equal values assigned to the field share a single instance, e.g.:
+ *
+ * <pre>
+ * public class Trade {
+ *     &#64;Interned
+ *     private final String currency;
+ *
+ *     &#64;Interned(maximumSize = 100)
+ *     private final Optional&lt;String&gt; venue;
+ * }
+ * </pre>
+ *
+ * Intended for fields with few distinct values (e.g. countries, statuses or currencies) of many objects kept in memory.
+ * The values are interned after conversion, so the same instance is shared also by values created by registered converters
+ * and by <code>Optional</code>s wrapping equal values. The values have to be immutable.
+ *
+ * <br><br>
+ *
+ * Each field has its own table of distinct values. When it holds {@link #maximumSize()} values, new distinct values are
+ * no longer interned. Can also be placed on a component of a record, a parameter of a constructor or factory method
+ * creating the class or a getter of a viewed interface.
+ *
+ * @see MapToObjectConverter#interningStatistics(Class, String)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD})
+public @interface Interned {
+
+    /**
+     * @return maximum number of distinct values interned
+     */
+    int maximumSize() default 1024;
+
+}
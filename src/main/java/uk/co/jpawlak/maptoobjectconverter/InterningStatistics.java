@@ -0,0 +1,53 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+/**
+ * Counters of the interning of the values of a field annotated with {@link Interned}.
+ *
+ * <br><br>
+ *
+ * <i>Values</i> is the number of values assigned to the field, <i>unique values</i> the number of distinct values in its table
+ * and <i>duplicates</i> the number of values replaced by an equal value from the table. The memory saved is estimated from the
+ * sizes of the replaced values, which became garbage instead of being kept in the objects.
+ *
+ * @see MapToObjectConverter#interningStatistics(Class, String)
+ */
+public final class InterningStatistics {
+
+    private final long values;
+    private final long uniqueValues;
+    private final long duplicates;
+    private final long estimatedBytesSaved;
+
+    InterningStatistics(long values, long uniqueValues, long duplicates, long estimatedBytesSaved) {
+        this.values = values;
+        this.uniqueValues = uniqueValues;
+        this.duplicates = duplicates;
+        this.estimatedBytesSaved = estimatedBytesSaved;
+    }
+
+    public long getValues() {
+        return values;
+    }
+
+    public long getUniqueValues() {
+        return uniqueValues;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getEstimatedBytesSaved() {
+        return estimatedBytesSaved;
+    }
+
+    public double getUniqueValueRatio() {
+        return values == 0 ? 0 : (double) uniqueValues / values;
+    }
+
+    @Override
+    public String toString() {
+        return "InterningStatistics{values=" + values + ", uniqueValues=" + uniqueValues + ", duplicates=" + duplicates + ", estimatedBytesSaved=" + estimatedBytesSaved + "}";
+    }
+
+}
@@ -0,0 +1,66 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of the entries of a map whose keys belong to a group consumed by a {@link MultiValueConverter}.
+ * Entries are read from the backing map on access, so creating the view does not copy anything.
+ */
+class KeyGroupView extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> map;
+    private final List<String> keys;
+
+    KeyGroupView(Map<String, Object> map, List<String> keys) {
+        this.map = map;
+        this.keys = keys;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return keys.contains(key) ? map.get(key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                Iterator<String> iterator = keys.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        String key = iterator.next();
+                        return new SimpleImmutableEntry<>(key, map.get(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.size();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,31 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Results of validating keys of maps, cached per key shape, i.e. set of keys. Maps converted into the same class usually
+ * have one or a few shapes (e.g. rows of a query), so their keys are validated once per shape instead of once per map.
+ * The number of shapes is bounded, keys of maps of other shapes are validated every time.
+ */
+class KeyShapes<V> {
+
+    private static final int MAXIMUM_SIZE = 64;
+
+    private final Map<Set<String>, V> shapes = new ConcurrentHashMap<>();
+
+    /**
+     * @return the result for maps with these keys, or null if there is none
+     */
+    V get(Set<String> keys) {
+        return shapes.get(keys);
+    }
+
+    void put(Set<String> keys, V value) {
+        if (shapes.size() < MAXIMUM_SIZE) {
+            shapes.put(Set.copyOf(keys), value);
+        }
+    }
+
+}
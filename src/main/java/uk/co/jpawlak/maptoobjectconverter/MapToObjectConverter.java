@@ -1,11 +1,19 @@
 package uk.co.jpawlak.maptoobjectconverter;
 
 import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
 import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
 
 import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class that allows to easily convert Map&lt;String, Object&gt; into staticly typed object.
@@ -13,8 +21,8 @@ import java.util.TreeMap;
  * <br><br>
  *
  * Values are mapped to fields using maps' keys and fields' names. Fields can be private final, no methods or annotations are required.
- * The instance will be created without calling a constructor. All non-static fields in created objects are guaranteed
- * to be non-null.
+ * The instance will be created without calling a constructor (unless it is a record or designates a constructor or factory method,
+ * see below). All non-static fields in created objects are guaranteed to be non-null.
  *
  * <br><br>
  *
@@ -23,7 +31,7 @@ import java.util.TreeMap;
  *
  * <h1>Registering Converters</h1>
  *
- * If a field in target class is of type <code>Optional&lt;X&gt;</code>, the converter has to be registered for type <code>X.class</code>.
+ * If a field in target class is of type <code>Optional&lt;X&gt;</code> or <code>Optional&lt;? extends X&gt;</code>, the converter has to be registered for type <code>X.class</code>.
  *
  * <br><br>
  *
@@ -50,6 +58,154 @@ import java.util.TreeMap;
  * The registered converter for type <code>X</code> is allowed to return null only for field of type <code>Optional&lt;X&gt;</code>.
  * If it returns null for field of type <code>X</code>, <code>RegisteredConverterException</code> will be thrown.
  *
+ * <br><br>
+ *
+ * Expensive converters (e.g. parsing dates) can be registered with {@link #registerMemoizingConverter(Class, int, SingleValueConverter)}.
+ * Their results are cached in a bounded cache keyed by the value, so each distinct value is converted only once, until it is evicted.
+ * Such converters have to be pure functions of the value and their results have to be safe to share.
+ *
+ * <br><br>
+ *
+ * Converters can also be registered from a source class to a target class, so they do not have to cast the value themselves:
+ *
+ * <pre>
+ * converter.registerConverter(Integer.class, Gender.class, Gender::fromInt);
+ * </pre>
+ *
+ * Such converter is used only for non-null values whose class is <code>Integer</code> (or its subclass). The choice of the
+ * converter is made once per field and class of the value. Converters registered from a source class take precedence over
+ * converters registered with {@link SingleValueConverter}.
+ *
+ * <h1>Multi Value Converters</h1>
+ *
+ * A field can be created from several values of the map, e.g. <code>Money</code> from keys <code>amount</code> and <code>currency</code>:
+ *
+ * <pre>
+ * converter.registerConverter(Money.class, asList("amount", "currency"), values -&gt; new Money((BigDecimal) values.get("amount"), (String) values.get("currency")));
+ * </pre>
+ *
+ * Fields of type <code>Money</code> (or <code>Optional&lt;Money&gt;</code>) then consume the keys read by the converter instead
+ * of the key equal to their names. The converter receives only the keys it declared and has to handle null values.
+ *
+ * <h1>Numeric Coercion</h1>
+ *
+ * By default, numbers have to be of the type of the field (or assignable to it). If numeric coercion is {@link #enableNumericCoercion() enabled},
+ * values of types <code>Byte</code>, <code>Short</code>, <code>Integer</code>, <code>Long</code>, <code>BigInteger</code>, <code>Float</code>,
+ * <code>Double</code> and <code>BigDecimal</code> are converted into fields of types <code>int</code>, <code>long</code>, <code>double</code>,
+ * their wrappers and <code>BigDecimal</code>. Primitive fields are written without boxing. If the number does not fit into the field
+ * or would lose precision, <code>ConverterNumericCoercionException</code> is thrown.
+ *
+ * <h1>Records and Constructors</h1>
+ *
+ * Records are created through their canonical constructor. Other classes can designate a constructor annotated with
+ * <code>&#64;ConstructorProperties</code> or a static method annotated with {@link FactoryMethod}. In such case, the map's keys
+ * are matched against the names of the parameters instead of the fields, with the same validation and converters, and the
+ * instance is created by a single call of the constructor or method. If it throws an exception (or the method returns null),
+ * <code>ConverterInstantiationException</code> is thrown.
+ *
+ * <h1>Nested Objects</h1>
+ *
+ * Maps assigned to fields whose type is a class the map could be converted into (other than JDK classes, enums and classes with registered
+ * converters) are converted recursively, as well as elements of <code>List&lt;T&gt;</code>, <code>Set&lt;T&gt;</code>, <code>Map&lt;String, T&gt;</code>
+ * and <code>T[]</code> fields. Nested maps are validated in the same way as the converted map. Exceptions thrown for nested maps carry
+ * the path to the invalid value (e.g. <code>orders[3].address.city</code>), available from <code>ConverterException.getPath()</code> and
+ * appended to their messages.
+ *
+ * <br><br>
+ *
+ * Nested objects can also be bound from flat maps with dotted keys, e.g. <code>customer.id</code> and <code>customer.name</code>
+ * are bound into field <code>id</code> and <code>name</code> of object nested in field <code>customer</code>. The map cannot contain
+ * both key <code>customer</code> and keys starting with <code>customer.</code>.
+ *
+ * <h1>Views</h1>
+ *
+ * Interfaces cannot be converted into, but {@link #view(Map, Class)} creates views of maps implementing them. Every abstract method
+ * without parameters is a getter of a property (<code>getX()</code>, <code>isX()</code> or <code>x()</code> of property <code>x</code>),
+ * and the keys of the map are validated against the properties as if they were fields. The value of a property is converted, with the
+ * same converters and checks as a field, when its getter is called for the first time. Views are instances of classes generated for
+ * the interfaces (not <code>java.lang.reflect.Proxy</code>), so the interfaces and return types of their getters have to be public.
+ *
+ * <h1>Generic Classes</h1>
+ *
+ * Maps can be converted into parameterized classes with {@link #convert(Map, Type)}, e.g. into <code>Page&lt;Order&gt;</code>. Type variables
+ * in declared types of fields (or parameters) of the class and its superclasses are resolved against the type arguments, and a separate plan
+ * is cached for every parameterization.
+ *
+ * <h1>Subclasses</h1>
+ *
+ * Subclasses of a base class (which may be abstract or an interface) can be registered for values of a discriminator key
+ * with {@link #registerSubclasses(Class, String, Map)}. The map converted into the base class, or nested in a field of the base
+ * class, is then converted into the subclass registered for the value of the discriminator key. The key does not require a field
+ * in the subclass. If the value has no registered subclass, <code>ConverterIllegalArgumentException</code> is thrown.
+ *
+ * <h1>One-To-Many Joins</h1>
+ *
+ * Rows of a one-to-many join, ordered by the parent, can be reduced into parents by {@link #convertOneToMany(Stream, Class, String, String)}.
+ * Consecutive rows with equal values of the parent key form a single parent, and the keys starting with <code>&lt;childrenField&gt;.</code>
+ * of every row form a child added to the <code>List</code> or <code>Set</code> field <code>childrenField</code>. The stream is lazy and holds
+ * only the rows of the current parent.
+ *
+ * <h1>Unknown Keys</h1>
+ *
+ * By default, keys of the map without corresponding fields cause <code>ConverterMissingFieldsException</code>. If unknown keys are
+ * {@link #ignoreUnknownKeys() ignored}, such keys are skipped, also in nested maps and views. Alternatively, a class can collect the
+ * entries with unknown keys into a <code>Map&lt;String, Object&gt;</code> field annotated with {@link UnknownKeys}. Keys of maps are
+ * validated once per set of keys, so maps with the same keys (e.g. rows of a query) are not validated again.
+ *
+ * <h1>Defaults</h1>
+ *
+ * A class can declare its default instance in a static field annotated with {@link Defaults}, or the default instance can be
+ * registered with {@link #registerDefaults(Class, Object)}. Maps converted into such class do not need keys for all of its fields.
+ * Instances are created by copying the default instance (cloning it, if the class is <code>Cloneable</code> and overrides
+ * <code>clone()</code>) and converting only the keys present in the map, with the usual checks of their values.
+ *
+ * <h1>Existing Instances</h1>
+ *
+ * {@link #convertInto(Map, Object)} sets the fields of an existing instance instead of creating a new one, with the same validation,
+ * so a single mutable instance can be reused for many maps. It is not supported for records and classes created by constructors or
+ * factory methods. Fields are set as their values are converted, so if the conversion fails, the instance is left with some of its
+ * fields set from the map, and should not be used until another map is successfully converted into it.
+ *
+ * <h1>Deltas</h1>
+ *
+ * {@link #applyDelta(Object, Map)} creates a copy of an existing instance with only the fields present in the map converted, e.g. from
+ * change events carrying only the changed values. The other fields are copied from the existing instance (records and classes created
+ * by constructors or factory methods are copied if their parameters have the names of their fields).
+ *
+ * <h1>Interning</h1>
+ *
+ * Values of fields annotated with {@link Interned} are interned: equal values assigned to such field share a single instance,
+ * which reduces the memory used by many objects whose fields have few distinct values. See {@link #interningStatistics(Class, String)}.
+ *
+ * <h1>Columnar Results</h1>
+ *
+ * {@link #convertAllColumnar(Iterable, Class)} converts many rows into a {@link ColumnarList}, which keeps the values of every field in
+ * a separate array (primitive fields in arrays of primitives, <code>String</code> fields as codes into a dictionary of distinct strings)
+ * instead of keeping the instances. Instances are created when the elements are read, and the columns can be read directly.
+ *
+ * <h1>Off-Heap Store</h1>
+ *
+ * {@link #newOffHeapStore(Class)} creates an {@link OffHeapStore} writing the values of converted rows into fixed-width records
+ * in direct buffers, which are read through reusable flyweights without creating instances. Only primitive, <code>String</code>
+ * and enum fields are supported.
+ *
+ * <h1>Snapshots</h1>
+ *
+ * {@link #writeSnapshot(Path, Class, Iterable)} writes instances into a file in the same records as the off-heap store, and
+ * {@link #readSnapshot(Path, Class)} creates the instances back from the memory-mapped file, reading its segments in parallel.
+ * Snapshots carry a hash of the layout of the class, so a snapshot written before its fields changed cannot be read.
+ *
+ * <h1>Heap Budget</h1>
+ *
+ * {@link #convertAllSpilling(Iterable, Class, long)} converts many rows into a {@link SpillingList}, which keeps instances on the heap
+ * only up to a budget of their estimated size. The remaining instances are written into temporary files, in the same records as
+ * the off-heap store, and are created from the memory-mapped files when they are read.
+ *
+ * <h1>Result Cache</h1>
+ *
+ * If the result cache is {@link #enableResultCache(int, Duration) enabled}, maps converted into classes annotated with {@link Immutable}
+ * are converted once and the instance is returned for all equal maps, until it expires or is evicted. See {@link #resultCacheStatistics()}.
+ *
  * <h1>Key Case Sensitivity</h1>
  *
  * By default, converter is key case sensitive, so keys <code>abc</code> and <code>aBC</code> are considered different.
@@ -63,14 +219,33 @@ import java.util.TreeMap;
  * Key case insensitive mode allows to for example convert a map with key <code>FIRSTNAME</code> to object with field named <code>firstName</code>.
  *
  * @see #convert(Map, Class)
+ * @see #convert(Map, Type)
+ * @see #convertInto(Map, Object)
+ * @see #applyDelta(Object, Map)
+ * @see #convertAllColumnar(Iterable, Class)
+ * @see #newOffHeapStore(Class)
+ * @see #writeSnapshot(Path, Class, Iterable)
+ * @see #readSnapshot(Path, Class)
+ * @see #convertAllSpilling(Iterable, Class, long)
+ * @see #convertOneToMany(Stream, Class, String, String)
+ * @see #view(Map, Class)
+ * @see #ignoreUnknownKeys()
+ * @see #enableResultCache(int, Duration)
+ * @see #registerDefaults(Class, Object)
  * @see #registerConverter(Class, SingleValueConverter)
+ * @see #registerConverter(Class, Class, Function)
+ * @see #registerConverter(Class, List, MultiValueConverter)
+ * @see #registerSubclasses(Class, String, Map)
  */
 public class MapToObjectConverter {
 
     private final boolean keyCaseSensitive;
     private final Converters converters;
+    private final ClassPlans classPlans;
+    private final DottedKeys dottedKeys;
     private final Checker checker;
     private final ObjectCreator objectCreator;
+    private volatile ResultCache resultCache;
 
     public MapToObjectConverter() {
         this(true);
@@ -79,8 +254,10 @@ public class MapToObjectConverter {
     public MapToObjectConverter(boolean keyCaseSensitive) {
         this.keyCaseSensitive = keyCaseSensitive;
         this.converters = new Converters();
+        this.classPlans = new ClassPlans(converters, this::convertNested);
+        this.dottedKeys = new DottedKeys(classPlans, keyCaseSensitive);
         this.checker = new Checker(converters, keyCaseSensitive);
-        this.objectCreator = new ObjectCreator(converters);
+        this.objectCreator = new ObjectCreator(keyCaseSensitive);
     }
 
     /**
@@ -95,26 +272,389 @@ public class MapToObjectConverter {
     public <T> T convert(Map<String, Object> map, Class<T> targetClass) throws ConverterException {
         try {
             checker.checkParameters(map, targetClass);
+            ResultCache resultCache = this.resultCache;
+            if (resultCache != null && ResultCache.caches(targetClass)) {
+                return targetClass.cast(resultCache.get(targetClass, map, key -> convertChecked(key, targetClass)));
+            }
+            return targetClass.cast(convertChecked(map, targetClass));
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Converts Map&lt;String, Object&gt; into an instance of <code>targetType</code>, which can be a parameterized class, e.g.
+     * <code>Page&lt;Order&gt;</code>. Fields declared with type variables of the class (or of its superclasses) are converted
+     * as if they were declared with the type arguments of <code>targetType</code>.
+     *
+     * @param map map to convert into object
+     * @param targetType a class or a parameterized class whose instance will be created
+     * @param <T> the type of <code>targetType</code>
+     * @return an instance of <code>targetType</code>
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Map<String, Object> map, Type targetType) throws ConverterException {
+        try {
+            checker.checkParameters(map, targetType == null ? null : GenericTypes.rawClassOf(targetType));
+            return (T) convertChecked(map, targetType);
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Converts Map&lt;String, Object&gt; into an existing instance, i.e. sets all of its fields in the same way and with the same
+     * validation as {@link #convert(Map, Class)} would set the fields of a new instance of its class. Allows to reuse a single
+     * mutable instance for many maps, e.g. rows processed one by one, without allocating an instance per map.
+     *
+     * <br><br>
+     *
+     * Fields are set as their values are converted, so when an exception is thrown, some of the fields of the instance may already
+     * have been set from the map and the others not. The instance should not be used after an exception, until another map is
+     * successfully converted into it, which sets all of its fields again.
+     *
+     * @param map map to convert into object
+     * @param instance an instance of a class created without calling a constructor, i.e. not a record and without a constructor
+     *                 or factory method designated to create it
+     * @param <T> the type of <code>instance</code>
+     * @return <code>instance</code>
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses, after which <code>instance</code>
+     *         may be partially updated
+     */
+    public <T> T convertInto(Map<String, Object> map, T instance) throws ConverterException {
+        try {
+            if (instance == null) {
+                throw new ConverterIllegalArgumentException("Instance cannot be null.");
+            }
+            Class<?> targetClass = instance.getClass();
+            checker.checkParameters(map, targetClass);
+            if (classPlans.planFor(targetClass).creator() != null) {
+                throw new ConverterIllegalArgumentException("Cannot convert map into existing instance of '%s'. Its instances are created by a constructor or factory method.", targetClass.getTypeName());
+            }
+            convertChecked(map, targetClass, instance);
+            return instance;
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Creates a copy of <code>existing</code> with the fields present in <code>delta</code> replaced by its values, e.g. to apply a
+     * change carrying only the changed values. The values are converted and validated in the same way as by {@link #convert(Map, Class)},
+     * but keys can be missing. The remaining fields are copied from <code>existing</code>, whose nested objects are shared with the copy.
+     * Values of nested objects in the delta replace the nested objects as a whole.
+     *
+     * @param existing an instance to copy, which is not modified
+     * @param delta map holding values of some of the fields of <code>existing</code>
+     * @param <T> the type of <code>existing</code>
+     * @return a new instance of the class of <code>existing</code>
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T applyDelta(T existing, Map<String, Object> delta) throws ConverterException {
+        try {
+            if (existing == null) {
+                throw new ConverterIllegalArgumentException("Existing instance cannot be null.");
+            }
+            Class<T> targetClass = (Class<T>) existing.getClass();
+            checker.checkParameters(delta, targetClass);
+            Map<String, Object> map = delta;
             if (!keyCaseSensitive) {
-                Map<String, Object> newMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-                newMap.putAll(map);
-                map = newMap;
+                map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                map.putAll(delta);
             }
-            checker.checkKeysEqualToFieldsNames(map.keySet(), targetClass);
-            checker.checkOptionalFieldsForNullValues(map, targetClass);
+            ClassPlan<T> plan = classPlans.planFor(targetClass);
+            map = dottedKeys.group(map, plan);
+            List<String> unknownKeys = checker.checkKeysHaveFields(map.keySet(), plan);
+            checker.checkOptionalFieldsForNullValues(map, plan, true);
+            return objectCreator.convertMapOntoCopy(map, plan, unknownKeys, existing);
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
 
-            return objectCreator.convertMapToObject(map, targetClass);
+    /**
+     * Creates a view of the map implementing <code>viewInterface</code>, see {@link MapToObjectConverter}. Values are converted
+     * when their getters are called for the first time, so only the properties which are read are converted.
+     *
+     * @param map map backing the view, which should not be modified while the view is used
+     * @param viewInterface a public interface whose abstract methods are getters of properties
+     * @param <T> the type of <code>viewInterface</code>
+     * @return an instance of a class generated for <code>viewInterface</code>
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses, also when getters are called
+     */
+    public <T> T view(Map<String, Object> map, Class<T> viewInterface) throws ConverterException {
+        try {
+            if (viewInterface == null) {
+                throw new ConverterIllegalArgumentException("Target class cannot be null.");
+            }
+            if (!viewInterface.isInterface() || viewInterface.isAnnotation()) {
+                throw new ConverterIllegalArgumentException("Cannot create view of '%s'. Views can be created only for interfaces.", viewInterface.getTypeName());
+            }
+            return classPlans.viewPlanFor(viewInterface, checker, keyCaseSensitive).view(map);
         } catch (Exception e) {
             throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
         }
     }
 
+    /**
+     * Lazily reduces rows of a one-to-many join into instances of <code>targetClass</code>, see {@link MapToObjectConverter}.
+     * Rows have to be ordered by the parent, as a parent is created for every run of consecutive rows with equal values of
+     * <code>parentKey</code>. Closing the returned stream closes <code>rows</code>.
+     *
+     * @param rows flat rows of the join, ordered by <code>parentKey</code>
+     * @param targetClass a class whose instances will be created for the parents
+     * @param parentKey a key whose value identifies the parent of the row
+     * @param childrenField a <code>List</code> or <code>Set</code> field of <code>targetClass</code>, also the prefix of the keys of children
+     * @param <T> the type of <code>targetClass</code>
+     * @return a stream of instances of <code>targetClass</code>
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses, also while the stream is consumed
+     */
+    public <T> Stream<T> convertOneToMany(Stream<Map<String, Object>> rows, Class<T> targetClass, String parentKey, String childrenField) throws ConverterException {
+        try {
+            if (rows == null || parentKey == null || childrenField == null) {
+                throw new ConverterIllegalArgumentException("Rows, parent key and children field cannot be null.");
+            }
+            checker.checkParameters(Map.of(), targetClass);
+            OneToManyReducer<T> reducer = new OneToManyReducer<>(rows.spliterator(), classPlans.planFor(targetClass),
+                    map -> convert(map, targetClass), this::convertNested, parentKey, childrenField, keyCaseSensitive);
+            return StreamSupport.stream(reducer, false).onClose(rows::close);
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Converts all rows into instances of <code>targetClass</code> stored column by column, see {@link ColumnarList}. Every row
+     * is converted and validated in the same way as by {@link #convert(Map, Class)}, but only the values of its fields are kept,
+     * so many rows take much less memory than a list of instances, and the values of a single field can be processed in a loop
+     * over an array.
+     *
+     * @param rows maps to convert into objects
+     * @param targetClass a class whose instances will be created, without registered subclasses
+     * @param <T> the type of <code>targetClass</code>
+     * @return unmodifiable list of instances of <code>targetClass</code>, created when they are read
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses, with the index of the row in its path
+     */
+    public <T> ColumnarList<T> convertAllColumnar(Iterable<Map<String, Object>> rows, Class<T> targetClass) throws ConverterException {
+        try {
+            if (rows == null) {
+                throw new ConverterIllegalArgumentException("Rows cannot be null.");
+            }
+            checker.checkParameters(Map.of(), targetClass);
+            if (converters.getDiscriminatorFor(targetClass) != null) {
+                throw new ConverterIllegalArgumentException("Cannot store instances of '%s' in columns. It has registered subclasses.", targetClass.getTypeName());
+            }
+            ColumnarList.Builder<T> builder = new ColumnarList.Builder<>(classPlans.planFor(targetClass).layout(),
+                    rows instanceof Collection<?> ? ((Collection<?>) rows).size() : 0);
+            int index = 0;
+            for (Map<String, Object> row : rows) {
+                try {
+                    builder.add(convert(row, targetClass));
+                } catch (ConverterException e) {
+                    throw e.withPathPrefix("[" + index + "]").asNested();
+                }
+                index++;
+            }
+            return builder.build();
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Converts all rows into instances of <code>targetClass</code>, keeping on the heap only as many of them as fit within
+     * <code>heapBudgetBytes</code>, see {@link SpillingList}. Every row is converted and validated in the same way as by
+     * {@link #convert(Map, Class)}. Once the estimated size of the instances kept on the heap would exceed the budget, the
+     * remaining instances are written into temporary files, from which they are read back when the list is accessed.
+     *
+     * @param rows maps to convert into objects
+     * @param targetClass a class with only primitive, <code>String</code> and enum fields, without registered subclasses
+     * @param heapBudgetBytes maximum estimated size of the instances kept on the heap, together with their strings
+     * @param <T> the type of <code>targetClass</code>
+     * @return unmodifiable list of instances of <code>targetClass</code>, which has to be closed to delete the temporary files
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses, with the index of the row in its path
+     */
+    public <T> SpillingList<T> convertAllSpilling(Iterable<Map<String, Object>> rows, Class<T> targetClass, long heapBudgetBytes) throws ConverterException {
+        SpillingList.Builder<T> builder = null;
+        try {
+            if (rows == null) {
+                throw new ConverterIllegalArgumentException("Rows cannot be null.");
+            }
+            if (heapBudgetBytes < 0) {
+                throw new ConverterIllegalArgumentException("Heap budget cannot be negative.");
+            }
+            checker.checkParameters(Map.of(), targetClass);
+            if (converters.getDiscriminatorFor(targetClass) != null) {
+                throw new ConverterIllegalArgumentException("Cannot store instances of '%s' in binary records. It has registered subclasses.", targetClass.getTypeName());
+            }
+            ClassPlan<T> plan = classPlans.planFor(targetClass);
+            builder = new SpillingList.Builder<>(plan.flatLayout(), heapBudgetBytes);
+            // a row which fails to convert leaves the scratch instance partially updated, but it is not added and the next row
+            // sets all of its fields again
+            T scratch = null;
+            int index = 0;
+            for (Map<String, Object> row : rows) {
+                if (builder.spilling() && plan.creator() == null && scratch == null) {
+                    scratch = ObjectCreator.createInstance(targetClass);
+                }
+                T instance;
+                try {
+                    instance = scratch != null ? convertInto(row, scratch) : convert(row, targetClass);
+                } catch (ConverterException e) {
+                    throw e.withPathPrefix("[" + index + "]").asNested();
+                }
+                builder.add(instance);
+                index++;
+            }
+            return builder.build();
+        } catch (Exception e) {
+            if (builder != null) {
+                builder.abort();
+            }
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Creates an empty store keeping instances of <code>targetClass</code> outside of the heap, see {@link OffHeapStore}. Rows added to
+     * the store are converted and validated in the same way as by {@link #convert(Map, Class)}. Classes created without calling a
+     * constructor are converted into a single reused instance, so adding a row does not create an instance of <code>targetClass</code>.
+     *
+     * @param targetClass a class with only primitive, <code>String</code> and enum fields, without registered subclasses
+     * @param <T> the type of <code>targetClass</code>
+     * @return an empty store
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses
+     */
+    public <T> OffHeapStore<T> newOffHeapStore(Class<T> targetClass) throws ConverterException {
+        try {
+            checker.checkParameters(Map.of(), targetClass);
+            if (converters.getDiscriminatorFor(targetClass) != null) {
+                throw new ConverterIllegalArgumentException("Cannot store instances of '%s' in binary records. It has registered subclasses.", targetClass.getTypeName());
+            }
+            ClassPlan<T> plan = classPlans.planFor(targetClass);
+            FlatLayout<T> layout = plan.flatLayout();
+            if (plan.creator() != null) {
+                return new OffHeapStore<>(layout, map -> convert(map, targetClass));
+            }
+            // a row which fails to convert leaves the scratch instance partially updated, but it is not written and the next row
+            // sets all of its fields again
+            T scratch = ObjectCreator.createInstance(targetClass);
+            return new OffHeapStore<>(layout, map -> convertInto(map, scratch));
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Writes instances of <code>targetClass</code> into a binary snapshot, which can be read by {@link #readSnapshot(Path, Class)}
+     * much faster than the maps they were converted from could be converted again. Instances are written in the same fixed-width
+     * records as by {@link OffHeapStore}, followed by the distinct values of <code>String</code> fields.
+     *
+     * @param file the file to write, which is replaced if it exists
+     * @param targetClass a class with only primitive, <code>String</code> and enum fields
+     * @param instances instances to write
+     * @param <T> the type of <code>targetClass</code>
+     * @return number of written instances
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses
+     */
+    public <T> long writeSnapshot(Path file, Class<T> targetClass, Iterable<? extends T> instances) throws ConverterException {
+        try {
+            if (file == null || instances == null) {
+                throw new ConverterIllegalArgumentException("File and instances cannot be null.");
+            }
+            checker.checkParameters(Map.of(), targetClass);
+            return Snapshots.write(file, classPlans.planFor(targetClass).flatLayout(), instances);
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Reads instances of <code>targetClass</code> from a snapshot written by {@link #writeSnapshot(Path, Class, Iterable)}. The file
+     * is memory-mapped and its segments are read in parallel, creating the instances directly from the records.
+     *
+     * @param file the snapshot to read
+     * @param targetClass the class whose instances were written into the snapshot
+     * @param <T> the type of <code>targetClass</code>
+     * @return unmodifiable list of instances, in the order in which they were written
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIOException if the file cannot be read, is not a snapshot or
+     * was written with different fields of <code>targetClass</code>
+     */
+    public <T> List<T> readSnapshot(Path file, Class<T> targetClass) throws ConverterException {
+        try {
+            if (file == null) {
+                throw new ConverterIllegalArgumentException("File cannot be null.");
+            }
+            checker.checkParameters(Map.of(), targetClass);
+            return Snapshots.read(file, classPlans.planFor(targetClass).flatLayout());
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    private Object convertChecked(Map<String, Object> map, Type targetType) {
+        return convertChecked(map, targetType, null);
+    }
+
+    /**
+     * @param instance existing instance of <code>targetType</code> whose fields are set, or null if a new instance is created
+     */
+    @SuppressWarnings("unchecked")
+    private Object convertChecked(Map<String, Object> map, Type targetType, Object instance) {
+        if (!keyCaseSensitive && !DottedKeys.isGroup(map)) {
+            Map<String, Object> newMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            newMap.putAll(map);
+            map = newMap;
+        }
+        Discriminator<?> discriminator = instance == null && targetType instanceof Class<?> ? converters.getDiscriminatorFor((Class<?>) targetType) : null;
+        ClassPlan<?> plan = discriminator == null ? classPlans.planFor(targetType) : classPlans.planFor(discriminator.subclassFor(map));
+        map = dottedKeys.group(map, plan);
+        List<String> unknownKeys = discriminator == null ? plan.keyShapes().get(map.keySet()) : null;
+        if (unknownKeys == null) {
+            unknownKeys = checker.checkKeysEqualToFieldsNames(map.keySet(), plan, discriminator == null ? null : discriminator.key());
+            if (discriminator == null) {
+                plan.keyShapes().put(map.keySet(), unknownKeys);
+            }
+        }
+        checker.checkOptionalFieldsForNullValues(map, plan);
+
+        if (instance != null) {
+            objectCreator.convertMapIntoObject(map, (ClassPlan<Object>) plan, unknownKeys, instance);
+            return instance;
+        }
+        return objectCreator.convertMapToObject(map, plan, unknownKeys);
+    }
+
+    /**
+     * Plans and cached results depend on the registered converters, so they have to be discarded whenever a converter is registered.
+     */
+    private void invalidate() {
+        classPlans.invalidate();
+        ResultCache resultCache = this.resultCache;
+        if (resultCache != null) {
+            resultCache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object convertNested(Map<?, ?> map, Type targetType) {
+        try {
+            checker.checkParameters((Map<String, ?>) map, GenericTypes.rawClassOf(targetType));
+            return convertChecked((Map<String, Object>) map, targetType);
+        } catch (ConverterException e) {
+            throw e.asNested();
+        }
+    }
+
     /**
      * @see MapToObjectConverter
      * @return this
      */
     public <T> MapToObjectConverter registerConverter(Class<T> aClass, SingleValueConverter<T> singleValueConverter) {
         converters.registerConverter(aClass, singleValueConverter);
+        invalidate();
         return this;
     }
 
@@ -124,7 +664,182 @@ public class MapToObjectConverter {
      */
     public MapToObjectConverter registerConverter(Type type, SingleValueConverter<?> singleValueConverter) {
         converters.registerConverter(type, singleValueConverter);
+        invalidate();
         return this;
     }
 
+    /**
+     * Registers converter whose results are cached per value. Concurrent conversions of the same value are computed only once.
+     * When the cache holds more than <code>maximumSize</code> values, the oldest ones are evicted.
+     *
+     * @see MapToObjectConverter
+     * @see #memoizationStatistics(Class)
+     * @return this
+     */
+    public <T> MapToObjectConverter registerMemoizingConverter(Class<T> aClass, int maximumSize, SingleValueConverter<T> singleValueConverter) {
+        converters.registerMemoizingConverter(aClass, maximumSize, singleValueConverter);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Returns hits, misses and evictions of the cache of the converter registered with
+     * {@link #registerMemoizingConverter(Class, int, SingleValueConverter)}.
+     *
+     * @param aClass the class the memoizing converter was registered for
+     * @return statistics of the cache
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if no memoizing converter is registered for the class
+     */
+    public CacheStatistics memoizationStatistics(Class<?> aClass) throws ConverterException {
+        return converters.getMemoizationStatistics(aClass);
+    }
+
+    /**
+     * Registers converter used for non-null values of class <code>sourceClass</code> (or its subclasses) assigned to fields of type
+     * <code>targetClass</code> or <code>Optional&lt;targetClass&gt;</code>.
+     *
+     * @see MapToObjectConverter
+     * @return this
+     */
+    public <S, T> MapToObjectConverter registerConverter(Class<S> sourceClass, Class<T> targetClass, Function<S, T> converter) {
+        converters.registerConverter(sourceClass, targetClass, converter);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Registers converter which creates values of fields of type <code>aClass</code> (or <code>Optional&lt;aClass&gt;</code>) from values
+     * of <code>keys</code>. Such fields consume these keys instead of the key equal to their names.
+     *
+     * @see MapToObjectConverter
+     * @return this
+     */
+    public <T> MapToObjectConverter registerConverter(Class<T> aClass, List<String> keys, MultiValueConverter<T> multiValueConverter) {
+        converters.registerConverter(aClass, keys, multiValueConverter);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * @see MapToObjectConverter
+     * @return this
+     */
+    public <T> MapToObjectConverter registerSubclasses(Class<T> baseClass, String discriminatorKey, Map<?, Class<? extends T>> subclasses) {
+        converters.registerSubclasses(baseClass, discriminatorKey, subclasses);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Registers the default instance of <code>aClass</code>. Maps converted into <code>aClass</code> do not need keys for all of its
+     * fields, fields without keys get the values of the fields of the default instance. Takes precedence over the field annotated
+     * with {@link Defaults}.
+     *
+     * @see MapToObjectConverter
+     * @return this
+     */
+    public <T> MapToObjectConverter registerDefaults(Class<T> aClass, T defaults) {
+        converters.registerDefaults(aClass, defaults);
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Enables built-in coercion between number types, e.g. assigning <code>Long</code> value to <code>int</code> field.
+     * Converters registered for the type of the field take precedence over the coercion.
+     *
+     * @see MapToObjectConverter
+     * @return this
+     */
+    public MapToObjectConverter enableNumericCoercion() {
+        converters.enableNumericCoercion();
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Makes the converter ignore keys of the map which do not have corresponding fields, instead of throwing
+     * <code>ConverterMissingFieldsException</code>. Fields without corresponding keys are still reported.
+     *
+     * @see MapToObjectConverter
+     * @see UnknownKeys
+     * @return this
+     */
+    public MapToObjectConverter ignoreUnknownKeys() {
+        checker.ignoreUnknownKeys();
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Enables the cache of the results of {@link #convert(Map, Class)} into classes annotated with {@link Immutable}. Converting
+     * a map equal to one converted before (into the same class) returns the same instance, until it expires or is evicted.
+     * Concurrent conversions of equal maps are converted once. Maps and their values must not be modified once converted.
+     * Cached results are discarded whenever a converter is registered.
+     *
+     * @param maximumSize maximum number of cached results, after which the oldest results are evicted
+     * @param timeToLive time after which a cached result expires
+     * @see #resultCacheStatistics()
+     * @return this
+     */
+    public MapToObjectConverter enableResultCache(int maximumSize, Duration timeToLive) {
+        if (maximumSize <= 0) {
+            throw new ConverterIllegalArgumentException("Maximum size of the result cache has to be positive.");
+        }
+        if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new ConverterIllegalArgumentException("Time to live of the result cache has to be positive.");
+        }
+        resultCache = new ResultCache(maximumSize, timeToLive);
+        return this;
+    }
+
+    /**
+     * Returns hits, misses, evictions and expirations of the cache enabled by {@link #enableResultCache(int, Duration)}.
+     *
+     * @return statistics of the cache
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if the result cache is not enabled
+     */
+    public CacheStatistics resultCacheStatistics() throws ConverterException {
+        ResultCache resultCache = this.resultCache;
+        if (resultCache == null) {
+            throw new ConverterIllegalArgumentException("Result cache is not enabled.");
+        }
+        return resultCache.statistics();
+    }
+
+    /**
+     * Returns the counters of the per-field inline caches used when converting maps into instances of <code>targetClass</code>.
+     * Fields remember the class of the first value assigned to them and values of the same class skip converter dispatch and type
+     * checks. The counters are reset whenever a converter is registered.
+     *
+     * @param targetClass a class that maps were converted into
+     * @return specialization hits and deoptimizations summed over all fields of <code>targetClass</code>
+     */
+    public SpecializationStatistics specializationStatistics(Class<?> targetClass) {
+        ClassPlan<?> plan = classPlans.existingPlanFor(targetClass);
+        return plan == null ? new SpecializationStatistics(0, 0) : plan.specializationStatistics();
+    }
+
+    /**
+     * Returns the counters of interning of the values of field <code>fieldName</code> of <code>targetClass</code>, annotated with
+     * {@link Interned}. The counters and the table of interned values are reset whenever a converter is registered.
+     *
+     * @param targetClass a class that maps were converted into
+     * @param fieldName name of the field (or of the parameter of the constructor or factory method creating the class)
+     * @return values, unique values, duplicates and estimated memory saved by interning
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException if the field is not annotated with {@link Interned}
+     */
+    public InterningStatistics interningStatistics(Class<?> targetClass, String fieldName) throws ConverterException {
+        ClassPlan<?> plan = classPlans.existingPlanFor(targetClass);
+        if (plan == null) {
+            return new InterningStatistics(0, 0, 0, 0);
+        }
+        FieldPlan fieldPlan = plan.fieldPlan(fieldName);
+        InterningStatistics statistics = fieldPlan == null ? null : fieldPlan.interningStatistics();
+        if (statistics == null) {
+            throw new ConverterIllegalArgumentException("Field '%s' of '%s' is not annotated with @Interned.", fieldName, targetClass.getTypeName());
+        }
+        return statistics;
+    }
+
 }
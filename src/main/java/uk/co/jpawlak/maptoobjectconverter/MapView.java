@@ -0,0 +1,41 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.util.Map;
+
+/**
+ * Base class of the classes generated for interfaces viewed by {@link MapToObjectConverter#view(Map, Class)}. The generated
+ * getter of property <code>i</code> returns {@link #value(int)} cast to its return type, so the value is converted from
+ * the backing map when the getter is called for the first time, and then kept.
+ */
+abstract class MapView {
+
+    private final Map<String, Object> map;
+    private final ViewPlan<?> plan;
+    private final String[] keys;
+    private final Object[] values;
+
+    /**
+     * @param keys the keys of the map holding the values of the properties, in order of the properties
+     */
+    MapView(Map<String, Object> map, ViewPlan<?> plan, String[] keys) {
+        this.map = map;
+        this.plan = plan;
+        this.keys = keys;
+        this.values = new Object[keys.length];
+    }
+
+    final Object value(int index) {
+        Object value = values[index];
+        if (value == null) {
+            plan.load(map, keys, values, index);
+            value = values[index];
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return plan.viewInterface().getSimpleName() + map;
+    }
+
+}
@@ -0,0 +1,22 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+class MemoizingSingleValueConverter<T> implements SingleValueConverter<T> {
+
+    private final SingleValueConverter<T> converter;
+    private final BoundedCache<Object, T> cache;
+
+    MemoizingSingleValueConverter(SingleValueConverter<T> converter, int maximumSize) {
+        this.converter = converter;
+        this.cache = new BoundedCache<>(maximumSize);
+    }
+
+    @Override
+    public T convert(Object value) {
+        return cache.get(value, converter::convert);
+    }
+
+    CacheStatistics statistics() {
+        return cache.statistics();
+    }
+
+}
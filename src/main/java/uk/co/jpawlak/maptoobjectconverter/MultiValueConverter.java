@@ -0,0 +1,9 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.util.Map;
+
+public interface MultiValueConverter<T> {
+
+    T convert(Map<String, Object> values);
+
+}
@@ -0,0 +1,288 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Recursive conversion of maps nested in the converted map. Built once per field from its declared type:
+ * <ul>
+ *     <li>a convertible class (i.e. a class the map could be converted into and which is not a JDK class, an enum nor has a registered converter) accepts maps</li>
+ *     <li><code>List&lt;T&gt;</code>, <code>Set&lt;T&gt;</code> and <code>T[]</code> accept collections and arrays</li>
+ *     <li><code>Map&lt;String, T&gt;</code> accepts maps</li>
+ * </ul>
+ * where <code>T</code> is a convertible class (possibly parameterized) or, recursively, any of the above. Elements which already are instances of
+ * <code>T</code> are kept. Base classes with registered subclasses are convertible even if they are abstract. Plans of nested classes are looked up only when a nested map is converted, so types referring
+ * to themselves do not need any special treatment.
+ */
+abstract class NestedConversion {
+
+    /**
+     * Converts a map nested in the converted map into an instance of <code>targetClass</code>, with the same validation as
+     * {@link MapToObjectConverter#convert(Map, Class)}.
+     */
+    interface NestedConverter {
+        Object convert(Map<?, ?> map, Type targetType);
+    }
+
+    /**
+     * @return conversion for fields of <code>type</code> or null if such fields do not contain nested objects
+     */
+    static NestedConversion of(Type type, Converters converters, NestedConverter nestedConverter) {
+        if (type instanceof Class<?>) {
+            Class<?> aClass = (Class<?>) type;
+            if (aClass.isArray()) {
+                NestedConversion element = of(aClass.getComponentType(), converters, nestedConverter);
+                return element == null ? null : new ArrayConversion(aClass.getComponentType(), element);
+            }
+            return isConvertible(aClass, converters) ? new ObjectConversion(aClass, aClass, nestedConverter) : null;
+        }
+        if (type instanceof ParameterizedType && !converters.hasRegisteredConverterFor(type)) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type rawType = parameterizedType.getRawType();
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            if (rawType == List.class || rawType == Set.class) {
+                NestedConversion element = of(arguments[0], converters, nestedConverter);
+                return element == null ? null : new CollectionConversion(rawType == Set.class, element);
+            }
+            if (rawType == Map.class && arguments[0] == String.class) {
+                NestedConversion value = of(arguments[1], converters, nestedConverter);
+                return value == null ? null : new MapConversion(value);
+            }
+            if (rawType instanceof Class<?> && !Collection.class.isAssignableFrom((Class<?>) rawType) && !Map.class.isAssignableFrom((Class<?>) rawType)
+                    && isConvertible((Class<?>) rawType, converters) && converters.getDiscriminatorFor((Class<?>) rawType) == null) {
+                return new ObjectConversion((Class<?>) rawType, type, nestedConverter);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isConvertible(Class<?> aClass, Converters converters) {
+        if (converters.getDiscriminatorFor(aClass) != null) {
+            return true;
+        }
+        return !aClass.isPrimitive()
+                && !aClass.isEnum()
+                && !aClass.isInterface()
+                && !aClass.isAnnotation()
+                && !Modifier.isAbstract(aClass.getModifiers())
+                && !isJdkClass(aClass)
+                && !converters.hasRegisteredConverterFor(aClass)
+                && !converters.hasTypedConvertersFor(aClass)
+                && converters.getMultiValueConverterFor(aClass) == null;
+    }
+
+    private static boolean isJdkClass(Class<?> aClass) {
+        String packageName = aClass.getPackageName();
+        return packageName.startsWith("java.") || packageName.startsWith("javax.") || packageName.startsWith("jdk.") || packageName.startsWith("sun.");
+    }
+
+    /**
+     * @return the type of the nested object if this is a conversion of a single nested map, null otherwise
+     */
+    Type objectType() {
+        return null;
+    }
+
+    /**
+     * @return the type of the nested objects if this is a conversion of a <code>List</code> or <code>Set</code> of nested maps, null otherwise
+     */
+    Type elementType() {
+        return null;
+    }
+
+    /**
+     * @return true if values of <code>valueClass</code> have to be converted by {@link #convert(Object)}
+     */
+    abstract boolean accepts(Class<?> valueClass);
+
+    abstract Object convert(Object value);
+
+    /**
+     * @return element which is not accepted by {@link #accepts(Class)}, if it can be used as it is
+     */
+    abstract Object check(Object value);
+
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    private static Collection<?> asCollection(Object value) {
+        return value instanceof Collection<?> ? (Collection<?>) value : asList((Object[]) value);
+    }
+
+    private static boolean isCollection(Class<?> valueClass) {
+        return Collection.class.isAssignableFrom(valueClass) || Object[].class.isAssignableFrom(valueClass);
+    }
+
+    private static Object convertElement(NestedConversion element, Object value, String segment) {
+        try {
+            return value == null || !element.accepts(value.getClass()) ? element.check(value) : element.convert(value);
+        } catch (ConverterException e) {
+            throw e.withPathPrefix(segment).asNested();
+        }
+    }
+
+    private static class ObjectConversion extends NestedConversion {
+
+        private final Class<?> targetClass;
+        private final Type targetType;
+        private final NestedConverter nestedConverter;
+
+        private ObjectConversion(Class<?> targetClass, Type targetType, NestedConverter nestedConverter) {
+            this.targetClass = targetClass;
+            this.targetType = targetType;
+            this.nestedConverter = nestedConverter;
+        }
+
+        @Override
+        Type objectType() {
+            return targetType;
+        }
+
+        @Override
+        boolean accepts(Class<?> valueClass) {
+            return Map.class.isAssignableFrom(valueClass) && !targetClass.isAssignableFrom(valueClass);
+        }
+
+        @Override
+        Object convert(Object value) {
+            return nestedConverter.convert((Map<?, ?>) value, targetType);
+        }
+
+        @Override
+        Object check(Object value) {
+            if (value != null && !targetClass.isInstance(value)) {
+                throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to element of type '%s'.", value.getClass().getTypeName(), targetClass.getTypeName());
+            }
+            return value;
+        }
+
+    }
+
+    private static class CollectionConversion extends NestedConversion {
+
+        private final boolean set;
+        private final NestedConversion element;
+
+        private CollectionConversion(boolean set, NestedConversion element) {
+            this.set = set;
+            this.element = element;
+        }
+
+        @Override
+        Type elementType() {
+            return element.objectType();
+        }
+
+        @Override
+        boolean accepts(Class<?> valueClass) {
+            return isCollection(valueClass);
+        }
+
+        @Override
+        Object convert(Object value) {
+            Collection<?> values = asCollection(value);
+            Collection<Object> result = set ? new LinkedHashSet<>(capacityFor(values.size())) : new ArrayList<>(values.size());
+            int index = 0;
+            for (Object element : values) {
+                result.add(convertElement(this.element, element, "[" + index + "]"));
+                index++;
+            }
+            return result;
+        }
+
+        @Override
+        Object check(Object value) {
+            if (value != null) {
+                throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to element of type '%s'.", value.getClass().getTypeName(), set ? "java.util.Set" : "java.util.List");
+            }
+            return null;
+        }
+
+    }
+
+    private static class ArrayConversion extends NestedConversion {
+
+        private final Class<?> componentType;
+        private final NestedConversion element;
+
+        private ArrayConversion(Class<?> componentType, NestedConversion element) {
+            this.componentType = componentType;
+            this.element = element;
+        }
+
+        @Override
+        boolean accepts(Class<?> valueClass) {
+            return isCollection(valueClass) && !(valueClass.isArray() && componentType.isAssignableFrom(valueClass.getComponentType()));
+        }
+
+        @Override
+        Object convert(Object value) {
+            Collection<?> values = asCollection(value);
+            Object[] result = (Object[]) Array.newInstance(componentType, values.size());
+            int index = 0;
+            for (Object element : values) {
+                result[index] = convertElement(this.element, element, "[" + index + "]");
+                index++;
+            }
+            return result;
+        }
+
+        @Override
+        Object check(Object value) {
+            if (value != null && !(value.getClass().isArray() && componentType.isAssignableFrom(value.getClass().getComponentType()))) {
+                throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to element of type '%s'.", value.getClass().getTypeName(), componentType.getTypeName() + "[]");
+            }
+            return value;
+        }
+
+    }
+
+    private static class MapConversion extends NestedConversion {
+
+        private final NestedConversion value;
+
+        private MapConversion(NestedConversion value) {
+            this.value = value;
+        }
+
+        @Override
+        boolean accepts(Class<?> valueClass) {
+            return Map.class.isAssignableFrom(valueClass);
+        }
+
+        @Override
+        Object convert(Object value) {
+            Map<?, ?> values = (Map<?, ?>) value;
+            Map<Object, Object> result = new LinkedHashMap<>(capacityFor(values.size()));
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                result.put(entry.getKey(), convertElement(this.value, entry.getValue(), "[" + entry.getKey() + "]"));
+            }
+            return result;
+        }
+
+        @Override
+        Object check(Object value) {
+            if (value != null) {
+                throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to element of type '%s'.", value.getClass().getTypeName(), "java.util.Map");
+            }
+            return null;
+        }
+
+    }
+
+}
@@ -0,0 +1,153 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.util.Map.entry;
+
+/**
+ * Coercions between number types returned by JDBC drivers and JSON parsers. Every coercion throws
+ * {@link ArithmeticException} if the number does not fit into the target type or would lose precision.
+ */
+class NumericCoercions {
+
+    private static final double TWO_TO_63 = 0x1p63;
+
+    private static final Map<Class<?>, ToIntFunction<Object>> TO_INT = Map.ofEntries(
+            entry(Byte.class, value -> (Byte) value),
+            entry(Short.class, value -> (Short) value),
+            entry(Integer.class, value -> (Integer) value),
+            entry(Long.class, value -> Math.toIntExact((Long) value)),
+            entry(BigInteger.class, value -> ((BigInteger) value).intValueExact()),
+            entry(BigDecimal.class, value -> ((BigDecimal) value).intValueExact()),
+            entry(Float.class, value -> doubleToInt((Float) value)),
+            entry(Double.class, value -> doubleToInt((Double) value))
+    );
+
+    private static final Map<Class<?>, ToLongFunction<Object>> TO_LONG = Map.ofEntries(
+            entry(Byte.class, value -> (Byte) value),
+            entry(Short.class, value -> (Short) value),
+            entry(Integer.class, value -> (Integer) value),
+            entry(Long.class, value -> (Long) value),
+            entry(BigInteger.class, value -> ((BigInteger) value).longValueExact()),
+            entry(BigDecimal.class, value -> ((BigDecimal) value).longValueExact()),
+            entry(Float.class, value -> doubleToLong((Float) value)),
+            entry(Double.class, value -> doubleToLong((Double) value))
+    );
+
+    private static final Map<Class<?>, ToDoubleFunction<Object>> TO_DOUBLE = Map.ofEntries(
+            entry(Byte.class, value -> (Byte) value),
+            entry(Short.class, value -> (Short) value),
+            entry(Integer.class, value -> (Integer) value),
+            entry(Long.class, value -> longToDouble((Long) value)),
+            entry(BigInteger.class, value -> bigIntegerToDouble((BigInteger) value)),
+            entry(BigDecimal.class, value -> bigDecimalToDouble((BigDecimal) value)),
+            entry(Float.class, value -> (Float) value),
+            entry(Double.class, value -> (Double) value)
+    );
+
+    private static final Map<Class<?>, Function<Object, BigDecimal>> TO_BIG_DECIMAL = Map.ofEntries(
+            entry(Byte.class, value -> BigDecimal.valueOf((Byte) value)),
+            entry(Short.class, value -> BigDecimal.valueOf((Short) value)),
+            entry(Integer.class, value -> BigDecimal.valueOf((Integer) value)),
+            entry(Long.class, value -> BigDecimal.valueOf((Long) value)),
+            entry(BigInteger.class, value -> new BigDecimal((BigInteger) value)),
+            entry(BigDecimal.class, value -> (BigDecimal) value),
+            entry(Float.class, value -> doubleToBigDecimal(Float.toString((Float) value), (Float) value)),
+            entry(Double.class, value -> doubleToBigDecimal(Double.toString((Double) value), (Double) value))
+    );
+
+    private NumericCoercions() {}
+
+    static ToIntFunction<Object> toInt(Class<?> sourceClass) {
+        return TO_INT.get(sourceClass);
+    }
+
+    static ToLongFunction<Object> toLong(Class<?> sourceClass) {
+        return TO_LONG.get(sourceClass);
+    }
+
+    static ToDoubleFunction<Object> toDouble(Class<?> sourceClass) {
+        return TO_DOUBLE.get(sourceClass);
+    }
+
+    static Function<Object, BigDecimal> toBigDecimal(Class<?> sourceClass) {
+        return TO_BIG_DECIMAL.get(sourceClass);
+    }
+
+    /**
+     * @return coercion from <code>sourceClass</code> to boxed <code>targetClass</code> or null if there is none
+     */
+    static SingleValueConverter<?> boxing(Class<?> sourceClass, Class<?> targetClass) {
+        if (targetClass == Integer.class || targetClass == int.class) {
+            ToIntFunction<Object> toInt = toInt(sourceClass);
+            return toInt == null ? null : value -> toInt.applyAsInt(value);
+        }
+        if (targetClass == Long.class || targetClass == long.class) {
+            ToLongFunction<Object> toLong = toLong(sourceClass);
+            return toLong == null ? null : value -> toLong.applyAsLong(value);
+        }
+        if (targetClass == Double.class || targetClass == double.class) {
+            ToDoubleFunction<Object> toDouble = toDouble(sourceClass);
+            return toDouble == null ? null : value -> toDouble.applyAsDouble(value);
+        }
+        if (targetClass == BigDecimal.class) {
+            Function<Object, BigDecimal> toBigDecimal = toBigDecimal(sourceClass);
+            return toBigDecimal == null ? null : toBigDecimal::apply;
+        }
+        return null;
+    }
+
+    private static int doubleToInt(double value) {
+        int result = (int) value;
+        if (result != value) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    private static long doubleToLong(double value) {
+        long result = (long) value;
+        if (result != value || value == TWO_TO_63) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    private static double longToDouble(long value) {
+        double result = value;
+        if (result == TWO_TO_63 || (long) result != value) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    private static double bigIntegerToDouble(BigInteger value) {
+        double result = value.doubleValue();
+        if (Double.isInfinite(result) || !new BigDecimal(result).toBigInteger().equals(value)) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    private static double bigDecimalToDouble(BigDecimal value) {
+        double result = value.doubleValue();
+        if (Double.isInfinite(result) || BigDecimal.valueOf(result).compareTo(value) != 0) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    private static BigDecimal doubleToBigDecimal(String text, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new ArithmeticException();
+        }
+        return new BigDecimal(text);
+    }
+
+}
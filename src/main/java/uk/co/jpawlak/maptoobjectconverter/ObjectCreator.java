@@ -1,65 +1,156 @@
 package uk.co.jpawlak.maptoobjectconverter;
 
 import sun.reflect.ReflectionFactory;
-import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
 import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
-import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import static uk.co.jpawlak.maptoobjectconverter.Utils.fieldsOf;
+import static java.util.Collections.unmodifiableMap;
 
 class ObjectCreator {
 
     private static final ReflectionFactory REFLECTION_FACTORY = ReflectionFactory.getReflectionFactory();
 
-    private final Converters converters;
+    private final boolean keyCaseSensitive;
 
-    ObjectCreator(Converters converters) {
-        this.converters = converters;
+    ObjectCreator(boolean keyCaseSensitive) {
+        this.keyCaseSensitive = keyCaseSensitive;
     }
 
-    <T> T convertMapToObject(Map<String, Object> map, Class<T> targetClass) {
-        T result = createInstance(targetClass);
+    /**
+     * @param unknownKeys keys of the map without fields, collected into the {@link ClassPlan#unknownKeysProperty()} if there is one
+     */
+    <T> T convertMapToObject(Map<String, Object> map, ClassPlan<T> plan, List<String> unknownKeys) {
+        Creator<T> creator = plan.creator();
+        Prototype<T> prototype = plan.prototype();
+        if (prototype != null) {
+            Object result = prototype.newTarget();
+            setPresentFields(map, plan, result);
+            setUnknownKeys(map, plan, unknownKeys, result);
+            return creator != null ? creator.create((Object[]) result) : plan.targetClass().cast(result);
+        }
+
+        if (creator != null) {
+            Object[] arguments = new Object[creator.parameters().size()];
+            setFields(map, plan, arguments);
+            setUnknownKeys(map, plan, unknownKeys, arguments);
+            return creator.create(arguments);
+        }
+
+        T result = createInstance(plan.targetClass());
 
-        setFields(map, targetClass, result);
+        setFields(map, plan, result);
+        setUnknownKeys(map, plan, unknownKeys, result);
 
         return result;
     }
 
-    private static <T> T createInstance(Class<T> targetClass) {
+    /**
+     * Sets the fields of an existing instance of a class without a {@link Creator}, so that it is equal to the instance
+     * which would be created by {@link #convertMapToObject(Map, ClassPlan, List)}.
+     */
+    <T> void convertMapIntoObject(Map<String, Object> map, ClassPlan<T> plan, List<String> unknownKeys, T instance) {
+        Prototype<T> prototype = plan.prototype();
+        if (prototype != null) {
+            prototype.copyInto(instance);
+            setPresentFields(map, plan, instance);
+        } else {
+            setFields(map, plan, instance);
+        }
+        setUnknownKeys(map, plan, unknownKeys, instance);
+    }
+
+    /**
+     * Creates a copy of an existing instance with the fields present in the map set, see {@link Copier}.
+     *
+     * @param unknownKeys keys of the map without fields, which replace the collected unknown keys of the existing instance, if there are any
+     */
+    <T> T convertMapOntoCopy(Map<String, Object> map, ClassPlan<T> plan, List<String> unknownKeys, T existing) {
+        Object result = plan.copier().copy(existing);
+        setPresentFields(map, plan, result);
+        if (!unknownKeys.isEmpty()) {
+            setUnknownKeys(map, plan, unknownKeys, result);
+        }
+        Creator<T> creator = plan.creator();
+        return creator != null ? creator.create((Object[]) result) : plan.targetClass().cast(result);
+    }
+
+    static <T> T createInstance(Class<T> targetClass) {
+        return createInstance(targetClass, instantiatorOf(targetClass));
+    }
+
+    /**
+     * @param instantiator constructor returned by {@link #instantiatorOf(Class)}, which can be reused for many instances
+     */
+    static <T> T createInstance(Class<T> targetClass, Constructor<?> instantiator) {
+        try {
+            return targetClass.cast(instantiator.newInstance());
+        } catch (Exception e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * @return constructor creating instances of the class without calling any of its constructors
+     */
+    static Constructor<?> instantiatorOf(Class<?> targetClass) {
         try {
             Constructor<Object> objectNoArgConstructor = Object.class.getDeclaredConstructor();
-            Constructor<?> constructor = REFLECTION_FACTORY.newConstructorForSerialization(targetClass, objectNoArgConstructor);
-            return targetClass.cast(constructor.newInstance());
+            return REFLECTION_FACTORY.newConstructorForSerialization(targetClass, objectNoArgConstructor);
         } catch (Exception e) {
             throw new ConverterUnknownException(e);
         }
     }
 
-    private <T> void setFields(Map<String, Object> map, Class<T> targetClass, T result) {
-        fieldsOf(targetClass).forEach(field -> {
-            SingleValueConverter<?> converter = converters.getConverterFor(field.getGenericType(), field.getName());
-            Object value = map.get(field.getName());
-            Object convertedValue = converter.convert(value);
-            if (convertedValue == null) {
-                throw new RegisteredConverterException("Null values require fields to be Optional. Registered converter for type '%s' returned null.", field.getType().getTypeName());
+    /**
+     * Sets only the fields whose keys are present in the map, so the cost depends on the number of keys.
+     */
+    private void setPresentFields(Map<String, Object> map, ClassPlan<?> plan, Object result) {
+        List<FieldPlan> compositeFieldPlans = null;
+        for (String key : map.keySet()) {
+            FieldPlan fieldPlan = plan.fieldFor(key, keyCaseSensitive);
+            if (fieldPlan == null) {
+                continue;
+            }
+            if (!fieldPlan.isComposite()) {
+                fieldPlan.setField(result, map);
+            } else if (compositeFieldPlans == null) {
+                compositeFieldPlans = new ArrayList<>(List.of(fieldPlan));
+            } else if (!compositeFieldPlans.contains(fieldPlan)) {
+                compositeFieldPlans.add(fieldPlan);
+            }
+        }
+        if (compositeFieldPlans != null) {
+            for (FieldPlan fieldPlan : compositeFieldPlans) {
+                fieldPlan.setField(result, map);
             }
-            setField(result, field, convertedValue);
-        });
+        }
     }
 
-    private static void setField(Object object, Field field, Object value) {
+    private static void setUnknownKeys(Map<String, Object> map, ClassPlan<?> plan, List<String> unknownKeys, Object result) {
+        Property property = plan.unknownKeysProperty();
+        if (property == null) {
+            return;
+        }
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (String key : unknownKeys) {
+            entries.put(key, map.get(key));
+        }
         try {
-            field.setAccessible(true);
-            field.set(object, value);
-        } catch (IllegalArgumentException e) {
-            throw new ConverterTypeMismatchException("Cannot assign value of type '%s' to field '%s' of type '%s'.", value.getClass().getTypeName(), field.getName(), field.getType().getTypeName());
+            property.set(result, unmodifiableMap(entries));
         } catch (IllegalAccessException e) {
             throw new ConverterUnknownException(e);
         }
     }
 
+    private static void setFields(Map<String, Object> map, ClassPlan<?> plan, Object result) {
+        for (FieldPlan fieldPlan : plan.fieldPlans()) {
+            fieldPlan.setField(result, map);
+        }
+    }
+
 }
@@ -0,0 +1,243 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Store of instances of a class kept outside of the heap, in direct buffers, so that many instances cause no garbage collection
+ * pressure. Every row added to the store is converted and validated in the same way as by {@link MapToObjectConverter#convert(Map, Class)}
+ * and its fields are written into a fixed-width record: primitive fields inline, enum fields as their ordinals and <code>String</code>
+ * fields as references into a separate arena of strings. Only primitive, <code>String</code> and enum fields are supported.
+ *
+ * <br><br>
+ *
+ * Records are read through a {@link Flyweight}, a reusable cursor reading the values of the record it is moved to, or by creating
+ * instances with {@link #get(long)}. Rows can be added by one thread at a time, and the store must not be read while rows are added.
+ * Once all rows are added, the store can be read by many threads, each with its own flyweight.
+ *
+ * @param <T> the type of the instances
+ * @see MapToObjectConverter#newOffHeapStore(Class)
+ */
+public final class OffHeapStore<T> {
+
+    private static final int CHUNK_SIZE = 1 << 22;
+
+    private final FlatLayout<T> layout;
+    private final Function<Map<String, Object>, T> rowConverter;
+    private final int recordsPerChunk;
+    private final List<ByteBuffer> records = new ArrayList<>();
+    private final StringArena strings = new StringArena();
+    private long size;
+
+    OffHeapStore(FlatLayout<T> layout, Function<Map<String, Object>, T> rowConverter) {
+        this.layout = layout;
+        this.rowConverter = rowConverter;
+        this.recordsPerChunk = Math.max(1, CHUNK_SIZE / layout.recordSize());
+    }
+
+    /**
+     * Converts the map and writes the values of its fields into a new record.
+     *
+     * @param map map to convert
+     * @return index of the record
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException or any of its subclasses
+     */
+    public synchronized long add(Map<String, Object> map) {
+        T instance = rowConverter.apply(map);
+        long index = size;
+        int chunk = (int) (index / recordsPerChunk);
+        if (chunk == records.size()) {
+            records.add(ByteBuffer.allocateDirect(recordsPerChunk * layout.recordSize()));
+        }
+        layout.write(instance, records.get(chunk), (int) (index % recordsPerChunk) * layout.recordSize(), strings);
+        size = index + 1;
+        return index;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index index of the record
+     * @return new instance with the values of the record
+     */
+    public T get(long index) {
+        Objects.checkIndex(index, size);
+        return layout.read(records.get((int) (index / recordsPerChunk)), (int) (index % recordsPerChunk) * layout.recordSize(), strings);
+    }
+
+    /**
+     * @return new flyweight, which has to be {@link Flyweight#moveTo(long) moved} to a record before its values are read
+     */
+    public Flyweight flyweight() {
+        return new Flyweight();
+    }
+
+    /**
+     * @return number of bytes allocated outside of the heap for the records and the strings
+     */
+    public long offHeapBytes() {
+        return (long) records.size() * recordsPerChunk * layout.recordSize() + strings.allocatedBytes();
+    }
+
+    /**
+     * Reusable cursor reading the values of a single record, without creating an instance. Values are read by the names of the
+     * fields (or of the parameters of the constructor or factory method creating the class). Not thread-safe.
+     */
+    public final class Flyweight {
+
+        private ByteBuffer chunk;
+        private int position;
+        private long index = -1;
+
+        private Flyweight() {
+        }
+
+        /**
+         * @param index index of the record
+         * @return this
+         */
+        public Flyweight moveTo(long index) {
+            Objects.checkIndex(index, size);
+            this.chunk = records.get((int) (index / recordsPerChunk));
+            this.position = (int) (index % recordsPerChunk) * layout.recordSize();
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * @return index of the current record, or -1 if the flyweight was not moved to a record
+         */
+        public long index() {
+            return index;
+        }
+
+        public boolean getBoolean(String name) {
+            return chunk().get(position + offset(name, FlatLayout.Kind.BOOLEAN)) != 0;
+        }
+
+        public byte getByte(String name) {
+            return chunk().get(position + offset(name, FlatLayout.Kind.BYTE));
+        }
+
+        public short getShort(String name) {
+            return chunk().getShort(position + offset(name, FlatLayout.Kind.SHORT));
+        }
+
+        public char getChar(String name) {
+            return chunk().getChar(position + offset(name, FlatLayout.Kind.CHAR));
+        }
+
+        public int getInt(String name) {
+            return chunk().getInt(position + offset(name, FlatLayout.Kind.INT));
+        }
+
+        public long getLong(String name) {
+            return chunk().getLong(position + offset(name, FlatLayout.Kind.LONG));
+        }
+
+        public float getFloat(String name) {
+            return chunk().getFloat(position + offset(name, FlatLayout.Kind.FLOAT));
+        }
+
+        public double getDouble(String name) {
+            return chunk().getDouble(position + offset(name, FlatLayout.Kind.DOUBLE));
+        }
+
+        public String getString(String name) {
+            return strings.get(chunk().getLong(position + offset(name, FlatLayout.Kind.STRING)));
+        }
+
+        public <E extends Enum<E>> E getEnum(String name, Class<E> enumClass) {
+            FlatLayout.FlatField field = field(name, FlatLayout.Kind.ENUM);
+            if (field.type() != enumClass) {
+                throw typeMismatch(field, enumClass);
+            }
+            return enumClass.cast(field.enumConstant(chunk().getInt(position + field.offset())));
+        }
+
+        /**
+         * @return new instance with the values of the current record
+         */
+        public T materialize() {
+            return layout.read(chunk(), position, strings);
+        }
+
+        private ByteBuffer chunk() {
+            if (chunk == null) {
+                throw new ConverterIllegalArgumentException("Flyweight has to be moved to a record before it is read.");
+            }
+            return chunk;
+        }
+
+        private int offset(String name, FlatLayout.Kind kind) {
+            return field(name, kind).offset();
+        }
+
+        private FlatLayout.FlatField field(String name, FlatLayout.Kind kind) {
+            FlatLayout.FlatField field = layout.field(name);
+            if (field == null) {
+                throw new ConverterIllegalArgumentException("No field '%s' in '%s'.", name, layout.targetClass().getTypeName());
+            }
+            if (field.kind() != kind) {
+                throw typeMismatch(field, kind.name().toLowerCase());
+            }
+            return field;
+        }
+
+        private ConverterIllegalArgumentException typeMismatch(FlatLayout.FlatField field, Object requestedType) {
+            return new ConverterIllegalArgumentException("Field '%s' of '%s' is of type '%s', not '%s'.", field.name(), layout.targetClass().getTypeName(),
+                    field.type().getTypeName(), requestedType instanceof Class<?> ? ((Class<?>) requestedType).getTypeName() : requestedType);
+        }
+
+    }
+
+    /**
+     * Strings written one after another into direct buffers, as their length followed by their UTF-8 bytes. A reference is
+     * the index of the buffer in the upper and the position in the buffer in the lower 32 bits.
+     */
+    private static final class StringArena implements FlatLayout.StringWriter, FlatLayout.StringReader {
+
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private long allocatedBytes;
+
+        @Override
+        public long put(String value) {
+            byte[] bytes = value.getBytes(UTF_8);
+            int length = Integer.BYTES + bytes.length;
+            ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || chunk.remaining() < length) {
+                chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+                chunks.add(chunk);
+                allocatedBytes += chunk.capacity();
+            }
+            long reference = (long) (chunks.size() - 1) << 32 | chunk.position();
+            chunk.putInt(bytes.length).put(bytes);
+            return reference;
+        }
+
+        @Override
+        public String get(long reference) {
+            ByteBuffer chunk = chunks.get((int) (reference >>> 32));
+            int position = (int) reference;
+            byte[] bytes = new byte[chunk.getInt(position)];
+            chunk.get(position + Integer.BYTES, bytes);
+            return new String(bytes, UTF_8);
+        }
+
+        long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reduces an ordered stream of flat rows of a one-to-many join into parent objects. Consecutive rows with equal values
+ * of the parent key form a group: the keys starting with <code>&lt;childrenField&gt;.</code> of every row are converted
+ * into a child, and the remaining keys of the first row are converted, together with the list of children, into the parent.
+ *
+ * <br><br>
+ *
+ * Only the rows of the current group are referenced and each child is converted as soon as its row is read, so memory use
+ * is bounded by the size of the largest group rather than of the whole result. Rows whose child values are all null (e.g.
+ * produced by a left join for a parent without children) do not create children.
+ */
+class OneToManyReducer<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private final Spliterator<Map<String, Object>> rows;
+    private final Function<Map<String, Object>, T> parentConverter;
+    private final NestedConversion.NestedConverter childConverter;
+    private final Type childType;
+    private final String parentKey;
+    private final String childrenField;
+    private final String childPrefix;
+    private final boolean keyCaseSensitive;
+
+    /** the first row of the next group, read while looking for the end of the current one */
+    private Map<String, Object> pendingRow;
+    private boolean exhausted;
+
+    OneToManyReducer(Spliterator<Map<String, Object>> rows, ClassPlan<T> plan, Function<Map<String, Object>, T> parentConverter,
+                     NestedConversion.NestedConverter childConverter, String parentKey, String childrenField, boolean keyCaseSensitive) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.rows = rows;
+        this.parentConverter = parentConverter;
+        this.childConverter = childConverter;
+        this.childType = childTypeOf(plan, childrenField, keyCaseSensitive);
+        this.parentKey = parentKey;
+        this.childrenField = childrenField;
+        this.childPrefix = childrenField + ".";
+        this.keyCaseSensitive = keyCaseSensitive;
+    }
+
+    private static Type childTypeOf(ClassPlan<?> plan, String childrenField, boolean keyCaseSensitive) {
+        for (FieldPlan fieldPlan : plan.fieldPlans()) {
+            boolean nameMatches = keyCaseSensitive ? fieldPlan.name().equals(childrenField) : fieldPlan.name().equalsIgnoreCase(childrenField);
+            if (nameMatches && fieldPlan.nestedElementType() != null) {
+                return fieldPlan.nestedElementType();
+            }
+        }
+        throw new ConverterIllegalArgumentException("Field '%s' of '%s' has to be a List or Set of nested objects.", childrenField, plan.targetClass().getTypeName());
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+            Map<String, Object> first = nextRow();
+            if (first == null) {
+                return false;
+            }
+            Object parentKeyValue = parentKeyValueOf(first);
+            Map<String, Object> parentMap = new HashMap<>();
+            List<Object> children = new ArrayList<>();
+            addChild(children, split(first, parentMap));
+            Map<String, Object> row;
+            while ((row = nextRow()) != null) {
+                if (!Objects.equals(parentKeyValueOf(row), parentKeyValue)) {
+                    pendingRow = row;
+                    break;
+                }
+                addChild(children, split(row, null));
+            }
+            parentMap.put(childrenField, children);
+
+            action.accept(parentConverter.apply(parentMap));
+            return true;
+        } catch (Exception e) {
+            throw e instanceof ConverterException ? (ConverterException) e : new ConverterUnknownException(e);
+        }
+    }
+
+    private Map<String, Object> nextRow() {
+        if (pendingRow != null) {
+            Map<String, Object> row = pendingRow;
+            pendingRow = null;
+            return row;
+        }
+        if (exhausted || !rows.tryAdvance(row -> pendingRow = row)) {
+            exhausted = true;
+            return null;
+        }
+        Map<String, Object> row = pendingRow;
+        pendingRow = null;
+        if (row == null) {
+            throw new ConverterIllegalArgumentException("Stream of rows cannot contain null.");
+        }
+        if (keyCaseSensitive) {
+            return row;
+        }
+        Map<String, Object> caseInsensitiveRow = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        caseInsensitiveRow.putAll(row);
+        return caseInsensitiveRow;
+    }
+
+    private Object parentKeyValueOf(Map<String, Object> row) {
+        if (!row.containsKey(parentKey)) {
+            throw new ConverterIllegalArgumentException("Row does not contain parent key '%s'.", parentKey);
+        }
+        return row.get(parentKey);
+    }
+
+    /**
+     * Puts the values of the parent into <code>parentMap</code>, if it is not null.
+     *
+     * @return the map of the child, or null if the row does not contain any non null values of the child
+     */
+    private Map<String, Object> split(Map<String, Object> row, Map<String, Object> parentMap) {
+        Map<String, Object> childMap = null;
+        boolean hasChild = false;
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            String key = entry.getKey();
+            if (key.regionMatches(!keyCaseSensitive, 0, childPrefix, 0, childPrefix.length())) {
+                if (childMap == null) {
+                    childMap = new HashMap<>();
+                }
+                childMap.put(key.substring(childPrefix.length()), entry.getValue());
+                hasChild |= entry.getValue() != null;
+            } else if (parentMap != null) {
+                parentMap.put(key, entry.getValue());
+            }
+        }
+        return hasChild ? childMap : null;
+    }
+
+    private void addChild(List<Object> children, Map<String, Object> childMap) {
+        if (childMap == null) {
+            return;
+        }
+        try {
+            children.add(childConverter.convert(childMap, childType));
+        } catch (ConverterException e) {
+            throw e.withPathPrefix(childrenField + "[" + children.size() + "]").asNested();
+        }
+    }
+
+}
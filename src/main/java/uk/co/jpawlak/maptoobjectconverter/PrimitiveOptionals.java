@@ -0,0 +1,92 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Support for <code>OptionalInt</code>, <code>OptionalLong</code> and <code>OptionalDouble</code> fields. Values are
+ * accepted if they could be assigned to a field of the primitive type (i.e. <code>Byte</code>, <code>Short</code> and
+ * <code>Integer</code> for <code>OptionalInt</code>, plus <code>Long</code> for <code>OptionalLong</code>, plus
+ * <code>Float</code> and <code>Double</code> for <code>OptionalDouble</code>), nulls become empty optionals.
+ */
+class PrimitiveOptionals {
+
+    private static final Map<Class<?>, Class<?>> ELEMENT_TYPES = Map.of(
+            OptionalInt.class, int.class,
+            OptionalLong.class, long.class,
+            OptionalDouble.class, double.class
+    );
+
+    private static final Map<Class<?>, Object> EMPTY = Map.of(
+            OptionalInt.class, OptionalInt.empty(),
+            OptionalLong.class, OptionalLong.empty(),
+            OptionalDouble.class, OptionalDouble.empty()
+    );
+
+    private static final Map<Class<?>, Set<Class<?>>> ACCEPTED_VALUE_CLASSES = Map.of(
+            OptionalInt.class, Set.of(Byte.class, Short.class, Integer.class),
+            OptionalLong.class, Set.of(Byte.class, Short.class, Integer.class, Long.class),
+            OptionalDouble.class, Set.of(Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class)
+    );
+
+    private PrimitiveOptionals() {}
+
+    static boolean isPrimitiveOptional(Type type) {
+        return ELEMENT_TYPES.containsKey(type);
+    }
+
+    /**
+     * @return <code>int.class</code>, <code>long.class</code> or <code>double.class</code>
+     */
+    static Class<?> elementTypeOf(Type optionalType) {
+        return ELEMENT_TYPES.get(optionalType);
+    }
+
+    static Object empty(Type optionalType) {
+        return EMPTY.get(optionalType);
+    }
+
+    /**
+     * @return function wrapping values of <code>valueClass</code> into <code>optionalType</code>, or null if such values
+     * are not accepted
+     */
+    static Function<Object, Object> factory(Type optionalType, Class<?> valueClass) {
+        if (!ACCEPTED_VALUE_CLASSES.get(optionalType).contains(valueClass)) {
+            return null;
+        }
+        if (optionalType == OptionalInt.class) {
+            return value -> OptionalInt.of(((Number) value).intValue());
+        }
+        if (optionalType == OptionalLong.class) {
+            return value -> OptionalLong.of(((Number) value).longValue());
+        }
+        return value -> OptionalDouble.of(((Number) value).doubleValue());
+    }
+
+    /**
+     * @return function coercing values of <code>valueClass</code> and wrapping them into <code>optionalType</code>, or null
+     * if there is no such coercion
+     * @see NumericCoercions
+     */
+    static Function<Object, Object> coercingFactory(Type optionalType, Class<?> valueClass) {
+        if (optionalType == OptionalInt.class) {
+            ToIntFunction<Object> toInt = NumericCoercions.toInt(valueClass);
+            return toInt == null ? null : value -> OptionalInt.of(toInt.applyAsInt(value));
+        }
+        if (optionalType == OptionalLong.class) {
+            ToLongFunction<Object> toLong = NumericCoercions.toLong(valueClass);
+            return toLong == null ? null : value -> OptionalLong.of(toLong.applyAsLong(value));
+        }
+        ToDoubleFunction<Object> toDouble = NumericCoercions.toDouble(valueClass);
+        return toDouble == null ? null : value -> OptionalDouble.of(toDouble.applyAsDouble(value));
+    }
+
+}
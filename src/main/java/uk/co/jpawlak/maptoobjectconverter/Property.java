@@ -0,0 +1,212 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Destination of a single value: either a field of the target object or an argument of the constructor (or factory method)
+ * creating it, in which case the target is the array of arguments.
+ */
+abstract class Property {
+
+    static Property ofField(Field field) {
+        return new FieldProperty(field);
+    }
+
+    static Property ofArgument(int index, String name, Type genericType, Class<?> type) {
+        return new ArgumentProperty(index, name, genericType, type, null);
+    }
+
+    /**
+     * @param annotatedElement the parameter whose annotations are the annotations of the property
+     */
+    static Property ofArgument(int index, String name, Type genericType, Class<?> type, AnnotatedElement annotatedElement) {
+        return new ArgumentProperty(index, name, genericType, type, annotatedElement);
+    }
+
+    /**
+     * @return the same property with its declared type replaced, e.g. with type variables resolved
+     */
+    static Property withGenericType(Property property, Type genericType) {
+        return new ResolvedProperty(property, genericType);
+    }
+
+    abstract String name();
+
+    abstract Type genericType();
+
+    abstract Class<?> type();
+
+    /**
+     * @return annotation of the field or of the parameter of the constructor, or null if it is not present
+     */
+    abstract <A extends Annotation> A annotation(Class<A> annotationClass);
+
+    boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+        return annotation(annotationClass) != null;
+    }
+
+    /**
+     * Sets the value with the same checks as {@link Field#set(Object, Object)}.
+     *
+     * @throws IllegalArgumentException if the value cannot be assigned
+     */
+    abstract void set(Object target, Object value) throws IllegalAccessException;
+
+    /**
+     * @return setter accepting the target and the value of type {@link #type()}
+     */
+    abstract MethodHandle setter() throws IllegalAccessException;
+
+    private static class FieldProperty extends Property {
+
+        private final Field field;
+
+        private FieldProperty(Field field) {
+            this.field = field;
+            field.trySetAccessible();
+        }
+
+        @Override
+        String name() {
+            return field.getName();
+        }
+
+        @Override
+        Type genericType() {
+            return field.getGenericType();
+        }
+
+        @Override
+        Class<?> type() {
+            return field.getType();
+        }
+
+        @Override
+        <A extends Annotation> A annotation(Class<A> annotationClass) {
+            return field.getAnnotation(annotationClass);
+        }
+
+        @Override
+        void set(Object target, Object value) throws IllegalAccessException {
+            field.set(target, value);
+        }
+
+        @Override
+        MethodHandle setter() throws IllegalAccessException {
+            return MethodHandles.lookup().unreflectSetter(field);
+        }
+
+    }
+
+    private static class ArgumentProperty extends Property {
+
+        private static final MethodHandle ARRAY_ELEMENT_SETTER = MethodHandles.arrayElementSetter(Object[].class);
+
+        private final String name;
+        private final Type genericType;
+        private final Class<?> type;
+        private final AnnotatedElement annotatedElement;
+        private final MethodHandle setter;
+        private final MethodHandle genericSetter;
+
+        private ArgumentProperty(int index, String name, Type genericType, Class<?> type, AnnotatedElement annotatedElement) {
+            this.name = name;
+            this.genericType = genericType;
+            this.type = type;
+            this.annotatedElement = annotatedElement;
+            this.setter = MethodHandles.insertArguments(ARRAY_ELEMENT_SETTER, 1, index).asType(methodType(void.class, Object[].class, type));
+            this.genericSetter = setter.asType(methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        String name() {
+            return name;
+        }
+
+        @Override
+        Type genericType() {
+            return genericType;
+        }
+
+        @Override
+        Class<?> type() {
+            return type;
+        }
+
+        @Override
+        <A extends Annotation> A annotation(Class<A> annotationClass) {
+            return annotatedElement == null ? null : annotatedElement.getAnnotation(annotationClass);
+        }
+
+        @Override
+        void set(Object target, Object value) {
+            try {
+                genericSetter.invokeExact(target, value);
+            } catch (ClassCastException | NullPointerException e) {
+                throw new IllegalArgumentException(e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ConverterUnknownException(e);
+            }
+        }
+
+        @Override
+        MethodHandle setter() {
+            return setter;
+        }
+
+    }
+
+    private static class ResolvedProperty extends Property {
+
+        private final Property property;
+        private final Type genericType;
+
+        private ResolvedProperty(Property property, Type genericType) {
+            this.property = property;
+            this.genericType = genericType;
+        }
+
+        @Override
+        String name() {
+            return property.name();
+        }
+
+        @Override
+        Type genericType() {
+            return genericType;
+        }
+
+        @Override
+        Class<?> type() {
+            return property.type();
+        }
+
+        @Override
+        <A extends Annotation> A annotation(Class<A> annotationClass) {
+            return property.annotation(annotationClass);
+        }
+
+        @Override
+        void set(Object target, Object value) throws IllegalAccessException {
+            property.set(target, value);
+        }
+
+        @Override
+        MethodHandle setter() throws IllegalAccessException {
+            return property.setter();
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+import static java.util.Arrays.stream;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default instance of a class (see {@link Defaults}), copied to create the instances of the class. Fields whose keys are
+ * present in the map are then overwritten, so the cost of converting a map depends on the number of its keys rather than
+ * on the number of fields of the class.
+ *
+ * <br><br>
+ *
+ * For classes with a {@link Creator}, the prototype is the array of arguments of the creator.
+ */
+class Prototype<T> {
+
+    private final Copier<T> copier;
+    private final Object target;
+
+    private Prototype(Copier<T> copier, Object target) {
+        this.copier = copier;
+        this.target = target;
+    }
+
+    /**
+     * @param registeredDefaults defaults registered for the class, or null
+     * @return prototype of the class or null if it has no defaults
+     */
+    static <T> Prototype<T> of(Class<T> targetClass, Creator<T> creator, Object registeredDefaults) {
+        Object defaults = registeredDefaults != null ? registeredDefaults : annotatedDefaultsOf(targetClass);
+        if (defaults == null) {
+            return null;
+        }
+        Copier<T> copier = new Copier<>(targetClass, creator);
+        T instance = targetClass.cast(defaults);
+        return new Prototype<>(copier, creator == null ? instance : copier.copy(instance));
+    }
+
+    private static Object annotatedDefaultsOf(Class<?> targetClass) {
+        List<Field> fields = stream(targetClass.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(Defaults.class))
+                .collect(toList());
+        if (fields.size() > 1) {
+            throw new ConverterIllegalArgumentException("Class '%s' has more than one field annotated with @Defaults.", targetClass.getTypeName());
+        }
+        if (fields.isEmpty()) {
+            return null;
+        }
+        Field field = fields.get(0);
+        if (!Modifier.isStatic(field.getModifiers()) || field.getType() != targetClass) {
+            throw new ConverterIllegalArgumentException("Field '%s' annotated with @Defaults has to be static and of type '%s'.", field.getName(), targetClass.getTypeName());
+        }
+        try {
+            field.trySetAccessible();
+            Object defaults = field.get(null);
+            if (defaults == null) {
+                throw new ConverterIllegalArgumentException("Field '%s' annotated with @Defaults cannot be null.", field.getName());
+            }
+            if (defaults.getClass() != targetClass) {
+                throw new ConverterIllegalArgumentException("Defaults of '%s' cannot be an instance of '%s'.", targetClass.getTypeName(), defaults.getClass().getTypeName());
+            }
+            return defaults;
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    Copier<T> copier() {
+        return copier;
+    }
+
+    /**
+     * Copies the fields of the default instance into an existing instance of a class without a {@link Creator}.
+     */
+    @SuppressWarnings("unchecked")
+    void copyInto(T instance) {
+        copier.copyInto((T) target, instance);
+    }
+
+    /**
+     * @return a copy of the default instance or, if the class has a {@link Creator}, of the default arguments of the creator
+     */
+    @SuppressWarnings("unchecked")
+    Object newTarget() {
+        return target instanceof Object[] ? ((Object[]) target).clone() : copier.copy((T) target);
+    }
+
+}
@@ -0,0 +1,150 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.unmodifiableList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static uk.co.jpawlak.maptoobjectconverter.Utils.fieldsOf;
+
+/**
+ * Flat layout of the instances of a class, derived from its plan: a list of slots, one per field or, if the class has a
+ * {@link Creator}, one per parameter of the creator (read from the field with the same name). Instances are taken apart
+ * into the values of their slots and created back from them, which lets the values be stored outside of the instances,
+ * e.g. in columns or in binary records. Values of primitive slots are read and written without boxing.
+ */
+class RecordLayout<T> {
+
+    /**
+     * A single value of the instances.
+     */
+    static final class Slot {
+
+        private final int index;
+        private final String name;
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle writer;
+
+        private Slot(int index, String name, Class<?> type, MethodHandle getter, MethodHandle writer) {
+            this.index = index;
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.writer = writer;
+        }
+
+        int index() {
+            return index;
+        }
+
+        String name() {
+            return name;
+        }
+
+        /**
+         * @return the type of the field, which may be primitive
+         */
+        Class<?> type() {
+            return type;
+        }
+
+        /**
+         * @return method handle of type <code>(Object)type</code> reading the value from an instance
+         */
+        MethodHandle getter() {
+            return getter;
+        }
+
+        /**
+         * @return method handle of type <code>(Object, type)void</code> writing the value into a {@link #newTarget() target}
+         */
+        MethodHandle writer() {
+            return writer;
+        }
+
+    }
+
+    private final Class<T> targetClass;
+    private final Creator<T> creator;
+    private final Constructor<?> instantiator;
+    private final List<Slot> slots;
+
+    private RecordLayout(Class<T> targetClass, Creator<T> creator, List<Slot> slots) {
+        this.targetClass = targetClass;
+        this.creator = creator;
+        this.instantiator = creator == null ? ObjectCreator.instantiatorOf(targetClass) : null;
+        this.slots = unmodifiableList(slots);
+    }
+
+    static <T> RecordLayout<T> of(ClassPlan<T> plan) {
+        Class<T> targetClass = plan.targetClass();
+        if (targetClass.isInterface() || Modifier.isAbstract(targetClass.getModifiers())) {
+            throw new ConverterIllegalArgumentException("Cannot create layout of abstract class '%s'.", targetClass.getTypeName());
+        }
+        Creator<T> creator = plan.creator();
+        List<Slot> slots = new ArrayList<>();
+        try {
+            if (creator == null) {
+                for (Field field : (Iterable<Field>) fieldsOf(targetClass)::iterator) {
+                    field.trySetAccessible();
+                    Class<?> type = field.getType();
+                    slots.add(new Slot(slots.size(), field.getName(), type,
+                            MethodHandles.lookup().unreflectGetter(field).asType(methodType(type, Object.class)),
+                            MethodHandles.lookup().unreflectSetter(field).asType(methodType(void.class, Object.class, type))));
+                }
+            } else {
+                Map<String, Field> fields = fieldsOf(targetClass).collect(toMap(Field::getName, identity(), (first, second) -> first));
+                for (Property parameter : creator.parameters()) {
+                    Field field = fields.get(parameter.name());
+                    if (field == null) {
+                        throw new ConverterIllegalArgumentException("Cannot create layout of '%s'. Parameter '%s' of its constructor or factory method has no field with the same name.",
+                                targetClass.getTypeName(), parameter.name());
+                    }
+                    field.trySetAccessible();
+                    Class<?> type = parameter.type();
+                    slots.add(new Slot(slots.size(), parameter.name(), type,
+                            MethodHandles.lookup().unreflectGetter(field).asType(methodType(type, Object.class)),
+                            parameter.setter().asType(methodType(void.class, Object.class, type))));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new ConverterUnknownException(e);
+        }
+        return new RecordLayout<>(targetClass, creator, slots);
+    }
+
+    Class<T> targetClass() {
+        return targetClass;
+    }
+
+    List<Slot> slots() {
+        return slots;
+    }
+
+    /**
+     * @return an instance created without calling a constructor or, if the class has a {@link Creator}, the array of its arguments
+     */
+    Object newTarget() {
+        return creator == null ? ObjectCreator.createInstance(targetClass, instantiator) : new Object[slots.size()];
+    }
+
+    /**
+     * @param target a {@link #newTarget() target} whose slots have all been written
+     */
+    T finish(Object target) {
+        return creator == null ? targetClass.cast(target) : creator.create((Object[]) target);
+    }
+
+}
@@ -0,0 +1,88 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Cache of the results of conversions into classes annotated with {@link Immutable}, keyed by the target class and the
+ * content of the map. Lookups wrap the converted map without copying it, so hits do not allocate anything but the key.
+ * On a miss, the stored key holds a copy of the map, as it could be modified after it was converted, unless it was
+ * created by <code>Map.of</code> or <code>Map.copyOf</code>, which cannot change.
+ */
+class ResultCache {
+
+    private static final Set<Class<?>> IMMUTABLE_MAP_CLASSES = Stream.of(Map.of(), Map.of("", ""), Map.of("", "", " ", ""))
+            .map(Object::getClass)
+            .collect(toSet());
+
+    private final BoundedCache<Key, Object> cache;
+
+    ResultCache(int maximumSize, Duration timeToLive) {
+        this.cache = new BoundedCache<>(maximumSize, timeToLive.toNanos(), System::nanoTime);
+    }
+
+    static boolean caches(Class<?> targetClass) {
+        return targetClass.isAnnotationPresent(Immutable.class);
+    }
+
+    Object get(Class<?> targetClass, Map<String, Object> map, Function<Map<String, Object>, Object> converter) {
+        return cache.get(new Key(targetClass, map), Key::stored, key -> converter.apply(key.map));
+    }
+
+    CacheStatistics statistics() {
+        return cache.statistics();
+    }
+
+    /**
+     * Discards all results, e.g. because the converters used to create them have changed.
+     */
+    void clear() {
+        cache.clear();
+    }
+
+    private static final class Key {
+
+        private final Class<?> targetClass;
+        private final Map<String, Object> map;
+        private final int hashCode;
+
+        private Key(Class<?> targetClass, Map<String, Object> map) {
+            this(targetClass, map, 31 * targetClass.hashCode() + map.hashCode());
+        }
+
+        private Key(Class<?> targetClass, Map<String, Object> map, int hashCode) {
+            this.targetClass = targetClass;
+            this.map = map;
+            this.hashCode = hashCode;
+        }
+
+        /**
+         * @return equal key which is not affected by modifications of the converted map
+         */
+        private Key stored() {
+            return IMMUTABLE_MAP_CLASSES.contains(map.getClass()) ? this : new Key(targetClass, new HashMap<>(map), hashCode);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return hashCode == other.hashCode && targetClass == other.targetClass && map.equals(other.map);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,239 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIOException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Binary snapshots of instances, in the {@link FlatLayout} of their class. A snapshot consists of:
+ * <ul>
+ *     <li>header: magic number, format version, {@link FlatLayout#layoutHash() layout hash}, record size, records per segment,
+ *     number of records and the offset of the strings</li>
+ *     <li>records, one after another, in segments of a fixed number of records</li>
+ *     <li>strings, as their length followed by their UTF-8 bytes, each distinct string written once</li>
+ * </ul>
+ * Snapshots are read from a memory-mapped file, segment by segment in parallel, without converting maps.
+ */
+class Snapshots {
+
+    private static final int MAGIC = 0x4D324F53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int SEGMENT_SIZE = 1 << 24;
+
+    private Snapshots() {}
+
+    /**
+     * Writes the snapshot into a temporary file in the same directory, which then atomically replaces <code>file</code>, so
+     * <code>file</code> is never left partially written, even if writing fails.
+     *
+     * @return number of written instances
+     */
+    static <T> long write(Path file, FlatLayout<T> layout, Iterable<? extends T> instances) {
+        Path temporaryFile = null;
+        try {
+            // created next to the file, so that it can be moved over it atomically, and with the default permissions of new files
+            temporaryFile = file.toAbsolutePath().resolveSibling(file.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            long count = writeRecords(temporaryFile, layout, instances);
+            Files.move(temporaryFile, file, ATOMIC_MOVE);
+            temporaryFile = null;
+            return count;
+        } catch (IOException e) {
+            throw new ConverterIOException(e, "Cannot write snapshot '%s'.", file);
+        } finally {
+            deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static <T> long writeRecords(Path file, FlatLayout<T> layout, Iterable<? extends T> instances) throws IOException {
+        int recordSize = layout.recordSize();
+        int recordsPerSegment = Math.max(1, SEGMENT_SIZE / recordSize);
+        WrittenStrings strings = new WrittenStrings();
+        try (FileChannel channel = FileChannel.open(file, CREATE_NEW, WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(recordSize, 1 << 16) / recordSize * recordSize);
+            long count = 0;
+            channel.position(HEADER_SIZE);
+            for (T instance : instances) {
+                if (instance == null) {
+                    throw new ConverterIllegalArgumentException("Snapshot cannot contain null instances.");
+                }
+                if (buffer.remaining() < recordSize) {
+                    writeFully(channel, buffer.flip());
+                    buffer.clear();
+                }
+                try {
+                    layout.write(instance, buffer, buffer.position(), strings);
+                } catch (ConverterException e) {
+                    throw e.withPathPrefix("[" + count + "]").asNested();
+                }
+                buffer.position(buffer.position() + recordSize);
+                count++;
+            }
+            writeFully(channel, buffer.flip());
+            long stringsOffset = HEADER_SIZE + count * recordSize;
+            writeFully(channel, strings.buffer());
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(layout.layoutHash())
+                    .putInt(recordSize)
+                    .putInt(recordsPerSegment)
+                    .putLong(count)
+                    .putLong(stringsOffset);
+            channel.position(0);
+            writeFully(channel, header.flip());
+            channel.force(true);
+            return count;
+        }
+    }
+
+    private static void deleteIfExists(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // the exception which caused the write to fail is more important
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> List<T> read(Path file, FlatLayout<T> layout) {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new ConverterIOException("File '%s' is not a snapshot.", file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new ConverterIOException("File '%s' is not a snapshot.", file);
+            }
+            int formatVersion = header.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new ConverterIOException("Snapshot '%s' has unsupported format version %d.", file, formatVersion);
+            }
+            if (header.getLong() != layout.layoutHash() || header.getInt() != layout.recordSize()) {
+                throw new ConverterIOException("Snapshot '%s' was written with a different layout of '%s'.", file, layout.targetClass().getTypeName());
+            }
+            int recordsPerSegment = header.getInt();
+            long count = header.getLong();
+            long stringsOffset = header.getLong();
+            if (recordsPerSegment <= 0 || count < 0 || count > (channel.size() - HEADER_SIZE) / layout.recordSize()
+                    || stringsOffset != HEADER_SIZE + count * layout.recordSize()) {
+                throw new ConverterIOException("File '%s' is not a snapshot.", file);
+            }
+            if (count > Integer.MAX_VALUE - 8) {
+                throw new ConverterIOException("Snapshot '%s' has too many records to be read into a list.", file);
+            }
+
+            MappedByteBuffer stringsBuffer = channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset, channel.size() - stringsOffset);
+            Object[] result = new Object[(int) count];
+            int segments = (int) ((count + recordsPerSegment - 1) / recordsPerSegment);
+            IntStream.range(0, segments).parallel().forEach(segment -> {
+                int first = segment * recordsPerSegment;
+                int records = (int) Math.min(recordsPerSegment, count - first);
+                MappedByteBuffer buffer = map(channel, file, HEADER_SIZE + (long) first * layout.recordSize(), (long) records * layout.recordSize());
+                ReadStrings strings = new ReadStrings(stringsBuffer);
+                for (int i = 0; i < records; i++) {
+                    result[first + i] = layout.read(buffer, i * layout.recordSize(), strings);
+                }
+            });
+            return unmodifiableList((List<T>) Arrays.asList(result));
+        } catch (IOException e) {
+            throw new ConverterIOException(e, "Cannot read snapshot '%s'.", file);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Path file, long position, long size) {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            throw new ConverterIOException(e, "Cannot read snapshot '%s'.", file);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Distinct strings collected on the heap while the records are written, referenced by their offsets.
+     */
+    private static final class WrittenStrings implements FlatLayout.StringWriter {
+
+        private final Map<String, Long> references = new HashMap<>();
+        private ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+
+        @Override
+        public long put(String value) {
+            Long reference = references.get(value);
+            if (reference == null) {
+                byte[] bytes = value.getBytes(UTF_8);
+                if (buffer.remaining() < Integer.BYTES + bytes.length) {
+                    long capacity = Math.max(2L * buffer.capacity(), (long) buffer.position() + Integer.BYTES + bytes.length);
+                    if (capacity > Integer.MAX_VALUE - 8) {
+                        throw new ConverterIOException("Strings of the snapshot exceed 2 GB.");
+                    }
+                    buffer = ByteBuffer.allocate((int) capacity).put(buffer.flip());
+                }
+                reference = (long) buffer.position();
+                buffer.putInt(bytes.length).put(bytes);
+                references.put(value, reference);
+            }
+            return reference;
+        }
+
+        ByteBuffer buffer() {
+            return buffer.flip();
+        }
+
+    }
+
+    /**
+     * Strings of a mapped snapshot, read by a single segment. A string referenced by many records of the segment is read once.
+     */
+    private static final class ReadStrings implements FlatLayout.StringReader {
+
+        private final ByteBuffer buffer;
+        private final Map<Long, String> strings = new HashMap<>();
+
+        private ReadStrings(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public String get(long reference) {
+            return strings.computeIfAbsent(reference, key -> {
+                int position = (int) reference;
+                byte[] bytes = new byte[buffer.getInt(position)];
+                buffer.get(position + Integer.BYTES, bytes);
+                return new String(bytes, UTF_8);
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+/**
+ * Counters of the per-field inline caches of a target class.
+ *
+ * <br><br>
+ *
+ * Each field records the class of the first value assigned to it. Later values of exactly the same class are
+ * <i>specialization hits</i> - they are assigned without converter dispatch and reflective type checks. A value of any
+ * other class causes a <i>deoptimization</i>, after which the field always uses the generic path.
+ *
+ * @see MapToObjectConverter#specializationStatistics(Class)
+ */
+public final class SpecializationStatistics {
+
+    private final long hits;
+    private final long deoptimizations;
+
+    SpecializationStatistics(long hits, long deoptimizations) {
+        this.hits = hits;
+        this.deoptimizations = deoptimizations;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getDeoptimizations() {
+        return deoptimizations;
+    }
+
+    @Override
+    public String toString() {
+        return "SpecializationStatistics{hits=" + hits + ", deoptimizations=" + deoptimizations + "}";
+    }
+
+}
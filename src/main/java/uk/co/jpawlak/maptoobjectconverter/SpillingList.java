@@ -0,0 +1,327 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIOException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Unmodifiable list of instances of a class, of which only the first ones are kept on the heap, up to a budget of their
+ * estimated size. The remaining instances are written into temporary files, in the same records as by {@link OffHeapStore},
+ * and are created from the memory-mapped files whenever they are {@link #get(int) read}, so every call creates a new instance.
+ *
+ * <br><br>
+ *
+ * The list has to be {@link #close() closed} to delete the temporary files, after which its elements cannot be read. Elements
+ * can be read by many threads, also while the list is being closed, in which case they are either read or an exception is thrown.
+ *
+ * @param <T> the type of the elements
+ * @see MapToObjectConverter#convertAllSpilling(Iterable, Class, long)
+ */
+public final class SpillingList<T> extends AbstractList<T> implements RandomAccess, AutoCloseable {
+
+    private static final int CHUNK_SIZE = 1 << 30;
+
+    private final FlatLayout<T> layout;
+    private final List<T> resident;
+    private final int recordsPerChunk;
+    private final Spill spill;
+    private final int size;
+    private volatile MappedByteBuffer[] records;
+    private volatile MappedByteBuffer[] strings;
+    private volatile boolean closed;
+
+    private SpillingList(FlatLayout<T> layout, List<T> resident, Spill spill, int spilled) {
+        this.layout = layout;
+        this.resident = resident;
+        this.recordsPerChunk = CHUNK_SIZE / layout.recordSize();
+        this.spill = spill;
+        this.size = resident.size() + spilled;
+        if (spill == null) {
+            this.records = new MappedByteBuffer[0];
+            this.strings = new MappedByteBuffer[0];
+            return;
+        }
+        try {
+            this.records = map(spill.recordsChannel, (long) recordsPerChunk * layout.recordSize());
+            this.strings = map(spill.stringsChannel, CHUNK_SIZE);
+        } catch (IOException | RuntimeException e) {
+            try {
+                spill.close();
+            } catch (ConverterIOException closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e instanceof IOException ? new ConverterIOException(e, "Cannot read temporary files of spilled instances.") : (RuntimeException) e;
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, long chunkSize) throws IOException {
+        List<MappedByteBuffer> chunks = new ArrayList<>();
+        for (long position = 0; position < channel.size(); position += chunkSize) {
+            chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, channel.size() - position)));
+        }
+        return chunks.toArray(new MappedByteBuffer[0]);
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        MappedByteBuffer[] records = this.records;
+        MappedByteBuffer[] strings = this.strings;
+        if (closed || records == null || strings == null) {
+            throw new ConverterIllegalArgumentException("List of spilled instances has been closed.");
+        }
+        if (index < resident.size()) {
+            return resident.get(index);
+        }
+        int record = index - resident.size();
+        T instance = layout.read(records[record / recordsPerChunk], record % recordsPerChunk * layout.recordSize(), new MappedStrings(strings));
+        // the list could have been closed while the instance was read, so the files might have been deleted in the meantime
+        if (closed) {
+            throw new ConverterIllegalArgumentException("List of spilled instances has been closed.");
+        }
+        return instance;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return number of elements kept on the heap, which are the first elements of the list
+     */
+    public int residentSize() {
+        return resident.size();
+    }
+
+    /**
+     * @return number of elements written into the temporary files
+     */
+    public int spilledSize() {
+        return size - resident.size();
+    }
+
+    /**
+     * Deletes the temporary files.
+     *
+     * @throws uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIOException if the files cannot be deleted
+     */
+    @Override
+    public void close() {
+        closed = true;
+        records = null;
+        strings = null;
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    /**
+     * Collects instances: on the heap while their estimated size is within the budget, and into the temporary files afterwards.
+     */
+    static final class Builder<T> {
+
+        private final FlatLayout<T> layout;
+        private final long heapBudget;
+        private final List<T> resident = new ArrayList<>();
+        private long residentBytes;
+        private Spill spill;
+        private int spilled;
+
+        Builder(FlatLayout<T> layout, long heapBudget) {
+            this.layout = layout;
+            this.heapBudget = heapBudget;
+        }
+
+        /**
+         * @return true if the next instance will be written into the temporary files, so it does not need to be a new instance
+         */
+        boolean spilling() {
+            return spill != null;
+        }
+
+        void add(T instance) {
+            if (spill == null) {
+                long instanceBytes = layout.estimatedHeapSize(instance);
+                if (residentBytes + instanceBytes <= heapBudget) {
+                    resident.add(instance);
+                    residentBytes += instanceBytes;
+                    return;
+                }
+                spill = new Spill(layout.recordSize());
+            }
+            if (resident.size() + spilled == Integer.MAX_VALUE - 8) {
+                throw new ConverterIllegalArgumentException("Cannot convert more than %d rows into a list.", Integer.MAX_VALUE - 8);
+            }
+            layout.write(instance, spill.recordBuffer(), spill.recordBuffer().position(), spill);
+            spill.recordWritten();
+            spilled++;
+        }
+
+        SpillingList<T> build() {
+            if (spill != null) {
+                spill.flush();
+            }
+            return new SpillingList<>(layout, resident, spill, spilled);
+        }
+
+        /**
+         * Deletes the temporary files if the conversion failed.
+         */
+        void abort() {
+            if (spill != null) {
+                spill.close();
+            }
+        }
+
+    }
+
+    /**
+     * Temporary files of the records and of the strings, appended through buffers and deleted when they are closed. Strings
+     * are written as their length followed by their UTF-8 bytes, and do not cross the boundaries of the mapped chunks.
+     */
+    private static final class Spill implements FlatLayout.StringWriter {
+
+        private final int recordSize;
+        private final FileChannel recordsChannel;
+        private final FileChannel stringsChannel;
+        private final ByteBuffer recordBuffer;
+        private final ByteBuffer stringBuffer = ByteBuffer.allocateDirect(1 << 16);
+        private long stringsPosition;
+
+        private Spill(int recordSize) {
+            this.recordSize = recordSize;
+            this.recordBuffer = ByteBuffer.allocateDirect(Math.max(recordSize, 1 << 16) / recordSize * recordSize);
+            FileChannel recordsChannel = null;
+            try {
+                recordsChannel = open();
+                this.stringsChannel = open();
+            } catch (IOException e) {
+                if (recordsChannel != null) {
+                    try {
+                        recordsChannel.close();
+                    } catch (IOException closeException) {
+                        e.addSuppressed(closeException);
+                    }
+                }
+                throw new ConverterIOException(e, "Cannot create temporary files of spilled instances.");
+            }
+            this.recordsChannel = recordsChannel;
+        }
+
+        private static FileChannel open() throws IOException {
+            Path file = Files.createTempFile("map-to-object-converter", ".spill");
+            return FileChannel.open(file, READ, WRITE, DELETE_ON_CLOSE);
+        }
+
+        private ByteBuffer recordBuffer() {
+            if (recordBuffer.remaining() < recordSize) {
+                flush(recordsChannel, recordBuffer);
+            }
+            return recordBuffer;
+        }
+
+        private void recordWritten() {
+            recordBuffer.position(recordBuffer.position() + recordSize);
+        }
+
+        @Override
+        public long put(String value) {
+            byte[] bytes = value.getBytes(UTF_8);
+            int length = Integer.BYTES + bytes.length;
+            if (length > CHUNK_SIZE) {
+                throw new ConverterIllegalArgumentException("Cannot spill strings longer than %d bytes.", CHUNK_SIZE - Integer.BYTES);
+            }
+            long chunkEnd = (stringsPosition / CHUNK_SIZE + 1) * CHUNK_SIZE;
+            if (stringsPosition + length > chunkEnd) {
+                flush(stringsChannel, stringBuffer);
+                stringsPosition = chunkEnd;
+                try {
+                    stringsChannel.position(chunkEnd);
+                } catch (IOException e) {
+                    throw new ConverterIOException(e, "Cannot write temporary files of spilled instances.");
+                }
+            }
+            long reference = stringsPosition;
+            if (stringBuffer.remaining() < length) {
+                flush(stringsChannel, stringBuffer);
+            }
+            if (stringBuffer.remaining() < length) {
+                write(stringsChannel, ByteBuffer.allocate(length).putInt(bytes.length).put(bytes).flip());
+            } else {
+                stringBuffer.putInt(bytes.length).put(bytes);
+            }
+            stringsPosition += length;
+            return reference;
+        }
+
+        private void flush() {
+            flush(recordsChannel, recordBuffer);
+            flush(stringsChannel, stringBuffer);
+        }
+
+        private static void flush(FileChannel channel, ByteBuffer buffer) {
+            write(channel, buffer.flip());
+            buffer.clear();
+        }
+
+        private static void write(FileChannel channel, ByteBuffer buffer) {
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new ConverterIOException(e, "Cannot write temporary files of spilled instances.");
+            }
+        }
+
+        private void close() {
+            try {
+                recordsChannel.close();
+                stringsChannel.close();
+            } catch (IOException e) {
+                throw new ConverterIOException(e, "Cannot delete temporary files of spilled instances.");
+            }
+        }
+
+    }
+
+    /**
+     * Strings read from the mapped chunks of the temporary file.
+     */
+    private static final class MappedStrings implements FlatLayout.StringReader {
+
+        private final MappedByteBuffer[] chunks;
+
+        private MappedStrings(MappedByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public String get(long reference) {
+            MappedByteBuffer chunk = chunks[(int) (reference / CHUNK_SIZE)];
+            int position = (int) (reference % CHUNK_SIZE);
+            byte[] bytes = new byte[chunk.getInt(position)];
+            chunk.get(position + Integer.BYTES, bytes);
+            return new String(bytes, UTF_8);
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field of type <code>Map&lt;String, Object&gt;</code> which collects the entries of the map whose keys do not
+ * match any other field, e.g.:
+ *
+ * <pre>
+ * public class Employee {
+ *     private final String name;
+ *
+ *     &#64;UnknownKeys
+ *     private final Map&lt;String, Object&gt; extras;
+ * }
+ * </pre>
+ *
+ * Maps converted into such class can contain unknown keys even if they are not {@link MapToObjectConverter#ignoreUnknownKeys() ignored}.
+ * The field is assigned an unmodifiable map, empty if there were no unknown keys. Can also be placed on a component of a record
+ * or a parameter of a constructor or factory method creating the class.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+public @interface UnknownKeys {
+}
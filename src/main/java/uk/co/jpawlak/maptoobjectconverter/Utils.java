@@ -2,12 +2,25 @@ package uk.co.jpawlak.maptoobjectconverter;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.stream;
 
 class Utils {
 
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            boolean.class, Boolean.class,
+            byte.class, Byte.class,
+            char.class, Character.class,
+            short.class, Short.class,
+            int.class, Integer.class,
+            long.class, Long.class,
+            float.class, Float.class,
+            double.class, Double.class,
+            void.class, Void.class
+    );
+
     static Stream<Field> fieldsOf(Class<?> targetClass) {
         Stream<Field> fields = Stream.empty();
         while (targetClass != Object.class) {
@@ -19,4 +32,8 @@ class Utils {
                 .filter(field -> !field.isSynthetic());
     }
 
+    static Class<?> wrapperOf(Class<?> aClass) {
+        return aClass.isPrimitive() ? WRAPPERS.get(aClass) : aClass;
+    }
+
 }
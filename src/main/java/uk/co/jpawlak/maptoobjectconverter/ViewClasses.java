@@ -0,0 +1,239 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.invoke.MethodType.methodType;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V17;
+
+/**
+ * Classes implementing viewed interfaces, generated once per interface as hidden classes extending {@link MapView}. Every
+ * abstract method without parameters of the interface is a getter of a property: <code>getX()</code> and, if it returns
+ * <code>boolean</code>, <code>isX()</code> of property <code>x</code>, and any other method <code>x()</code> of property
+ * <code>x</code>. Methods of the same property (e.g. overridden with covariant return types) share its value.
+ *
+ * <br><br>
+ *
+ * Class files are written with ASM (shaded into the jar of the converter), which also computes their stack map frames.
+ * Generated classes are defined in the package of the converter, so the interface and the return types of its getters
+ * have to be public and visible from the class loader of the converter.
+ */
+final class ViewClasses {
+
+    private static final String MAP_VIEW = Type.getInternalName(MapView.class);
+    private static final String CONSTRUCTOR_DESCRIPTOR = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Map.class), Type.getType(ViewPlan.class), Type.getType(String[].class));
+
+    private static final ClassValue<ViewClass> VIEW_CLASSES = new ClassValue<ViewClass>() {
+        @Override
+        protected ViewClass computeValue(Class<?> viewInterface) {
+            return new ViewClass(viewInterface);
+        }
+    };
+
+    private ViewClasses() {
+    }
+
+    static ViewClass of(Class<?> viewInterface) {
+        return VIEW_CLASSES.get(viewInterface);
+    }
+
+    static final class ViewClass {
+
+        private final List<String> propertyNames = new ArrayList<>();
+        private final List<Method> propertyGetters = new ArrayList<>();
+        private final byte[] classFile;
+        private final MethodHandle constructor;
+
+        private ViewClass(Class<?> viewInterface) {
+            checkAccessible(viewInterface, viewInterface);
+            Map<String, List<Method>> gettersByProperty = new TreeMap<>();
+            for (Method method : viewInterface.getMethods()) {
+                if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+                    if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                        throw new ConverterIllegalArgumentException("Method '%s' of '%s' is not a getter.", method.getName(), viewInterface.getTypeName());
+                    }
+                    checkAccessible(method.getReturnType(), viewInterface);
+                    gettersByProperty.computeIfAbsent(propertyNameOf(method), name -> new ArrayList<>()).add(method);
+                }
+            }
+            Map<Method, Integer> indexes = new LinkedHashMap<>();
+            gettersByProperty.forEach((name, getters) -> {
+                propertyNames.add(name);
+                propertyGetters.add(mostSpecificOf(getters, viewInterface, name));
+                getters.stream()
+                        .filter(getter -> indexes.keySet().stream().noneMatch(method -> method.getName().equals(getter.getName()) && method.getReturnType() == getter.getReturnType()))
+                        .forEach(getter -> indexes.put(getter, propertyNames.size() - 1));
+            });
+            this.classFile = classFileOf(viewInterface, indexes);
+            this.constructor = define(classFile);
+        }
+
+        /**
+         * @return names of the properties, in order of their indexes
+         */
+        List<String> propertyNames() {
+            return propertyNames;
+        }
+
+        /**
+         * @return getters with the most specific return types, in order of the properties
+         */
+        List<Method> propertyGetters() {
+            return propertyGetters;
+        }
+
+        /**
+         * @return class file of the generated class
+         */
+        byte[] classFile() {
+            return classFile.clone();
+        }
+
+        /**
+         * @return constructor of the generated class, of type <code>(Map, ViewPlan, String[])Object</code>
+         */
+        MethodHandle constructor() {
+            return constructor;
+        }
+
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static String propertyNameOf(Method method) {
+        String name = method.getName();
+        if (name.length() > 3 && name.startsWith("get")) {
+            return decapitalize(name.substring(3));
+        }
+        if (name.length() > 2 && name.startsWith("is") && method.getReturnType() == boolean.class) {
+            return decapitalize(name.substring(2));
+        }
+        return name;
+    }
+
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Method mostSpecificOf(List<Method> getters, Class<?> viewInterface, String propertyName) {
+        for (Method candidate : getters) {
+            if (getters.stream().allMatch(getter -> getter.getReturnType().isAssignableFrom(candidate.getReturnType()))) {
+                return candidate;
+            }
+        }
+        throw new ConverterIllegalArgumentException("Getters of property '%s' of '%s' have incompatible return types.", propertyName, viewInterface.getTypeName());
+    }
+
+    private static void checkAccessible(Class<?> type, Class<?> viewInterface) {
+        Class<?> aClass = type;
+        while (aClass.isArray()) {
+            aClass = aClass.getComponentType();
+        }
+        if (aClass.isPrimitive()) {
+            return;
+        }
+        if (!Modifier.isPublic(aClass.getModifiers()) || !isVisible(aClass)) {
+            throw new ConverterIllegalArgumentException("Cannot create view of '%s'. Class '%s' has to be public and visible from the class loader of the converter.", viewInterface.getTypeName(), aClass.getTypeName());
+        }
+    }
+
+    private static boolean isVisible(Class<?> aClass) {
+        try {
+            return Class.forName(aClass.getName(), false, ViewClasses.class.getClassLoader()) == aClass;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle define(byte[] classFile) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            return lookup.findConstructor(lookup.lookupClass(), methodType(void.class, Map.class, ViewPlan.class, String[].class))
+                    .asType(methodType(Object.class, Map.class, ViewPlan.class, String[].class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * @return class file of a class extending {@link MapView} and implementing <code>viewInterface</code>, whose getters
+     * return {@link MapView#value(int)} of their property cast to (or unboxed into) their return types
+     */
+    private static byte[] classFileOf(Class<?> viewInterface, Map<Method, Integer> indexes) {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(V17, ACC_FINAL | ACC_SUPER, MAP_VIEW + "$" + viewInterface.getSimpleName(), null, MAP_VIEW,
+                new String[] {Type.getInternalName(viewInterface)});
+
+        MethodVisitor constructor = classWriter.visitMethod(0, "<init>", CONSTRUCTOR_DESCRIPTOR, null, null);
+        constructor.visitCode();
+        for (int i = 0; i < 4; i++) {
+            constructor.visitVarInsn(ALOAD, i);
+        }
+        constructor.visitMethodInsn(INVOKESPECIAL, MAP_VIEW, "<init>", CONSTRUCTOR_DESCRIPTOR, false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        indexes.forEach((getter, index) -> {
+            Class<?> returnType = getter.getReturnType();
+            MethodVisitor method = classWriter.visitMethod(ACC_PUBLIC, getter.getName(), Type.getMethodDescriptor(getter), null, null);
+            method.visitCode();
+            method.visitVarInsn(ALOAD, 0);
+            method.visitIntInsn(SIPUSH, index);
+            method.visitMethodInsn(INVOKEVIRTUAL, MAP_VIEW, "value", Type.getMethodDescriptor(Type.getType(Object.class), Type.INT_TYPE), false);
+            if (returnType.isPrimitive()) {
+                Type wrapper = Type.getType(Utils.wrapperOf(returnType));
+                Type primitive = Type.getType(returnType);
+                method.visitTypeInsn(CHECKCAST, wrapper.getInternalName());
+                method.visitMethodInsn(INVOKEVIRTUAL, wrapper.getInternalName(), returnType.getName() + "Value", Type.getMethodDescriptor(primitive), false);
+                method.visitInsn(primitive.getOpcode(IRETURN));
+            } else {
+                if (returnType != Object.class) {
+                    method.visitTypeInsn(CHECKCAST, Type.getInternalName(returnType));
+                }
+                method.visitInsn(ARETURN);
+            }
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        });
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+}
@@ -0,0 +1,130 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterUnknownException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Plan of the views of an interface. Properties of the interface (see {@link ViewClasses}) are converted by field plans
+ * writing into the array of values of the view, so they use the same converters, specialization and nested conversion
+ * as fields of converted classes.
+ *
+ * <br><br>
+ *
+ * Keys of the map are validated against the properties once per key shape, i.e. set of keys, which also resolves the
+ * key holding the value of each property in key case insensitive mode. Values are checked for nulls when they are read.
+ */
+class ViewPlan<T> {
+
+    private final Class<T> viewInterface;
+    private final Checker checker;
+    private final boolean keyCaseSensitive;
+    private final MethodHandle constructor;
+    private final List<FieldPlan> fieldPlans = new ArrayList<>();
+    private final Set<String> keys = new LinkedHashSet<>();
+    private final boolean[] acceptsNull;
+    private final KeyShapes<String[]> shapes = new KeyShapes<>();
+
+    ViewPlan(Class<T> viewInterface, Converters converters, NestedConversion.NestedConverter nestedConverter, Checker checker, boolean keyCaseSensitive) {
+        ViewClasses.ViewClass viewClass = ViewClasses.of(viewInterface);
+        this.viewInterface = viewInterface;
+        this.checker = checker;
+        this.keyCaseSensitive = keyCaseSensitive;
+        this.constructor = viewClass.constructor();
+        List<String> names = viewClass.propertyNames();
+        List<Method> getters = viewClass.propertyGetters();
+        this.acceptsNull = new boolean[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            Method getter = getters.get(i);
+            FieldPlan fieldPlan = new FieldPlan(Property.ofArgument(i, names.get(i), getter.getGenericReturnType(), getter.getReturnType(), getter), converters, nestedConverter);
+            fieldPlans.add(fieldPlan);
+            keys.addAll(fieldPlan.keys());
+            acceptsNull[i] = checker.acceptsNull(fieldPlan);
+        }
+    }
+
+    Class<T> viewInterface() {
+        return viewInterface;
+    }
+
+    T view(Map<String, Object> map) {
+        checker.checkMap(map);
+        String[] keys = shapes.get(map.keySet());
+        if (keys == null) {
+            keys = keysOf(map);
+        }
+        try {
+            return viewInterface.cast(constructor.invokeExact(map, this, keys));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    /**
+     * Validates keys of the map and resolves the keys of the properties.
+     */
+    private String[] keysOf(Map<String, Object> map) {
+        checker.checkKeysDuplicates(map);
+        checker.checkKeysEqualToFieldsNames(map.keySet(), this.keys, null, false);
+
+        String[] keys = new String[fieldPlans.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyCaseSensitive ? fieldPlans.get(i).name() : matchingKey(map, fieldPlans.get(i).name());
+        }
+        shapes.put(map.keySet(), keys);
+        return keys;
+    }
+
+    private static String matchingKey(Map<String, Object> map, String name) {
+        for (String key : map.keySet()) {
+            if (key.equalsIgnoreCase(name)) {
+                return key;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Converts the value of property <code>index</code> into <code>values[index]</code>.
+     */
+    void load(Map<String, Object> map, String[] keys, Object[] values, int index) {
+        FieldPlan fieldPlan = fieldPlans.get(index);
+        try {
+            if (fieldPlan.isComposite()) {
+                fieldPlan.setField(values, keyCaseSensitive ? map : caseInsensitiveCopyOf(map));
+                return;
+            }
+            try {
+                Object value = map.get(keys[index]);
+                if (value == null && !acceptsNull[index]) {
+                    throw new ConverterNullValueException("Null values require fields to be Optional. Null values for fields: '%s'.", fieldPlan.name());
+                }
+                fieldPlan.setField(values, value);
+            } catch (ConverterException e) {
+                throw e.withPathPrefix(fieldPlan.name());
+            }
+        } catch (ConverterException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ConverterUnknownException(e);
+        }
+    }
+
+    private static Map<String, Object> caseInsensitiveCopyOf(Map<String, Object> map) {
+        Map<String, Object> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(map);
+        return copy;
+    }
+
+}
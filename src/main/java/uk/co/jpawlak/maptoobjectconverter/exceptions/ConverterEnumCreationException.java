@@ -5,8 +5,9 @@ package uk.co.jpawlak.maptoobjectconverter.exceptions;
  * <ul>
  *     <li>{@link java.lang.Enum#valueOf(Class, String) valueOf(String)} throwing an exception</li>
  *     <li>or value being of different type than String</li>
+ *     <li>or no constant having the ordinal or {@link uk.co.jpawlak.maptoobjectconverter.EnumCode code} equal to an integer value</li>
  * </ul>
- * Both cases can be prevented by registering a converter for the enum.
+ * The first two cases can be prevented by registering a converter for the enum.
  */
 public class ConverterEnumCreationException extends ConverterException {
 
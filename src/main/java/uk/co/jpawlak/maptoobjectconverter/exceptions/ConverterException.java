@@ -5,17 +5,26 @@ package uk.co.jpawlak.maptoobjectconverter.exceptions;
  *
  * @see ConverterEnumCreationException
  * @see ConverterIllegalArgumentException
+ * @see ConverterInstantiationException
+ * @see ConverterIOException
  * @see ConverterMissingFieldsException
  * @see ConverterMissingValuesException
  * @see ConverterNullValueException
+ * @see ConverterNumericCoercionException
  * @see ConverterTypeMismatchException
  * @see ConverterUnknownException
  * @see RegisteredConverterException
  */
-public abstract class ConverterException extends RuntimeException {
+public abstract class ConverterException extends RuntimeException implements Cloneable {
+
+    /**
+     * Filled in by the converter, in copies created while the exception propagates out of fields and nested objects.
+     */
+    private String path;
+    private boolean nested;
 
     public ConverterException(String message) {
-        super(message);
+        super(message, null);
     }
 
     public ConverterException(Throwable cause) {
@@ -26,4 +35,60 @@ public abstract class ConverterException extends RuntimeException {
         super(message, cause);
     }
 
+    /**
+     * Returns the path of the field whose value caused the exception, e.g. <code>orders[3].address.city</code> for field
+     * <code>city</code> of an object nested in the 4th element of <code>orders</code> list. If the exception is about the keys
+     * of a nested map (e.g. missing values), the path leads to the nested object.
+     *
+     * @return the path or null if the exception was not caused by a value of a single field
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns a copy of this exception with the name of a field (or <code>[index]</code> of an element) prepended to
+     * {@link #getPath() the path}. Used by the converter while the exception propagates out of fields and nested objects.
+     * This exception is not modified, as it can be thrown to several threads waiting for the same cached value.
+     *
+     * @param segment name of a field or index of an element in square brackets
+     * @return the copy
+     */
+    public ConverterException withPathPrefix(String segment) {
+        ConverterException copy = copy();
+        if (path == null) {
+            copy.path = segment;
+        } else if (path.startsWith("[")) {
+            copy.path = segment + path;
+        } else {
+            copy.path = segment + "." + path;
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of this exception thrown while converting a nested object, whose message includes {@link #getPath() the path}.
+     * Used by the converter. This exception is not modified.
+     *
+     * @return the copy
+     */
+    public ConverterException asNested() {
+        ConverterException copy = copy();
+        copy.nested = true;
+        return copy;
+    }
+
+    private ConverterException copy() {
+        try {
+            return (ConverterException) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public String getMessage() {
+        return nested && path != null ? super.getMessage() + " Path: '" + path + "'." : super.getMessage();
+    }
+
 }
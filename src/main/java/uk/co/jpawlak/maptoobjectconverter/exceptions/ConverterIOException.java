@@ -0,0 +1,20 @@
+package uk.co.jpawlak.maptoobjectconverter.exceptions;
+
+/**
+ * Thrown when a file written or read by the converter:
+ * <ul>
+ *     <li>cannot be written or read</li>
+ *     <li>or is not a snapshot or was written with a different layout of the class</li>
+ * </ul>
+ */
+public class ConverterIOException extends ConverterException {
+
+    public ConverterIOException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+
+    public ConverterIOException(Throwable cause, String message, Object... args) {
+        super(String.format(message, args), cause);
+    }
+
+}
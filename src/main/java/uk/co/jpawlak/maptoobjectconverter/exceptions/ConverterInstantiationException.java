@@ -0,0 +1,20 @@
+package uk.co.jpawlak.maptoobjectconverter.exceptions;
+
+/**
+ * Thrown when constructor or factory method creating the instance of the target class:
+ * <ul>
+ *     <li>throws exception</li>
+ *     <li>or returns null</li>
+ * </ul>
+ */
+public class ConverterInstantiationException extends ConverterException {
+
+    public ConverterInstantiationException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+
+    public ConverterInstantiationException(Throwable cause, String message, Object... args) {
+        super(String.format(message, args), cause);
+    }
+
+}
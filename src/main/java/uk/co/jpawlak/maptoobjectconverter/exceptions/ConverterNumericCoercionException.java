@@ -0,0 +1,14 @@
+package uk.co.jpawlak.maptoobjectconverter.exceptions;
+
+/**
+ * Thrown when numeric coercion is enabled and a number cannot be assigned to the field without overflow or loss of precision,
+ * e.g. when <code>Long</code> value 3000000000 is assigned to <code>int</code> field or <code>Double</code> value 0.5 is
+ * assigned to <code>long</code> field.
+ */
+public class ConverterNumericCoercionException extends ConverterException {
+
+    public ConverterNumericCoercionException(String message, Object... args) {
+        super(String.format(message, args));
+    }
+
+}
@@ -0,0 +1,145 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Columnar {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Trade {
+        String symbol;
+        long quantity;
+        double price;
+        boolean buy;
+        BigDecimal fee;
+        Optional<String> venue;
+    }
+
+    private static Map<String, Object> trade(String symbol, long quantity, double price, String venue) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("symbol", symbol);
+        map.put("quantity", quantity);
+        map.put("price", price);
+        map.put("buy", quantity > 0);
+        map.put("fee", new BigDecimal("0.50"));
+        map.put("venue", venue);
+        return map;
+    }
+
+    private final List<Map<String, Object>> rows = List.of(
+            trade("ABC", 10L, 1.5, "LSE"),
+            trade("XYZ", -5L, 2.0, null),
+            trade("ABC", 7L, 1.25, "LSE")
+    );
+
+    @Test
+    public void createsElementsWhenTheyAreRead() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        assertThat(actual.size(), equalTo(3));
+        Trade second = actual.get(1);
+        assertThat(second.symbol, equalTo("XYZ"));
+        assertThat(second.quantity, equalTo(-5L));
+        assertThat(second.price, equalTo(2.0));
+        assertThat(second.buy, equalTo(false));
+        assertThat(second.fee, equalTo(new BigDecimal("0.50")));
+        assertThat(second.venue, equalTo(Optional.empty()));
+        assertThat(actual.get(1), not(sameInstance(second)));
+    }
+
+    @Test
+    public void storesPrimitiveFieldsInArrays() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        assertThat(actual.longColumn("quantity"), equalTo(new long[]{10L, -5L, 7L}));
+        assertThat(actual.doubleColumn("price"), equalTo(new double[]{1.5, 2.0, 1.25}));
+        assertThat(actual.primitiveColumn("buy", boolean[].class), equalTo(new boolean[]{true, false, true}));
+    }
+
+    @Test
+    public void storesStringFieldsAsCodesIntoDictionary() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        assertThat(actual.stringCodes("symbol"), equalTo(new int[]{0, 1, 0}));
+        assertThat(actual.stringDictionary("symbol"), equalTo(List.of("ABC", "XYZ")));
+        assertThat(actual.referenceColumn("symbol", String.class), equalTo(List.of("ABC", "XYZ", "ABC")));
+        assertThat(actual.get(0).symbol, sameInstance(actual.get(2).symbol));
+    }
+
+    @Test
+    public void storesOtherFieldsAsReferences() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        assertThat(actual.referenceColumn("venue", Optional.class), equalTo(List.of(Optional.of("LSE"), Optional.empty(), Optional.of("LSE"))));
+        assertThat(actual.columnNames(), equalTo(List.of("symbol", "quantity", "price", "buy", "fee", "venue")));
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void createsRecordsWithCanonicalConstructor() {
+        ColumnarList<Point> actual = mapToObjectConverter.convertAllColumnar(List.of(Map.of("x", 1, "y", 2), Map.of("x", 3, "y", 4)), Point.class);
+
+        assertThat(actual, equalTo(List.of(new Point(1, 2), new Point(3, 4))));
+        assertThat(actual.intColumn("y"), equalTo(new int[]{2, 4}));
+    }
+
+    @Test
+    public void convertsEmptyRows() {
+        ColumnarList<Point> actual = mapToObjectConverter.convertAllColumnar(List.of(), Point.class);
+
+        assertThat(actual.size(), equalTo(0));
+        assertThat(actual.intColumn("x"), equalTo(new int[0]));
+    }
+
+    @Test
+    public void throwsExceptionWithIndexOfInvalidRow() {
+        Map<String, Object> invalid = trade("ABC", 1L, 1.0, null);
+        invalid.put("quantity", "many");
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'quantity' of type 'long'. Path: '[1].quantity'."));
+
+        mapToObjectConverter.convertAllColumnar(List.of(trade("ABC", 1L, 1.0, null), invalid), Trade.class);
+    }
+
+    @Test
+    public void throwsExceptionForUnknownColumns() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("No column 'volume' in '" + Trade.class.getTypeName() + "'."));
+
+        actual.longColumn("volume");
+    }
+
+    @Test
+    public void throwsExceptionForColumnsOfOtherType() {
+        ColumnarList<Trade> actual = mapToObjectConverter.convertAllColumnar(rows, Trade.class);
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Column 'quantity' of '" + Trade.class.getTypeName() + "' is of type 'long', not 'int[]'."));
+
+        actual.intColumn("quantity");
+    }
+
+}
@@ -0,0 +1,146 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_ConvertInto {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Trade {
+        private final String symbol;
+        private final long quantity;
+        private final Optional<String> venue;
+
+        private Trade() {
+            this.symbol = null;
+            this.quantity = 0;
+            this.venue = null;
+        }
+    }
+
+    private static Map<String, Object> trade(String symbol, long quantity, String venue) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("symbol", symbol);
+        map.put("quantity", quantity);
+        map.put("venue", venue);
+        return map;
+    }
+
+    @Test
+    public void setsFieldsOfExistingInstance() {
+        Trade trade = new Trade();
+
+        Trade actual = mapToObjectConverter.convertInto(trade("ABC", 10L, "LSE"), trade);
+
+        assertThat(actual, sameInstance(trade));
+        assertThat(trade.symbol, equalTo("ABC"));
+        assertThat(trade.quantity, equalTo(10L));
+        assertThat(trade.venue, equalTo(Optional.of("LSE")));
+    }
+
+    @Test
+    public void reusesInstanceForManyMaps() {
+        Trade trade = new Trade();
+
+        mapToObjectConverter.convertInto(trade("ABC", 10L, "LSE"), trade);
+        mapToObjectConverter.convertInto(trade("XYZ", 5L, null), trade);
+
+        assertThat(trade.symbol, equalTo("XYZ"));
+        assertThat(trade.quantity, equalTo(5L));
+        assertThat(trade.venue, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void setsAllFieldsAgainAfterFailedConversion() {
+        Trade trade = new Trade();
+        Map<String, Object> invalid = trade("ABC", 10L, "LSE");
+        invalid.put("quantity", "ten");
+
+        try {
+            mapToObjectConverter.convertInto(invalid, trade);
+            fail();
+        } catch (ConverterTypeMismatchException e) {
+            mapToObjectConverter.convertInto(trade("XYZ", 5L, null), trade);
+        }
+
+        assertThat(trade.symbol, equalTo("XYZ"));
+        assertThat(trade.quantity, equalTo(5L));
+        assertThat(trade.venue, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void validatesMapInTheSameWayAsConvert() {
+        Map<String, Object> map = trade("ABC", 10L, "LSE");
+        map.remove("venue");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'venue'."));
+
+        mapToObjectConverter.convertInto(map, new Trade());
+    }
+
+    @Test
+    public void throwsExceptionForNullValues() {
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'symbol'."));
+
+        mapToObjectConverter.convertInto(trade(null, 10L, "LSE"), new Trade());
+    }
+
+    private static class Settings {
+        @Defaults
+        private static final Settings DEFAULTS = new Settings();
+
+        String timeZone = "UTC";
+        int pageSize = 100;
+    }
+
+    @Test
+    public void setsFieldsWithoutKeysFromDefaults() {
+        Settings settings = new Settings();
+        settings.timeZone = "CET";
+
+        mapToObjectConverter.convertInto(Map.of("pageSize", 20), settings);
+
+        assertThat(settings.timeZone, equalTo("UTC"));
+        assertThat(settings.pageSize, equalTo(20));
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void throwsExceptionForInstancesCreatedByConstructors() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot convert map into existing instance of '" + Point.class.getTypeName() + "'. Its instances are created by a constructor or factory method."));
+
+        mapToObjectConverter.convertInto(Map.of("x", 1, "y", 2), new Point(0, 0));
+    }
+
+    @Test
+    public void throwsExceptionForNullInstance() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Instance cannot be null."));
+
+        mapToObjectConverter.convertInto(new HashMap<>(), null);
+    }
+
+}
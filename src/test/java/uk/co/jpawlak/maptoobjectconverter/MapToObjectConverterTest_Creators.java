@@ -0,0 +1,261 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterInstantiationException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.beans.ConstructorProperties;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Creators {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Records
+
+    private record Employee(String name, int age, Optional<LocalDate> hired) {}
+
+    @Test
+    public void createsRecordThroughCanonicalConstructor() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("age", 30);
+        map.put("hired", null);
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual, equalTo(new Employee("Jaroslaw", 30, Optional.empty())));
+    }
+
+    @Test
+    public void usesRegisteredConvertersForRecordComponents() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("age", 30);
+        map.put("hired", "2016-09-18");
+
+        mapToObjectConverter.registerConverter(LocalDate.class, value -> value == null ? null : LocalDate.parse((String) value));
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual.hired(), equalTo(Optional.of(LocalDate.of(2016, 9, 18))));
+    }
+
+    @Test
+    public void throwsExceptionWhenThereIsNoValueForRecordComponent() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("hired", null);
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'age'."));
+
+        mapToObjectConverter.convert(map, Employee.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenValueForRecordComponentIsNull() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", null);
+        map.put("age", 30);
+        map.put("hired", null);
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'name'."));
+
+        mapToObjectConverter.convert(map, Employee.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenValueCannotBeAssignedToRecordComponent() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("age", "thirty");
+        map.put("hired", null);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'age' of type 'int'."));
+
+        mapToObjectConverter.convert(map, Employee.class);
+    }
+
+    private record Range(int from, int to) {
+        Range {
+            if (from > to) {
+                throw new IllegalArgumentException("from > to");
+            }
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenConstructorThrowsException() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("from", 2);
+        map.put("to", 1);
+
+        expectedException.expect(ConverterInstantiationException.class);
+        expectedException.expectMessage(equalTo("Constructor of '" + Range.class.getTypeName() + "' threw exception."));
+        expectedException.expectCause(instanceOf(IllegalArgumentException.class));
+
+        mapToObjectConverter.convert(map, Range.class);
+    }
+
+    private record Depth(int value) {
+        Depth {
+            if (value < 0) {
+                throw new StackOverflowError();
+            }
+        }
+    }
+
+    @Test
+    public void doesNotWrapErrorsThrownByConstructor() {
+        expectedException.expect(StackOverflowError.class);
+
+        mapToObjectConverter.convert(singletonMap("value", -1), Depth.class);
+    }
+
+    @Test
+    public void specializesRecordComponents() {
+        for (int i = 0; i < 3; i++) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("from", i);
+            map.put("to", i + 1);
+
+            assertThat(mapToObjectConverter.convert(map, Range.class), equalTo(new Range(i, i + 1)));
+        }
+
+        assertThat(mapToObjectConverter.specializationStatistics(Range.class).getHits(), equalTo(4L));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // @ConstructorProperties
+
+    private static class Point {
+        private final int x;
+        private final int y;
+        private final boolean createdByConstructor;
+
+        @ConstructorProperties({"x", "y"})
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+            this.createdByConstructor = true;
+        }
+    }
+
+    @Test
+    public void createsInstanceThroughConstructorWithConstructorProperties() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("x", 1);
+        map.put("y", 2);
+
+        Point actual = mapToObjectConverter.convert(map, Point.class);
+
+        assertThat(actual.x, equalTo(1));
+        assertThat(actual.y, equalTo(2));
+        assertThat(actual.createdByConstructor, equalTo(true));
+    }
+
+    private static class InvalidConstructorProperties {
+        @ConstructorProperties({"x"})
+        InvalidConstructorProperties(int x, int y) {
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenNumberOfConstructorPropertiesDoesNotMatchParameters() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Constructor of '" + InvalidConstructorProperties.class.getTypeName() + "' has 2 parameters but 1 names."));
+
+        mapToObjectConverter.convert(singletonMap("x", 1), InvalidConstructorProperties.class);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // @FactoryMethod
+
+    private static class Money {
+        private final long pennies;
+
+        private Money(long pennies) {
+            this.pennies = pennies;
+        }
+
+        @FactoryMethod({"pounds", "pence"})
+        static Money of(int pounds, int pence) {
+            return pounds < 0 ? null : new Money(pounds * 100L + pence);
+        }
+    }
+
+    @Test
+    public void createsInstanceThroughFactoryMethod() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("pounds", 3);
+        map.put("pence", 50);
+
+        Money actual = mapToObjectConverter.convert(map, Money.class);
+
+        assertThat(actual.pennies, equalTo(350L));
+    }
+
+    @Test
+    public void throwsExceptionWhenFactoryMethodReturnsNull() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("pounds", -1);
+        map.put("pence", 0);
+
+        expectedException.expect(ConverterInstantiationException.class);
+        expectedException.expectMessage(equalTo("Factory method 'of' of '" + Money.class.getTypeName() + "' returned null."));
+
+        mapToObjectConverter.convert(map, Money.class);
+    }
+
+    private static class NonStaticFactoryMethod {
+        @FactoryMethod({"x"})
+        NonStaticFactoryMethod create(int x) {
+            return this;
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenFactoryMethodIsNotStatic() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Method 'create' annotated with @FactoryMethod has to be static and return '" + NonStaticFactoryMethod.class.getTypeName() + "'."));
+
+        mapToObjectConverter.convert(singletonMap("x", 1), NonStaticFactoryMethod.class);
+    }
+
+    private static class DuplicateParameterNames {
+        @FactoryMethod({"x", "x"})
+        static DuplicateParameterNames create(int x, int y) {
+            return new DuplicateParameterNames();
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenParameterNamesAreDuplicated() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Factory method 'create' of '" + DuplicateParameterNames.class.getTypeName() + "' has invalid or duplicate parameter name 'x'."));
+
+        mapToObjectConverter.convert(singletonMap("x", 1), DuplicateParameterNames.class);
+    }
+
+}
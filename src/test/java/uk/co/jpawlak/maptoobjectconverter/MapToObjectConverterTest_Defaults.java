@@ -0,0 +1,196 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Defaults {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Settings {
+        @Defaults
+        private static final Settings DEFAULTS = new Settings("UTC", 100, Optional.empty(), List.of("en"));
+
+        private final String timeZone;
+        private final int pageSize;
+        private final Optional<String> theme;
+        private final List<String> languages;
+
+        private Settings(String timeZone, int pageSize, Optional<String> theme, List<String> languages) {
+            this.timeZone = timeZone;
+            this.pageSize = pageSize;
+            this.theme = theme;
+            this.languages = languages;
+        }
+    }
+
+    @Test
+    public void fillsFieldsWithoutKeysFromAnnotatedDefaults() {
+        Settings actual = mapToObjectConverter.convert(Map.of("pageSize", 20), Settings.class);
+
+        assertThat(actual.timeZone, equalTo("UTC"));
+        assertThat(actual.pageSize, equalTo(20));
+        assertThat(actual.theme, equalTo(Optional.empty()));
+        assertThat(actual.languages, equalTo(List.of("en")));
+        assertThat(actual, not(sameInstance(Settings.DEFAULTS)));
+        assertThat(Settings.DEFAULTS.pageSize, equalTo(100));
+    }
+
+    @Test
+    public void convertsPresentKeysAsUsual() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("timeZone", "CET");
+        map.put("theme", null);
+
+        Settings actual = mapToObjectConverter.convert(map, Settings.class);
+
+        assertThat(actual.timeZone, equalTo("CET"));
+        assertThat(actual.pageSize, equalTo(100));
+        assertThat(actual.theme, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void throwsExceptionForNullValuesOfPresentKeys() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("timeZone", null);
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'timeZone'."));
+
+        mapToObjectConverter.convert(map, Settings.class);
+    }
+
+    @Test
+    public void throwsExceptionForUnknownKeys() {
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'colour'."));
+
+        mapToObjectConverter.convert(Map.of("colour", "red"), Settings.class);
+    }
+
+    @Test
+    public void registeredDefaultsTakePrecedenceOverAnnotatedDefaults() {
+        mapToObjectConverter.registerDefaults(Settings.class, new Settings("GMT", 50, Optional.of("dark"), List.of()));
+
+        Settings actual = mapToObjectConverter.convert(Map.of(), Settings.class);
+
+        assertThat(actual.timeZone, equalTo("GMT"));
+        assertThat(actual.theme, equalTo(Optional.of("dark")));
+    }
+
+    private static class Employee {
+        String name;
+        int age;
+    }
+
+    @Test
+    public void throwsExceptionForMissingKeysOfClassesWithoutDefaults() {
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'age'."));
+
+        mapToObjectConverter.convert(Map.of("name", "Jaroslaw"), Employee.class);
+    }
+
+    private static class CloneableEmployee implements Cloneable {
+        String name;
+        int age;
+        transient int clones;
+
+        @Override
+        public CloneableEmployee clone() {
+            try {
+                CloneableEmployee clone = (CloneableEmployee) super.clone();
+                clone.clones++;
+                return clone;
+            } catch (CloneNotSupportedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    @Test
+    public void clonesDefaultsOfCloneableClasses() {
+        CloneableEmployee defaults = new CloneableEmployee();
+        defaults.name = "unknown";
+        defaults.age = 18;
+        mapToObjectConverter.registerDefaults(CloneableEmployee.class, defaults);
+
+        CloneableEmployee actual = mapToObjectConverter.convert(Map.of("name", "Jaroslaw"), CloneableEmployee.class);
+
+        assertThat(actual.name, equalTo("Jaroslaw"));
+        assertThat(actual.age, equalTo(18));
+        assertThat(actual.clones, equalTo(1));
+    }
+
+    private record Page(int number, int size) {
+        @Defaults
+        private static final Page FIRST = new Page(1, 10);
+    }
+
+    @Test
+    public void fillsArgumentsOfRecordsFromDefaults() {
+        Page actual = mapToObjectConverter.convert(Map.of("size", 50), Page.class);
+
+        assertThat(actual, equalTo(new Page(1, 50)));
+    }
+
+    private static class Order {
+        String id;
+        Settings settings;
+    }
+
+    @Test
+    public void fillsFieldsOfNestedObjectsFromDefaults() {
+        Order actual = mapToObjectConverter.convert(Map.of("id", "a", "settings", Map.of("pageSize", 5)), Order.class);
+
+        assertThat(actual.settings.timeZone, equalTo("UTC"));
+        assertThat(actual.settings.pageSize, equalTo(5));
+    }
+
+    private static class SpecialSettings extends Settings {
+        private SpecialSettings() {
+            super("UTC", 1, Optional.empty(), List.of());
+        }
+    }
+
+    @Test
+    public void throwsExceptionIfDefaultsAreInstanceOfSubclass() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Defaults of '" + Settings.class.getTypeName() + "' cannot be an instance of '" + SpecialSettings.class.getTypeName() + "'."));
+
+        mapToObjectConverter.registerDefaults(Settings.class, new SpecialSettings());
+    }
+
+    private static class InvalidDefaults {
+        @Defaults
+        private final InvalidDefaults defaults = null;
+    }
+
+    @Test
+    public void throwsExceptionIfAnnotatedFieldIsNotStatic() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Field 'defaults' annotated with @Defaults has to be static and of type '" + InvalidDefaults.class.getTypeName() + "'."));
+
+        mapToObjectConverter.convert(Map.of(), InvalidDefaults.class);
+    }
+
+}
@@ -0,0 +1,139 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Deltas {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private enum Status {
+        NEW, SHIPPED
+    }
+
+    private static class Address {
+        String city;
+    }
+
+    private static class Order {
+        String id;
+        Status status;
+        int quantity;
+        Optional<String> comment;
+        Address address;
+    }
+
+    private Order order() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "order-1");
+        map.put("status", "NEW");
+        map.put("quantity", 3);
+        map.put("comment", "fragile");
+        map.put("address", Map.of("city", "London"));
+        return mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void createsCopyWithPresentFieldsConverted() {
+        Order existing = order();
+
+        Order actual = mapToObjectConverter.applyDelta(existing, Map.of("status", "SHIPPED", "quantity", 5));
+
+        assertThat(actual, not(sameInstance(existing)));
+        assertThat(actual.id, equalTo("order-1"));
+        assertThat(actual.status, equalTo(Status.SHIPPED));
+        assertThat(actual.quantity, equalTo(5));
+        assertThat(actual.comment, equalTo(Optional.of("fragile")));
+        assertThat(actual.address, sameInstance(existing.address));
+        assertThat(existing.status, equalTo(Status.NEW));
+    }
+
+    @Test
+    public void appliesNullValuesToOptionalFields() {
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("comment", null);
+
+        Order actual = mapToObjectConverter.applyDelta(order(), delta);
+
+        assertThat(actual.comment, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void replacesNestedObjectsAsAWhole() {
+        Order actual = mapToObjectConverter.applyDelta(order(), Map.of("address", Map.of("city", "Leeds")));
+
+        assertThat(actual.address.city, equalTo("Leeds"));
+    }
+
+    @Test
+    public void throwsExceptionForNullValuesOfNonOptionalFields() {
+        Map<String, Object> delta = new HashMap<>();
+        delta.put("id", null);
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'id'."));
+
+        mapToObjectConverter.applyDelta(order(), delta);
+    }
+
+    @Test
+    public void throwsExceptionForValuesOfWrongType() {
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.Long' to field 'quantity' of type 'int'."));
+
+        mapToObjectConverter.applyDelta(order(), Map.of("quantity", 5L));
+    }
+
+    @Test
+    public void throwsExceptionForUnknownKeys() {
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'price'."));
+
+        mapToObjectConverter.applyDelta(order(), Map.of("price", 5));
+    }
+
+    @Test
+    public void matchesKeysIgnoringCaseInKeyCaseInsensitiveMode() {
+        MapToObjectConverter mapToObjectConverter = new MapToObjectConverter(false);
+
+        Order actual = mapToObjectConverter.applyDelta(order(), Map.of("QUANTITY", 7));
+
+        assertThat(actual.quantity, equalTo(7));
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void createsRecordsWithCanonicalConstructor() {
+        Point actual = mapToObjectConverter.applyDelta(new Point(1, 2), Map.of("y", 5));
+
+        assertThat(actual, equalTo(new Point(1, 5)));
+    }
+
+    @Test
+    public void throwsExceptionForNullExistingInstance() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Existing instance cannot be null."));
+
+        mapToObjectConverter.applyDelta(null, Map.of());
+    }
+
+}
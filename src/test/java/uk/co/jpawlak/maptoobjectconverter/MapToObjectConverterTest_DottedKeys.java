@@ -0,0 +1,174 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_DottedKeys {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Address {
+        String city;
+        String street;
+    }
+
+    private static class Customer {
+        long id;
+        String name;
+        Address address;
+    }
+
+    private static class Order {
+        String id;
+        Customer customer;
+        Optional<Address> deliveryAddress;
+    }
+
+    private static Map<String, Object> row() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "order-1");
+        map.put("customer.id", 7L);
+        map.put("customer.name", "Jaroslaw");
+        map.put("customer.address.city", "London");
+        map.put("customer.address.street", "Baker Street");
+        map.put("deliveryAddress.city", "Leeds");
+        map.put("deliveryAddress.street", "Briggate");
+        return map;
+    }
+
+    @Test
+    public void bindsDottedKeysIntoNestedObjects() {
+        Order actual = mapToObjectConverter.convert(row(), Order.class);
+
+        assertThat(actual.id, equalTo("order-1"));
+        assertThat(actual.customer.id, equalTo(7L));
+        assertThat(actual.customer.name, equalTo("Jaroslaw"));
+        assertThat(actual.customer.address.city, equalTo("London"));
+        assertThat(actual.customer.address.street, equalTo("Baker Street"));
+        assertThat(actual.deliveryAddress.get().city, equalTo("Leeds"));
+    }
+
+    @Test
+    public void mixesDottedKeysAndNestedMaps() {
+        Map<String, Object> map = row();
+        map.remove("customer.address.city");
+        map.remove("customer.address.street");
+        map.put("customer.address", Map.of("city", "York", "street", "Stonegate"));
+
+        Order actual = mapToObjectConverter.convert(map, Order.class);
+
+        assertThat(actual.customer.address.city, equalTo("York"));
+    }
+
+    @Test
+    public void bindsDottedKeysIgnoringCaseInCaseInsensitiveMode() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("ID", "order-2");
+        map.put("Customer.Id", 8L);
+        map.put("CUSTOMER.name", "Jaroslaw");
+        map.put("customer.ADDRESS.city", "London");
+        map.put("customer.address.Street", "Baker Street");
+        map.put("deliveryaddress.city", "Leeds");
+        map.put("deliveryaddress.street", "Briggate");
+
+        Order actual = new MapToObjectConverter(false).convert(map, Order.class);
+
+        assertThat(actual.customer.id, equalTo(8L));
+        assertThat(actual.customer.address.street, equalTo("Baker Street"));
+    }
+
+    @Test
+    public void throwsExceptionWithPathWhenNestedValuesAreMissing() {
+        Map<String, Object> map = row();
+        map.remove("customer.address.street");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'street'. Path: 'customer.address'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWithPathWhenNestedObjectDoesNotHaveField() {
+        Map<String, Object> map = row();
+        map.put("customer.address.postcode", "NW1");
+
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'postcode'. Path: 'customer.address'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionForDottedKeysNotLeadingToNestedObject() {
+        Map<String, Object> map = row();
+        map.put("id.value", "x");
+
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'id.value'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenMapContainsBothKeyAndDottedKeysOfNestedObject() {
+        Map<String, Object> map = row();
+        map.put("customer", new HashMap<>());
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Map contains both key 'customer' and keys starting with 'customer.'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    private static class Money {
+        final BigDecimal amount;
+        final String currency;
+
+        Money(BigDecimal amount, String currency) {
+            this.amount = amount;
+            this.currency = currency;
+        }
+    }
+
+    private static class Invoice {
+        Money total;
+        Customer customer;
+    }
+
+    @Test
+    public void leavesDottedKeysReadByMultiValueConverters() {
+        mapToObjectConverter.registerConverter(Money.class, asList("total.amount", "total.currency"),
+                values -> new Money((BigDecimal) values.get("total.amount"), (String) values.get("total.currency")));
+
+        Map<String, Object> map = row();
+        map.remove("id");
+        map.remove("deliveryAddress.city");
+        map.remove("deliveryAddress.street");
+        map.put("total.amount", BigDecimal.ONE);
+        map.put("total.currency", "GBP");
+
+        Invoice actual = mapToObjectConverter.convert(map, Invoice.class);
+
+        assertThat(actual.total.currency, equalTo("GBP"));
+        assertThat(actual.customer.name, equalTo("Jaroslaw"));
+    }
+
+}
@@ -0,0 +1,209 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterEnumCreationException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_EnumCodes {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+
+
+    private enum Colour {
+        RED, GREEN, BLUE
+    }
+
+    private static class ClassWithColourField {
+        Colour colour;
+    }
+
+    @Test
+    public void mapsIntegerToEnumByOrdinal() {
+        mapToObjectConverter.registerConverter(Colour.class, EnumConverters.byOrdinal(Colour.class));
+
+        ClassWithColourField actual = mapToObjectConverter.convert(singletonMap("colour", 2), ClassWithColourField.class);
+
+        assertThat(actual.colour, equalTo(Colour.BLUE));
+    }
+
+    @Test
+    public void throwsExceptionWhenThereIsNoEnumWithOrdinal() {
+        mapToObjectConverter.registerConverter(Colour.class, EnumConverters.byOrdinal(Colour.class));
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectCause(instanceOf(ConverterEnumCreationException.class));
+        expectedException.expectMessage(containsString("'" + Colour.class.getTypeName() + "' does not have an enum with ordinal '3'."));
+
+        mapToObjectConverter.convert(singletonMap("colour", 3), ClassWithColourField.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenMappingNonIntegerByOrdinal() {
+        mapToObjectConverter.registerConverter(Colour.class, EnumConverters.byOrdinal(Colour.class));
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectCause(instanceOf(ConverterEnumCreationException.class));
+        expectedException.expectMessage(containsString("Cannot convert value of type 'java.lang.String' to enum."));
+
+        mapToObjectConverter.convert(singletonMap("colour", "RED"), ClassWithColourField.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenEnumDoesNotDeclareCode() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Enum '" + Colour.class.getTypeName() + "' does not have a field or method annotated with @EnumCode."));
+
+        EnumConverters.byCode(Colour.class);
+    }
+
+
+
+    private enum Gender {
+        MALE(10), FEMALE(11), OTHER(15);
+
+        @EnumCode
+        private final int number;
+
+        Gender(int number) {
+            this.number = number;
+        }
+    }
+
+    private static class ClassWithGenderFields {
+        Gender gender;
+        Optional<Gender> optionalGender;
+    }
+
+    @Test
+    public void mapsIntegersToEnumsWithCodeWithoutRegisteringConverter() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("gender", 11);
+        map.put("optionalGender", 15L);
+
+        ClassWithGenderFields actual = mapToObjectConverter.convert(map, ClassWithGenderFields.class);
+
+        assertThat(actual.gender, equalTo(Gender.FEMALE));
+        assertThat(actual.optionalGender, equalTo(Optional.of(Gender.OTHER)));
+    }
+
+    @Test
+    public void stillMapsStringsToEnumsWithCodeByName() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("gender", "MALE");
+        map.put("optionalGender", null);
+
+        ClassWithGenderFields actual = mapToObjectConverter.convert(map, ClassWithGenderFields.class);
+
+        assertThat(actual.gender, equalTo(Gender.MALE));
+        assertThat(actual.optionalGender, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void throwsExceptionWhenThereIsNoEnumWithCode() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("gender", 12);
+        map.put("optionalGender", null);
+
+        expectedException.expect(ConverterEnumCreationException.class);
+        expectedException.expectMessage(equalTo("'" + Gender.class.getTypeName() + "' does not have an enum with code '12'."));
+
+        mapToObjectConverter.convert(map, ClassWithGenderFields.class);
+    }
+
+
+
+    private enum HttpStatus {
+        OK(200), NOT_FOUND(404), SERVER_ERROR(500), NEGATIVE(-1_000_000);
+
+        private final int code;
+
+        HttpStatus(int code) {
+            this.code = code;
+        }
+
+        @EnumCode
+        int code() {
+            return code;
+        }
+    }
+
+    private static class ClassWithStatusField {
+        HttpStatus status;
+    }
+
+    @Test
+    public void mapsSparseCodesDeclaredByMethod() {
+        mapToObjectConverter.registerConverter(HttpStatus.class, EnumConverters.byCode(HttpStatus.class));
+
+        assertThat(mapToObjectConverter.convert(singletonMap("status", 404), ClassWithStatusField.class).status, equalTo(HttpStatus.NOT_FOUND));
+        assertThat(mapToObjectConverter.convert(singletonMap("status", -1_000_000), ClassWithStatusField.class).status, equalTo(HttpStatus.NEGATIVE));
+    }
+
+    @Test
+    public void throwsExceptionWhenThereIsNoEnumWithSparseCode() {
+        mapToObjectConverter.registerConverter(HttpStatus.class, EnumConverters.byCode(HttpStatus.class));
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectCause(instanceOf(ConverterEnumCreationException.class));
+        expectedException.expectMessage(containsString("'" + HttpStatus.class.getTypeName() + "' does not have an enum with code '10000000000'."));
+
+        mapToObjectConverter.convert(singletonMap("status", 10_000_000_000L), ClassWithStatusField.class);
+    }
+
+
+
+    private enum DuplicateCodes {
+        A(1), B(1);
+
+        @EnumCode
+        private final int code;
+
+        DuplicateCodes(int code) {
+            this.code = code;
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenCodesAreNotUnique() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Enum '" + DuplicateCodes.class.getTypeName() + "' has more than one constant with code '1'."));
+
+        EnumConverters.byCode(DuplicateCodes.class);
+    }
+
+
+
+    private enum InvalidCode {
+        A;
+
+        @EnumCode
+        private final String code = "a";
+    }
+
+    @Test
+    public void throwsExceptionWhenCodeIsNotInt() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("@EnumCode in enum '" + InvalidCode.class.getTypeName() + "' has to be placed on non-static int field or non-static method without parameters returning int."));
+
+        EnumConverters.byCode(InvalidCode.class);
+    }
+
+}
@@ -0,0 +1,136 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import com.google.gson.reflect.TypeToken;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_GenericTypes {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Order {
+        String id;
+    }
+
+    private static class Payment {
+        long amount;
+    }
+
+    private static class Page<T> {
+        int number;
+        List<T> items;
+        Optional<T> first;
+    }
+
+    private static Map<String, Object> page(Object item) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("number", 1);
+        map.put("items", List.of(item));
+        map.put("first", item);
+        return map;
+    }
+
+    @Test
+    public void resolvesTypeVariablesAgainstTypeArguments() {
+        Type type = new TypeToken<Page<Order>>() {}.getType();
+
+        Page<Order> actual = mapToObjectConverter.convert(page(Map.of("id", "a")), type);
+
+        assertThat(actual.number, equalTo(1));
+        assertThat(actual.items.get(0).id, equalTo("a"));
+        assertThat(actual.first.get().id, equalTo("a"));
+    }
+
+    @Test
+    public void usesSeparatePlansForDifferentTypeArguments() {
+        Page<Order> orders = mapToObjectConverter.convert(page(Map.of("id", "a")), new TypeToken<Page<Order>>() {}.getType());
+        Page<Payment> payments = mapToObjectConverter.convert(page(Map.of("amount", 5L)), new TypeToken<Page<Payment>>() {}.getType());
+
+        assertThat(orders.items.get(0).id, equalTo("a"));
+        assertThat(payments.items.get(0).amount, equalTo(5L));
+    }
+
+    @Test
+    public void checksTypesOfValuesAgainstTypeArguments() {
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'Optional<java.lang.Integer>' to field 'first' of type 'Optional<java.lang.String>'."));
+
+        mapToObjectConverter.convert(page(7), new TypeToken<Page<String>>() {}.getType());
+    }
+
+    private static class Envelope<T> {
+        String sender;
+        T payload;
+    }
+
+    private static class OrderEnvelope extends Envelope<Order> {
+    }
+
+    @Test
+    public void resolvesTypeVariablesOfSuperclass() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("sender", "x");
+        map.put("payload", Map.of("id", "b"));
+
+        OrderEnvelope actual = mapToObjectConverter.convert(map, OrderEnvelope.class);
+
+        assertThat(actual.payload.id, equalTo("b"));
+    }
+
+    private static class Batch {
+        Envelope<Payment> envelope;
+    }
+
+    @Test
+    public void convertsNestedMapsIntoParameterizedFields() {
+        Map<String, Object> envelope = new HashMap<>();
+        envelope.put("sender", "x");
+        envelope.put("payload", Map.of("amount", 3L));
+
+        Batch actual = mapToObjectConverter.convert(Map.of("envelope", envelope), Batch.class);
+
+        assertThat(actual.envelope.payload.amount, equalTo(3L));
+    }
+
+    private record Pair<A, B>(A left, B right) {}
+
+    @Test
+    public void resolvesTypeVariablesOfRecordComponents() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("left", Map.of("id", "c"));
+        map.put("right", 4);
+
+        Pair<Order, Integer> actual = mapToObjectConverter.convert(map, new TypeToken<Pair<Order, Integer>>() {}.getType());
+
+        assertThat(actual.left().id, equalTo("c"));
+        assertThat(actual.right(), equalTo(4));
+    }
+
+    @Test
+    public void throwsExceptionForTypesOtherThanClassesAndParameterizedClasses() {
+        Type type = new TypeToken<List<? extends Order>>() {}.getType();
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot convert map to type '? extends " + Order.class.getTypeName() + "'."));
+
+        mapToObjectConverter.convert(new HashMap<>(), ((ParameterizedType) type).getActualTypeArguments()[0]);
+    }
+
+}
@@ -0,0 +1,135 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Interning {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Trade {
+        String id;
+        @Interned
+        String currency;
+        @Interned
+        BigDecimal fee;
+        @Interned(maximumSize = 1)
+        Optional<String> venue;
+    }
+
+    private static Map<String, Object> trade(String id, String currency, String fee, String venue) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("currency", new String(currency));
+        map.put("fee", new BigDecimal(fee));
+        map.put("venue", venue == null ? null : new String(venue));
+        return map;
+    }
+
+    @Test
+    public void sharesInstancesOfEqualValuesOfInternedFields() {
+        Trade first = mapToObjectConverter.convert(trade(new String("a"), "GBP", "0.50", "LSE"), Trade.class);
+        Trade second = mapToObjectConverter.convert(trade(new String("a"), "GBP", "0.50", "LSE"), Trade.class);
+
+        assertThat(second.currency, sameInstance(first.currency));
+        assertThat(second.fee, sameInstance(first.fee));
+        assertThat(second.venue, sameInstance(first.venue));
+        assertThat(second.id, not(sameInstance(first.id)));
+    }
+
+    @Test
+    public void doesNotInternValuesWhenTableIsFull() {
+        Trade first = mapToObjectConverter.convert(trade("a", "GBP", "0.50", "LSE"), Trade.class);
+        Trade second = mapToObjectConverter.convert(trade("b", "GBP", "0.50", "NYSE"), Trade.class);
+        Trade third = mapToObjectConverter.convert(trade("c", "GBP", "0.50", "NYSE"), Trade.class);
+
+        assertThat(third.venue, equalTo(Optional.of("NYSE")));
+        assertThat(third.venue, not(sameInstance(second.venue)));
+    }
+
+    @Test
+    public void returnsInterningStatistics() {
+        mapToObjectConverter.convert(trade("a", "GBP", "0.50", null), Trade.class);
+        mapToObjectConverter.convert(trade("b", "GBP", "0.50", null), Trade.class);
+        mapToObjectConverter.convert(trade("c", "USD", "0.50", null), Trade.class);
+        mapToObjectConverter.convert(trade("d", "GBP", "0.50", null), Trade.class);
+
+        InterningStatistics actual = mapToObjectConverter.interningStatistics(Trade.class, "currency");
+
+        assertThat(actual.getValues(), equalTo(4L));
+        assertThat(actual.getUniqueValues(), equalTo(2L));
+        assertThat(actual.getDuplicates(), equalTo(2L));
+        assertThat(actual.getUniqueValueRatio(), equalTo(0.5));
+        assertThat(actual.getEstimatedBytesSaved(), equalTo(2 * (24L + 24L)));
+    }
+
+    private static class Money {
+        final String currency;
+
+        Money(String currency) {
+            this.currency = currency;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Money && ((Money) o).currency.equals(currency);
+        }
+
+        @Override
+        public int hashCode() {
+            return currency.hashCode();
+        }
+    }
+
+    private static class Payment {
+        @Interned
+        Money money;
+    }
+
+    @Test
+    public void internsValuesCreatedByRegisteredConverters() {
+        mapToObjectConverter.registerConverter(String.class, Money.class, Money::new);
+
+        Payment first = mapToObjectConverter.convert(Map.of("money", "GBP"), Payment.class);
+        Payment second = mapToObjectConverter.convert(Map.of("money", "GBP"), Payment.class);
+
+        assertThat(second.money, sameInstance(first.money));
+    }
+
+    private record Country(@Interned String code, String name) {}
+
+    @Test
+    public void internsArgumentsOfRecords() {
+        Country first = mapToObjectConverter.convert(Map.of("code", new String("GB"), "name", "United Kingdom"), Country.class);
+        Country second = mapToObjectConverter.convert(Map.of("code", new String("GB"), "name", "Great Britain"), Country.class);
+
+        assertThat(second.code(), sameInstance(first.code()));
+    }
+
+    @Test
+    public void throwsExceptionForStatisticsOfFieldsWhichAreNotInterned() {
+        mapToObjectConverter.convert(trade("a", "GBP", "0.50", null), Trade.class);
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Field 'id' of '" + Trade.class.getTypeName() + "' is not annotated with @Interned."));
+
+        mapToObjectConverter.interningStatistics(Trade.class, "id");
+    }
+
+}
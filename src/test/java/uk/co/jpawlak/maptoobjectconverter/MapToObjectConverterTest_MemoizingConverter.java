@@ -0,0 +1,143 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_MemoizingConverter {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private final AtomicInteger conversions = new AtomicInteger();
+
+    private LocalDate parse(Object value) {
+        conversions.incrementAndGet();
+        return LocalDate.parse((String) value);
+    }
+
+    private static class ClassWithDateField {
+        LocalDate date;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Illegal argument
+
+    @Test
+    public void throwsExceptionWhenMaximumSizeIsNotPositive() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Maximum size of the cache has to be positive."));
+
+        mapToObjectConverter.registerMemoizingConverter(LocalDate.class, 0, this::parse);
+    }
+
+    @Test
+    public void throwsExceptionWhenAskedForStatisticsOfNonMemoizingConverter() {
+        mapToObjectConverter.registerConverter(LocalDate.class, this::parse);
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("No memoizing converter registered for 'java.time.LocalDate'."));
+
+        mapToObjectConverter.memoizationStatistics(LocalDate.class);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Memoization
+
+    @Test
+    public void convertsEachDistinctValueOnce() {
+        mapToObjectConverter.registerMemoizingConverter(LocalDate.class, 10, this::parse);
+
+        ClassWithDateField first = mapToObjectConverter.convert(singletonMap("date", "2016-09-18"), ClassWithDateField.class);
+        ClassWithDateField second = mapToObjectConverter.convert(singletonMap("date", "2016-09-18"), ClassWithDateField.class);
+        ClassWithDateField third = mapToObjectConverter.convert(singletonMap("date", "2016-02-21"), ClassWithDateField.class);
+
+        assertThat(first.date, equalTo(LocalDate.of(2016, 9, 18)));
+        assertThat(second.date, equalTo(LocalDate.of(2016, 9, 18)));
+        assertThat(third.date, equalTo(LocalDate.of(2016, 2, 21)));
+        assertThat(conversions.get(), equalTo(2));
+
+        CacheStatistics statistics = mapToObjectConverter.memoizationStatistics(LocalDate.class);
+        assertThat(statistics.getHits(), equalTo(1L));
+        assertThat(statistics.getMisses(), equalTo(2L));
+        assertThat(statistics.getEvictions(), equalTo(0L));
+    }
+
+    @Test
+    public void evictsOldestValuesWhenCacheIsFull() {
+        mapToObjectConverter.registerMemoizingConverter(LocalDate.class, 2, this::parse);
+
+        mapToObjectConverter.convert(singletonMap("date", "2016-01-01"), ClassWithDateField.class);
+        mapToObjectConverter.convert(singletonMap("date", "2016-01-02"), ClassWithDateField.class);
+        mapToObjectConverter.convert(singletonMap("date", "2016-01-03"), ClassWithDateField.class);
+        mapToObjectConverter.convert(singletonMap("date", "2016-01-01"), ClassWithDateField.class);
+
+        assertThat(conversions.get(), equalTo(4));
+        assertThat(mapToObjectConverter.memoizationStatistics(LocalDate.class).getEvictions(), equalTo(2L));
+    }
+
+    @Test
+    public void doesNotCacheExceptionsThrownByConverter() {
+        mapToObjectConverter.registerMemoizingConverter(LocalDate.class, 10, this::parse);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                mapToObjectConverter.convert(singletonMap("date", "not a date"), ClassWithDateField.class);
+            } catch (RegisteredConverterException e) {
+                assertThat(e.getCause(), instanceOf(RuntimeException.class));
+            }
+        }
+
+        assertThat(conversions.get(), equalTo(2));
+    }
+
+    @Test
+    public void computesValueOnceForConcurrentConversions() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        mapToObjectConverter.registerMemoizingConverter(LocalDate.class, 10, value -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return parse(value);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ClassWithDateField>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> mapToObjectConverter.convert(singletonMap("date", "2016-09-18"), ClassWithDateField.class)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<ClassWithDateField> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).date, equalTo(LocalDate.of(2016, 9, 18)));
+        }
+        executor.shutdown();
+
+        assertThat(conversions.get(), equalTo(1));
+        assertThat(mapToObjectConverter.memoizationStatistics(LocalDate.class).getMisses(), equalTo(1L));
+    }
+
+}
@@ -0,0 +1,206 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_MultiValueConverter {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Money {
+        final BigDecimal amount;
+        final String currency;
+
+        Money(BigDecimal amount, String currency) {
+            this.amount = amount;
+            this.currency = currency;
+        }
+    }
+
+    private static Money money(Map<String, Object> values) {
+        return new Money((BigDecimal) values.get("amount"), (String) values.get("currency"));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Illegal argument
+
+    @Test
+    public void throwsExceptionWhenTryingToRegisterConverterWithoutKeys() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Registered converter has to read at least one key."));
+
+        mapToObjectConverter.registerConverter(Money.class, emptyList(), MapToObjectConverterTest_MultiValueConverter::money);
+    }
+
+    @Test
+    public void throwsExceptionWhenTryingToRegisterConverterWithNullKey() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Keys read by registered converter cannot be null."));
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", null), MapToObjectConverterTest_MultiValueConverter::money);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Conversion
+
+    private static class Order {
+        String id;
+        Money price;
+    }
+
+    @Test
+    public void createsFieldFromMultipleValues() {
+        Map<String, Object> map = Map.of(
+                "id", "order-1",
+                "amount", new BigDecimal("9.99"),
+                "currency", "GBP"
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), MapToObjectConverterTest_MultiValueConverter::money);
+
+        Order actual = mapToObjectConverter.convert(map, Order.class);
+
+        assertThat(actual.id, equalTo("order-1"));
+        assertThat(actual.price.amount, equalTo(new BigDecimal("9.99")));
+        assertThat(actual.price.currency, equalTo("GBP"));
+    }
+
+    @Test
+    public void passesOnlyDeclaredKeysToConverter() {
+        Map<String, Object> map = Map.of(
+                "id", "order-2",
+                "amount", BigDecimal.ONE,
+                "currency", "EUR"
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), values -> {
+            assertThat(values, equalTo(Map.of("amount", BigDecimal.ONE, "currency", "EUR")));
+            return money(values);
+        });
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenMapDoesNotContainKeyReadByConverter() {
+        Map<String, Object> map = Map.of(
+                "id", "order-3",
+                "amount", BigDecimal.ONE
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), MapToObjectConverterTest_MultiValueConverter::money);
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'currency'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenMapContainsKeyEqualToNameOfFieldWithMultiValueConverter() {
+        Map<String, Object> map = Map.of(
+                "id", "order-4",
+                "price", BigDecimal.ONE,
+                "amount", BigDecimal.ONE,
+                "currency", "USD"
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), MapToObjectConverterTest_MultiValueConverter::money);
+
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'price'."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenConverterReturnsNullForNonOptionalField() {
+        Map<String, Object> map = Map.of(
+                "id", "order-5",
+                "amount", BigDecimal.ONE,
+                "currency", "USD"
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), values -> null);
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Registered converter for type '" + Money.class.getTypeName() + "' returned null."));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenConverterThrowsException() {
+        Map<String, Object> map = Map.of(
+                "id", "order-6",
+                "amount", "not a number",
+                "currency", "USD"
+        );
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), MapToObjectConverterTest_MultiValueConverter::money);
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectCause(instanceOf(ClassCastException.class));
+
+        mapToObjectConverter.convert(map, Order.class);
+    }
+
+
+
+    private static class OrderWithOptionalDiscount {
+        String id;
+        Optional<Money> discount;
+    }
+
+    @Test
+    public void passesNullValuesToConverterForOptionalField() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "order-7");
+        map.put("amount", null);
+        map.put("currency", null);
+
+        mapToObjectConverter.registerConverter(Money.class, asList("amount", "currency"), values -> values.get("amount") == null ? null : money(values));
+
+        OrderWithOptionalDiscount actual = mapToObjectConverter.convert(map, OrderWithOptionalDiscount.class);
+
+        assertThat(actual.discount, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void readsKeysIgnoringCaseInCaseInsensitiveMode() {
+        Map<String, Object> map = Map.of(
+                "ID", "order-8",
+                "AMOUNT", BigDecimal.TEN,
+                "Currency", "PLN"
+        );
+
+        MapToObjectConverter converter = new MapToObjectConverter(false)
+                .registerConverter(Money.class, asList("amount", "currency"), MapToObjectConverterTest_MultiValueConverter::money);
+
+        Order actual = converter.convert(map, Order.class);
+
+        assertThat(actual.price.amount, equalTo(BigDecimal.TEN));
+        assertThat(actual.price.currency, equalTo("PLN"));
+    }
+
+}
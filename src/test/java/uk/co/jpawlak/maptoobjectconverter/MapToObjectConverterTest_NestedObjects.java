@@ -0,0 +1,255 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_NestedObjects {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Address {
+        String city;
+    }
+
+    private static class Order {
+        String id;
+        Address address;
+    }
+
+    private static class Customer {
+        String name;
+        Optional<Address> address;
+        List<Order> orders;
+    }
+
+    private static Map<String, Object> address(Object city) {
+        return singletonMap("city", city);
+    }
+
+    private static Map<String, Object> order(String id, Object address) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", id);
+        map.put("address", address);
+        return map;
+    }
+
+    private static Map<String, Object> customer(Object address, Object orders) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("address", address);
+        map.put("orders", orders);
+        return map;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Conversion
+
+    @Test
+    public void convertsNestedMapsAndListsOfMaps() {
+        Map<String, Object> map = customer(address("London"), List.of(order("1", address("Leeds")), order("2", address("York"))));
+
+        Customer actual = mapToObjectConverter.convert(map, Customer.class);
+
+        assertThat(actual.name, equalTo("Jaroslaw"));
+        assertThat(actual.address.get().city, equalTo("London"));
+        assertThat(actual.orders.size(), equalTo(2));
+        assertThat(actual.orders.get(0).id, equalTo("1"));
+        assertThat(actual.orders.get(0).address.city, equalTo("Leeds"));
+        assertThat(actual.orders.get(1).address.city, equalTo("York"));
+    }
+
+    @Test
+    public void keepsValuesWhichAreAlreadyInstancesOfTargetClass() {
+        Address address = new Address();
+
+        Order actual = mapToObjectConverter.convert(order("1", address), Order.class);
+
+        assertThat(actual.address, sameInstance(address));
+    }
+
+    @Test
+    public void convertsNullValueOfOptionalNestedObjectToEmpty() {
+        Customer actual = mapToObjectConverter.convert(customer(null, List.of()), Customer.class);
+
+        assertThat(actual.address, equalTo(Optional.empty()));
+        assertThat(actual.orders, equalTo(List.of()));
+    }
+
+    private static class Containers {
+        Set<Address> set;
+        Map<String, Address> map;
+        Address[] array;
+        List<List<Address>> lists;
+    }
+
+    @Test
+    public void convertsSetsMapsArraysAndNestedLists() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("set", List.of(address("a")));
+        map.put("map", Map.of("home", address("b")));
+        map.put("array", new Object[] {address("c"), null});
+        map.put("lists", List.of(List.of(address("d"))));
+
+        Containers actual = mapToObjectConverter.convert(map, Containers.class);
+
+        assertThat(actual.set.iterator().next().city, equalTo("a"));
+        assertThat(actual.map.get("home").city, equalTo("b"));
+        assertThat(actual.array.length, equalTo(2));
+        assertThat(actual.array[0].city, equalTo("c"));
+        assertThat(actual.array[1], nullValue());
+        assertThat(actual.lists.get(0).get(0).city, equalTo("d"));
+    }
+
+    private static class TreeNode {
+        String name;
+        List<TreeNode> children;
+    }
+
+    @Test
+    public void convertsRecursiveTypes() {
+        Map<String, Object> leaf = new HashMap<>();
+        leaf.put("name", "leaf");
+        leaf.put("children", List.of());
+        Map<String, Object> root = new HashMap<>();
+        root.put("name", "root");
+        root.put("children", List.of(leaf));
+
+        TreeNode actual = mapToObjectConverter.convert(root, TreeNode.class);
+
+        assertThat(actual.children.get(0).name, equalTo("leaf"));
+        assertThat(actual.children.get(0).children, equalTo(List.of()));
+    }
+
+    @Test
+    public void doesNotConvertMapsForClassesWithRegisteredConverter() {
+        mapToObjectConverter.registerConverter(Address.class, value -> {
+            Address address = new Address();
+            address.city = "converted";
+            return address;
+        });
+
+        Order actual = mapToObjectConverter.convert(order("1", address("London")), Order.class);
+
+        assertThat(actual.address.city, equalTo("converted"));
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Errors
+
+    @Test
+    public void throwsExceptionWithPathOfNestedField() {
+        Map<String, Object> map = customer(null, List.of(order("1", address("Leeds")), order("2", address(7))));
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.Integer' to field 'city' of type 'java.lang.String'. Path: 'orders[1].address.city'."));
+
+        mapToObjectConverter.convert(map, Customer.class);
+    }
+
+    @Test
+    public void throwsExceptionWithPathOfNestedObjectWhenValuesAreMissing() {
+        Map<String, Object> map = customer(new HashMap<>(), List.of());
+
+        try {
+            mapToObjectConverter.convert(map, Customer.class);
+            fail();
+        } catch (ConverterMissingValuesException e) {
+            assertThat(e.getMessage(), equalTo("No values for fields: 'city'. Path: 'address'."));
+            assertThat(e.getPath(), equalTo("address"));
+        }
+    }
+
+    private static class Postcode {
+    }
+
+    private static class Destination {
+        Postcode postcode;
+    }
+
+    private static class Shipment {
+        Destination destination;
+    }
+
+    @Test
+    public void doesNotModifyExceptionsSharedByConcurrentConversions() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        mapToObjectConverter.registerMemoizingConverter(Postcode.class, 10, value -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            throw new IllegalArgumentException("Invalid postcode.");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Shipment>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> mapToObjectConverter.convert(singletonMap("destination", singletonMap("postcode", "X1")), Shipment.class)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Shipment> result : results) {
+                try {
+                    result.get(5, TimeUnit.SECONDS);
+                    fail();
+                } catch (ExecutionException e) {
+                    assertThat(((ConverterException) e.getCause()).getPath(), equalTo("destination.postcode"));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void doesNotIncludePathInMessageOfExceptionsForTopLevelFields() {
+        try {
+            mapToObjectConverter.convert(order("1", "London"), Order.class);
+            fail();
+        } catch (ConverterException e) {
+            assertThat(e.getMessage(), equalTo("Cannot assign value of type 'java.lang.String' to field 'address' of type '" + Address.class.getTypeName() + "'."));
+            assertThat(e.getPath(), equalTo("address"));
+        }
+    }
+
+    @Test
+    public void throwsExceptionWhenElementCannotBeAssigned() {
+        Map<String, Object> map = customer(null, List.of("order"));
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to element of type '" + Order.class.getTypeName() + "'. Path: 'orders[0]'."));
+
+        mapToObjectConverter.convert(map, Customer.class);
+    }
+
+}
@@ -0,0 +1,170 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNumericCoercionException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_NumericCoercion {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter().enableNumericCoercion();
+
+
+
+    private static class ClassWithNumericFields {
+        int _int;
+        long _long;
+        double _double;
+        BigDecimal _bigDecimal;
+        Integer _integer;
+        Optional<Long> optionalLong;
+    }
+
+    @Test
+    public void doesNotCoerceNumbersByDefault() {
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.Long' to field '_int' of type 'int'."));
+
+        new MapToObjectConverter().convert(singletonMap("_int", 5L), ClassWithIntField.class);
+    }
+
+    @Test
+    public void coercesNumbersOfDifferentTypes() {
+        Map<String, Object> map = Map.of(
+                "_int", new BigDecimal("12"),
+                "_long", 34,
+                "_double", 7L,
+                "_bigDecimal", 0.25d,
+                "_integer", BigInteger.valueOf(56),
+                "optionalLong", new BigDecimal("78.000")
+        );
+
+        ClassWithNumericFields actual = mapToObjectConverter.convert(map, ClassWithNumericFields.class);
+
+        assertThat(actual._int, equalTo(12));
+        assertThat(actual._long, equalTo(34L));
+        assertThat(actual._double, equalTo(7.0d));
+        assertThat(actual._bigDecimal, equalTo(new BigDecimal("0.25")));
+        assertThat(actual._integer, equalTo(56));
+        assertThat(actual.optionalLong, equalTo(Optional.of(78L)));
+    }
+
+    @Test
+    public void assignsNumbersOfTheSameTypeWithoutCoercion() {
+        Map<String, Object> map = Map.of(
+                "_int", 1,
+                "_long", 2L,
+                "_double", 3.5d,
+                "_bigDecimal", BigDecimal.TEN,
+                "_integer", 4,
+                "optionalLong", 5L
+        );
+
+        ClassWithNumericFields actual = mapToObjectConverter.convert(map, ClassWithNumericFields.class);
+
+        assertThat(actual._int, equalTo(1));
+        assertThat(actual._long, equalTo(2L));
+        assertThat(actual._double, equalTo(3.5d));
+        assertThat(actual._bigDecimal, equalTo(BigDecimal.TEN));
+        assertThat(actual._integer, equalTo(4));
+        assertThat(actual.optionalLong, equalTo(Optional.of(5L)));
+    }
+
+
+
+    private static class ClassWithIntField {
+        int _int;
+    }
+
+    @Test
+    public void throwsExceptionForOverflow() {
+        expectedException.expect(ConverterNumericCoercionException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value '3000000000' of type 'java.lang.Long' to field '_int' of type 'int' without overflow or loss of precision."));
+
+        mapToObjectConverter.convert(singletonMap("_int", 3_000_000_000L), ClassWithIntField.class);
+    }
+
+    @Test
+    public void throwsExceptionForLossOfFractionalPart() {
+        expectedException.expect(ConverterNumericCoercionException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value '1.5' of type 'java.math.BigDecimal' to field '_int' of type 'int' without overflow or loss of precision."));
+
+        mapToObjectConverter.convert(singletonMap("_int", new BigDecimal("1.5")), ClassWithIntField.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenOverflowHappensAfterFieldWasSpecialized() {
+        mapToObjectConverter.convert(singletonMap("_int", 1L), ClassWithIntField.class);
+        mapToObjectConverter.convert(singletonMap("_int", 2L), ClassWithIntField.class);
+
+        expectedException.expect(ConverterNumericCoercionException.class);
+
+        mapToObjectConverter.convert(singletonMap("_int", Long.MAX_VALUE), ClassWithIntField.class);
+    }
+
+
+
+    private static class ClassWithDoubleField {
+        double _double;
+    }
+
+    @Test
+    public void throwsExceptionForLossOfPrecisionOfLong() {
+        expectedException.expect(ConverterNumericCoercionException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value '9007199254740993' of type 'java.lang.Long' to field '_double' of type 'double' without overflow or loss of precision."));
+
+        mapToObjectConverter.convert(singletonMap("_double", 9_007_199_254_740_993L), ClassWithDoubleField.class);
+    }
+
+    @Test
+    public void throwsExceptionForLossOfPrecisionOfBigDecimal() {
+        expectedException.expect(ConverterNumericCoercionException.class);
+
+        mapToObjectConverter.convert(singletonMap("_double", new BigDecimal("0.12345678901234567890123")), ClassWithDoubleField.class);
+    }
+
+    @Test
+    public void coercesDecimalWithShortRepresentationToDouble() {
+        ClassWithDoubleField actual = mapToObjectConverter.convert(singletonMap("_double", new BigDecimal("0.1")), ClassWithDoubleField.class);
+
+        assertThat(actual._double, equalTo(0.1d));
+    }
+
+
+
+    private static class ClassWithLongField {
+        long _long;
+    }
+
+    @Test
+    public void usesRegisteredConverterInsteadOfCoercion() {
+        mapToObjectConverter.registerConverter(long.class, value -> -1L);
+
+        ClassWithLongField actual = mapToObjectConverter.convert(singletonMap("_long", 5), ClassWithLongField.class);
+
+        assertThat(actual._long, equalTo(-1L));
+    }
+
+    @Test
+    public void throwsExceptionForNonNumericValues() {
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field '_long' of type 'long'."));
+
+        mapToObjectConverter.convert(singletonMap("_long", "5"), ClassWithLongField.class);
+    }
+
+}
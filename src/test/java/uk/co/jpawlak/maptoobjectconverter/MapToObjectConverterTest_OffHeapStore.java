@@ -0,0 +1,173 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_OffHeapStore {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private enum Side {
+        BUY, SELL
+    }
+
+    private static class Trade {
+        String symbol;
+        long quantity;
+        double price;
+        Side side;
+        boolean settled;
+        char flag;
+    }
+
+    private static Map<String, Object> trade(String symbol, long quantity, double price, String side) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("symbol", symbol);
+        map.put("quantity", quantity);
+        map.put("price", price);
+        map.put("side", side);
+        map.put("settled", quantity > 5);
+        map.put("flag", 'x');
+        return map;
+    }
+
+    @Test
+    public void readsValuesThroughFlyweight() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        store.add(trade("ABC", 10L, 1.5, "BUY"));
+        store.add(trade("Z\u00fcrich", 3L, 2.25, "SELL"));
+
+        OffHeapStore<Trade>.Flyweight flyweight = store.flyweight().moveTo(1);
+
+        assertThat(store.size(), equalTo(2L));
+        assertThat(flyweight.index(), equalTo(1L));
+        assertThat(flyweight.getString("symbol"), equalTo("Z\u00fcrich"));
+        assertThat(flyweight.getLong("quantity"), equalTo(3L));
+        assertThat(flyweight.getDouble("price"), equalTo(2.25));
+        assertThat(flyweight.getEnum("side", Side.class), equalTo(Side.SELL));
+        assertThat(flyweight.getBoolean("settled"), equalTo(false));
+        assertThat(flyweight.getChar("flag"), equalTo('x'));
+        assertThat(flyweight.moveTo(0).getString("symbol"), equalTo("ABC"));
+    }
+
+    @Test
+    public void createsInstancesFromRecords() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        store.add(trade("ABC", 10L, 1.5, "BUY"));
+
+        Trade actual = store.get(0);
+
+        assertThat(actual.symbol, equalTo("ABC"));
+        assertThat(actual.quantity, equalTo(10L));
+        assertThat(actual.price, equalTo(1.5));
+        assertThat(actual.side, equalTo(Side.BUY));
+        assertThat(actual.settled, equalTo(true));
+        assertThat(store.get(0), not(sameInstance(actual)));
+        assertThat(store.flyweight().moveTo(0).materialize().symbol, equalTo("ABC"));
+    }
+
+    @Test
+    public void storesManyRecordsAcrossChunks() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        for (int i = 0; i < 200_000; i++) {
+            store.add(trade("S" + i, i, i / 2.0, i % 2 == 0 ? "BUY" : "SELL"));
+        }
+
+        OffHeapStore<Trade>.Flyweight flyweight = store.flyweight();
+        long total = 0;
+        for (long i = 0; i < store.size(); i++) {
+            total += flyweight.moveTo(i).getLong("quantity");
+        }
+
+        assertThat(total, equalTo(199_999L * 200_000L / 2));
+        assertThat(flyweight.moveTo(199_999).getString("symbol"), equalTo("S199999"));
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void storesRecords() {
+        OffHeapStore<Point> store = mapToObjectConverter.newOffHeapStore(Point.class);
+        store.add(Map.of("x", 1, "y", 2));
+
+        assertThat(store.get(0), equalTo(new Point(1, 2)));
+        assertThat(store.flyweight().moveTo(0).getInt("y"), equalTo(2));
+    }
+
+    @Test
+    public void validatesRowsInTheSameWayAsConvert() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        Map<String, Object> map = trade("ABC", 10L, 1.5, "BUY");
+        map.remove("price");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'price'."));
+
+        store.add(map);
+    }
+
+    @Test
+    public void doesNotAddRowsWhichFailToConvert() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        Map<String, Object> invalid = trade("ABC", 10L, 1.5, "BUY");
+        invalid.put("price", "high");
+
+        try {
+            store.add(invalid);
+            fail();
+        } catch (ConverterTypeMismatchException e) {
+            store.add(trade("XYZ", 3L, 2.25, "SELL"));
+        }
+
+        OffHeapStore<Trade>.Flyweight flyweight = store.flyweight().moveTo(0);
+
+        assertThat(store.size(), equalTo(1L));
+        assertThat(flyweight.getString("symbol"), equalTo("XYZ"));
+        assertThat(flyweight.getLong("quantity"), equalTo(3L));
+        assertThat(flyweight.getDouble("price"), equalTo(2.25));
+        assertThat(flyweight.getEnum("side", Side.class), equalTo(Side.SELL));
+    }
+
+    private static class Invoice {
+        String id;
+        BigDecimal amount;
+    }
+
+    @Test
+    public void throwsExceptionForUnsupportedFields() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot store field 'amount' of type 'java.math.BigDecimal' of '" + Invoice.class.getTypeName() + "' in binary records. Only primitive, String and enum fields are supported."));
+
+        mapToObjectConverter.newOffHeapStore(Invoice.class);
+    }
+
+    @Test
+    public void throwsExceptionForFieldsOfOtherType() {
+        OffHeapStore<Trade> store = mapToObjectConverter.newOffHeapStore(Trade.class);
+        store.add(trade("ABC", 10L, 1.5, "BUY"));
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Field 'quantity' of '" + Trade.class.getTypeName() + "' is of type 'long', not 'int'."));
+
+        store.flyweight().moveTo(0).getInt("quantity");
+    }
+
+}
@@ -0,0 +1,162 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_OneToMany {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Order {
+        String id;
+        int quantity;
+    }
+
+    private static class Customer {
+        long id;
+        String name;
+        List<Order> orders;
+    }
+
+    private static Map<String, Object> row(long customerId, String name, String orderId, Integer quantity) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", customerId);
+        map.put("name", name);
+        map.put("orders.id", orderId);
+        map.put("orders.quantity", quantity);
+        return map;
+    }
+
+    @Test
+    public void groupsConsecutiveRowsByParentKey() {
+        Stream<Map<String, Object>> rows = Stream.of(
+                row(1, "Jaroslaw", "a", 1),
+                row(1, "Jaroslaw", "b", 2),
+                row(2, "Anna", "c", 3)
+        );
+
+        List<Customer> actual = mapToObjectConverter.convertOneToMany(rows, Customer.class, "id", "orders").collect(toList());
+
+        assertThat(actual.size(), equalTo(2));
+        assertThat(actual.get(0).id, equalTo(1L));
+        assertThat(actual.get(0).name, equalTo("Jaroslaw"));
+        assertThat(actual.get(0).orders.size(), equalTo(2));
+        assertThat(actual.get(0).orders.get(0).id, equalTo("a"));
+        assertThat(actual.get(0).orders.get(1).quantity, equalTo(2));
+        assertThat(actual.get(1).name, equalTo("Anna"));
+        assertThat(actual.get(1).orders.get(0).id, equalTo("c"));
+    }
+
+    @Test
+    public void createsParentWithoutChildrenForRowWithNullChildValues() {
+        Stream<Map<String, Object>> rows = Stream.of(row(1, "Jaroslaw", null, null));
+
+        List<Customer> actual = mapToObjectConverter.convertOneToMany(rows, Customer.class, "id", "orders").collect(toList());
+
+        assertThat(actual.get(0).orders, equalTo(List.of()));
+    }
+
+    @Test
+    public void readsRowsLazily() {
+        AtomicInteger rowsRead = new AtomicInteger();
+        Iterator<Map<String, Object>> source = List.of(
+                row(1, "Jaroslaw", "a", 1),
+                row(2, "Anna", "b", 2),
+                row(3, "Tom", "c", 3)
+        ).iterator();
+        Stream<Map<String, Object>> rows = Stream.generate(() -> {
+            rowsRead.incrementAndGet();
+            return source.next();
+        }).limit(3);
+
+        Iterator<Customer> actual = mapToObjectConverter.convertOneToMany(rows, Customer.class, "id", "orders").iterator();
+        actual.next();
+
+        assertThat(rowsRead.get(), equalTo(2));
+    }
+
+    @Test
+    public void closesRowsWhenStreamIsClosed() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Map<String, Object>> rows = Stream.of(row(1, "Jaroslaw", "a", 1)).onClose(() -> closed.set(true));
+
+        mapToObjectConverter.convertOneToMany(rows, Customer.class, "id", "orders").close();
+
+        assertThat(closed.get(), equalTo(true));
+    }
+
+    private static class Tagged {
+        String name;
+        Set<Order> tags;
+    }
+
+    @Test
+    public void accumulatesChildrenIntoSetIgnoringCaseOfKeys() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (String orderId : List.of("a", "b")) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("NAME", "x");
+            map.put("Tags.ID", orderId);
+            map.put("tags.Quantity", 1);
+            rows.add(map);
+        }
+
+        List<Tagged> actual = new MapToObjectConverter(false).convertOneToMany(rows.stream(), Tagged.class, "name", "TAGS").collect(toList());
+
+        assertThat(actual.size(), equalTo(1));
+        assertThat(actual.get(0).tags.size(), equalTo(2));
+    }
+
+    @Test
+    public void throwsExceptionWithPathOfInvalidChild() {
+        Map<String, Object> invalid = row(1, "Jaroslaw", "b", 2);
+        invalid.put("orders.quantity", "two");
+        Stream<Map<String, Object>> rows = Stream.of(row(1, "Jaroslaw", "a", 1), invalid);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'quantity' of type 'int'. Path: 'orders[1].quantity'."));
+
+        mapToObjectConverter.convertOneToMany(rows, Customer.class, "id", "orders").collect(toList());
+    }
+
+    @Test
+    public void throwsExceptionWhenRowDoesNotContainParentKey() {
+        Map<String, Object> map = row(1, "Jaroslaw", "a", 1);
+        map.remove("id");
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Row does not contain parent key 'id'."));
+
+        mapToObjectConverter.convertOneToMany(Stream.of(map), Customer.class, "id", "orders").collect(toList());
+    }
+
+    @Test
+    public void throwsExceptionWhenChildrenFieldIsNotCollectionOfNestedObjects() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Field 'name' of '" + Customer.class.getTypeName() + "' has to be a List or Set of nested objects."));
+
+        mapToObjectConverter.convertOneToMany(Stream.empty(), Customer.class, "id", "name");
+    }
+
+}
@@ -13,6 +13,7 @@ import java.util.Optional;
 
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static uk.co.jpawlak.maptoobjectconverter.TestUtil.assertObjectsEqual;
 
 @SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
@@ -112,6 +113,44 @@ public class MapToObjectConverterTest_OptionalFields {
 
 
 
+    private static class ClassWithOptionalUpperBoundedWildcardField {
+        Optional<? extends Number> x;
+    }
+
+    @Test
+    public void setsOptionalOfValueAssignableToUpperBoundOfWildcard() {
+        ClassWithOptionalUpperBoundedWildcardField actual = mapToObjectConverter.convert(singletonMap("x", 5), ClassWithOptionalUpperBoundedWildcardField.class);
+
+        assertThat(actual.x, equalTo(Optional.of(5)));
+    }
+
+    @Test
+    public void throwsExceptionForValueNotAssignableToUpperBoundOfWildcard() {
+        Map<String, Object> map = singletonMap("x", "abc");
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'Optional<java.lang.String>' to field 'x' of type 'Optional<? extends java.lang.Number>'."));
+
+        mapToObjectConverter.convert(map, ClassWithOptionalUpperBoundedWildcardField.class);
+    }
+
+
+
+    private static class ClassWithOptionalSuperclassField {
+        Optional<Number> x;
+    }
+
+    @Test
+    public void setsOptionalOfValueOfSubclass() {
+        for (Object value : new Object[] {5, 5L, (short) 5, 5.0}) {
+            ClassWithOptionalSuperclassField actual = mapToObjectConverter.convert(singletonMap("x", value), ClassWithOptionalSuperclassField.class);
+
+            assertThat(actual.x, equalTo(Optional.of(value)));
+        }
+    }
+
+
+
     private static class ClassWithOptionalBoundedWildcardField<T extends Number> {
         Optional<T> x;
     }
@@ -0,0 +1,157 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNumericCoercionException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_PrimitiveOptionalFields {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class ClassWithPrimitiveOptionalFields {
+        OptionalInt anInt;
+        OptionalLong aLong;
+        OptionalDouble aDouble;
+    }
+
+    private static Map<String, Object> map(Object anInt, Object aLong, Object aDouble) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("anInt", anInt);
+        map.put("aLong", aLong);
+        map.put("aDouble", aDouble);
+        return map;
+    }
+
+    @Test
+    public void setsPrimitiveOptionalFields() {
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map(1, 2L, 3.5), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.anInt, equalTo(OptionalInt.of(1)));
+        assertThat(actual.aLong, equalTo(OptionalLong.of(2)));
+        assertThat(actual.aDouble, equalTo(OptionalDouble.of(3.5)));
+    }
+
+    @Test
+    public void setsEmptyPrimitiveOptionalFieldsForNullValues() {
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map(null, null, null), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.anInt, equalTo(OptionalInt.empty()));
+        assertThat(actual.aLong, equalTo(OptionalLong.empty()));
+        assertThat(actual.aDouble, equalTo(OptionalDouble.empty()));
+    }
+
+    @Test
+    public void widensValuesLikePrimitiveFields() {
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map((short) 1, 2, 3L), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.anInt, equalTo(OptionalInt.of(1)));
+        assertThat(actual.aLong, equalTo(OptionalLong.of(2)));
+        assertThat(actual.aDouble, equalTo(OptionalDouble.of(3)));
+    }
+
+    @Test
+    public void throwsExceptionWhenValueCannotBeAssigned() {
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.Long' to field 'anInt' of type 'java.util.OptionalInt'."));
+
+        mapToObjectConverter.convert(map(1L, 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenValueCannotBeAssignedAfterFieldWasSpecialized() {
+        mapToObjectConverter.convert(map(1, 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'aDouble' of type 'java.util.OptionalDouble'."));
+
+        mapToObjectConverter.convert(map(1, 2L, "3.0"), ClassWithPrimitiveOptionalFields.class);
+    }
+
+    @Test
+    public void coercesValuesWhenNumericCoercionIsEnabled() {
+        mapToObjectConverter.enableNumericCoercion();
+
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map(1L, new BigDecimal("2"), new BigDecimal("3.25")), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.anInt, equalTo(OptionalInt.of(1)));
+        assertThat(actual.aLong, equalTo(OptionalLong.of(2)));
+        assertThat(actual.aDouble, equalTo(OptionalDouble.of(3.25)));
+    }
+
+    @Test
+    public void throwsExceptionWhenCoercedValueOverflows() {
+        mapToObjectConverter.enableNumericCoercion();
+
+        expectedException.expect(ConverterNumericCoercionException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value '3000000000' of type 'java.lang.Long' to field 'anInt' of type 'java.util.OptionalInt' without overflow or loss of precision."));
+
+        mapToObjectConverter.convert(map(3_000_000_000L, 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+    }
+
+    @Test
+    public void usesConverterRegisteredForPrimitiveType() {
+        mapToObjectConverter.registerConverter(int.class, value -> value == null ? null : Integer.parseInt((String) value));
+
+        ClassWithPrimitiveOptionalFields first = mapToObjectConverter.convert(map("7", 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+        ClassWithPrimitiveOptionalFields second = mapToObjectConverter.convert(map(null, 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(first.anInt, equalTo(OptionalInt.of(7)));
+        assertThat(second.anInt, equalTo(OptionalInt.empty()));
+    }
+
+    @Test
+    public void usesConverterRegisteredFromSourceClassForWrapperType() {
+        mapToObjectConverter.registerConverter(String.class, Long.class, Long::valueOf);
+
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map(1, "42", 3.0), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.aLong, equalTo(OptionalLong.of(42)));
+    }
+
+    @Test
+    public void throwsExceptionWhenRegisteredConverterReturnsValueOfWrongType() {
+        mapToObjectConverter.registerConverter((Type) double.class, value -> value);
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' returned by registered converter to field 'aDouble' of type 'java.util.OptionalDouble'."));
+
+        mapToObjectConverter.convert(map(1, 2L, "3.0"), ClassWithPrimitiveOptionalFields.class);
+    }
+
+    @Test
+    public void usesConverterRegisteredForPrimitiveOptionalTypeItself() {
+        mapToObjectConverter.registerConverter(OptionalInt.class, value -> OptionalInt.of(((String) value).length()));
+
+        ClassWithPrimitiveOptionalFields actual = mapToObjectConverter.convert(map("abc", 2L, 3.0), ClassWithPrimitiveOptionalFields.class);
+
+        assertThat(actual.anInt, equalTo(OptionalInt.of(3)));
+    }
+
+    @Test
+    public void specializesPrimitiveOptionalFields() {
+        for (int i = 0; i < 3; i++) {
+            mapToObjectConverter.convert(map(i, (long) i, (double) i), ClassWithPrimitiveOptionalFields.class);
+        }
+
+        assertThat(mapToObjectConverter.specializationStatistics(ClassWithPrimitiveOptionalFields.class).getHits(), equalTo(6L));
+    }
+
+}
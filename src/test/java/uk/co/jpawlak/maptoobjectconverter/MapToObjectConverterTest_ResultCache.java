@@ -0,0 +1,210 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_ResultCache {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    @Immutable
+    private static class Product {
+        String code;
+        String name;
+    }
+
+    private static class Basket {
+        String code;
+        String name;
+    }
+
+    private static Map<String, Object> product(String code, String name) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("code", code);
+        map.put("name", name);
+        return map;
+    }
+
+    @Test
+    public void returnsTheSameInstanceForEqualMaps() {
+        mapToObjectConverter.enableResultCache(100, Duration.ofMinutes(1));
+
+        Product first = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        Product second = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        Product third = mapToObjectConverter.convert(Map.of("code", "P1", "name", "Pen"), Product.class);
+
+        assertThat(second, sameInstance(first));
+        assertThat(third, sameInstance(first));
+        assertThat(mapToObjectConverter.resultCacheStatistics().getHits(), equalTo(2L));
+        assertThat(mapToObjectConverter.resultCacheStatistics().getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void doesNotCacheClassesWhichAreNotImmutable() {
+        mapToObjectConverter.enableResultCache(100, Duration.ofMinutes(1));
+
+        Basket first = mapToObjectConverter.convert(product("P1", "Pen"), Basket.class);
+        Basket second = mapToObjectConverter.convert(product("P1", "Pen"), Basket.class);
+
+        assertThat(second, not(sameInstance(first)));
+    }
+
+    @Test
+    public void doesNotCacheResultsUnlessEnabled() {
+        Product first = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        Product second = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+
+        assertThat(second, not(sameInstance(first)));
+    }
+
+    @Test
+    public void isNotAffectedByModificationsOfConvertedMaps() {
+        mapToObjectConverter.enableResultCache(100, Duration.ofMinutes(1));
+        Map<String, Object> map = product("P1", "Pen");
+
+        Product first = mapToObjectConverter.convert(map, Product.class);
+        map.put("name", "Pencil");
+        Product second = mapToObjectConverter.convert(map, Product.class);
+
+        assertThat(first.name, equalTo("Pen"));
+        assertThat(second.name, equalTo("Pencil"));
+        assertThat(mapToObjectConverter.convert(product("P1", "Pen"), Product.class), sameInstance(first));
+    }
+
+    @Test
+    public void expiresResultsAfterTimeToLive() throws InterruptedException {
+        mapToObjectConverter.enableResultCache(100, Duration.ofMillis(1));
+
+        Product first = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        Thread.sleep(20);
+        Product second = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(mapToObjectConverter.resultCacheStatistics().getExpirations(), equalTo(1L));
+    }
+
+    @Test
+    public void evictsOldestResultsWhenMaximumSizeIsExceeded() {
+        mapToObjectConverter.enableResultCache(1, Duration.ofMinutes(1));
+
+        Product first = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        mapToObjectConverter.convert(product("P2", "Pencil"), Product.class);
+        Product second = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(mapToObjectConverter.resultCacheStatistics().getEvictions(), equalTo(2L));
+    }
+
+    @Test
+    public void convertsConcurrentlyConvertedEqualMapsOnce() throws Exception {
+        AtomicInteger conversions = new AtomicInteger();
+        mapToObjectConverter.registerConverter(String.class, value -> {
+            conversions.incrementAndGet();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            return (String) value;
+        });
+        mapToObjectConverter.enableResultCache(100, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Product>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tasks.add(() -> mapToObjectConverter.convert(product("P1", "Pen"), Product.class));
+            }
+            List<Future<Product>> results = executor.invokeAll(tasks);
+
+            for (Future<Product> result : results) {
+                assertThat(result.get(), sameInstance(results.get(0).get()));
+            }
+            assertThat(conversions.get(), equalTo(2));
+            assertThat(mapToObjectConverter.resultCacheStatistics().getMisses(), equalTo(1L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void doesNotExceedMaximumSizeWhenResultsExpireConcurrently() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(8, 3, clock::incrementAndGet);
+        AtomicLong maximumSize = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                int seed = i;
+                tasks.add(() -> {
+                    for (int j = 0; j < 200_000; j++) {
+                        cache.get((j * 7 + seed) % 16, key -> key);
+                        maximumSize.accumulateAndGet(cache.size(), Math::max);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+
+            assertThat("maximum size: " + maximumSize.get(), maximumSize.get() <= 8, equalTo(true));
+            assertThat(cache.statistics().getExpirations() > 0, equalTo(true));
+            assertThat(cache.statistics().getEvictions() > 0, equalTo(true));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void discardsResultsWhenConverterIsRegistered() {
+        mapToObjectConverter.enableResultCache(100, Duration.ofMinutes(1));
+
+        Product first = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+        mapToObjectConverter.registerConverter(String.class, value -> ((String) value).toUpperCase());
+        Product second = mapToObjectConverter.convert(product("P1", "Pen"), Product.class);
+
+        assertThat(second.name, equalTo("PEN"));
+        assertThat(first.name, equalTo("Pen"));
+    }
+
+    @Test
+    public void throwsExceptionForStatisticsIfResultCacheIsNotEnabled() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Result cache is not enabled."));
+
+        mapToObjectConverter.resultCacheStatistics();
+    }
+
+    @Test
+    public void throwsExceptionForNonPositiveTimeToLive() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Time to live of the result cache has to be positive."));
+
+        mapToObjectConverter.enableResultCache(100, Duration.ZERO);
+    }
+
+}
@@ -0,0 +1,225 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIOException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_Snapshots {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private enum Region {
+        EMEA, APAC
+    }
+
+    private static class Instrument {
+        String symbol;
+        String currency;
+        Region region;
+        int lotSize;
+        double tickSize;
+        boolean active;
+    }
+
+    private static Instrument instrument(String symbol, String currency, Region region, int lotSize) {
+        Instrument instrument = new Instrument();
+        instrument.symbol = symbol;
+        instrument.currency = currency;
+        instrument.region = region;
+        instrument.lotSize = lotSize;
+        instrument.tickSize = 0.01;
+        instrument.active = true;
+        return instrument;
+    }
+
+    @Test
+    public void readsWrittenInstances() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+
+        long written = mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(
+                instrument("ABC", "GBP", Region.EMEA, 100),
+                instrument("XYZ", "JPY", Region.APAC, 1000)
+        ));
+        List<Instrument> actual = mapToObjectConverter.readSnapshot(file, Instrument.class);
+
+        assertThat(written, equalTo(2L));
+        assertThat(actual.size(), equalTo(2));
+        assertThat(actual.get(1).symbol, equalTo("XYZ"));
+        assertThat(actual.get(1).currency, equalTo("JPY"));
+        assertThat(actual.get(1).region, equalTo(Region.APAC));
+        assertThat(actual.get(1).lotSize, equalTo(1000));
+        assertThat(actual.get(1).tickSize, equalTo(0.01));
+        assertThat(actual.get(1).active, equalTo(true));
+    }
+
+    @Test
+    public void readsManySegmentsInOrder() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        List<Instrument> instruments = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            instruments.add(instrument("S" + i, i % 2 == 0 ? "GBP" : "USD", Region.EMEA, i));
+        }
+
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, instruments);
+        List<Instrument> actual = mapToObjectConverter.readSnapshot(file, Instrument.class);
+
+        assertThat(actual.size(), equalTo(1_000_000));
+        for (int i = 0; i < actual.size(); i += 99_999) {
+            assertThat(actual.get(i).symbol, equalTo("S" + i));
+            assertThat(actual.get(i).lotSize, equalTo(i));
+        }
+        assertThat(actual.get(2).currency, sameInstance(actual.get(4).currency));
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void readsRecords() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+
+        mapToObjectConverter.writeSnapshot(file, Point.class, List.of(new Point(1, 2), new Point(3, 4)));
+
+        assertThat(mapToObjectConverter.readSnapshot(file, Point.class), equalTo(List.of(new Point(1, 2), new Point(3, 4))));
+    }
+
+    private static class Point2 {
+        int x;
+        int y;
+    }
+
+    @Test
+    public void throwsExceptionForSnapshotsOfDifferentLayout() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        mapToObjectConverter.writeSnapshot(file, Point.class, List.of(new Point(1, 2)));
+
+        expectedException.expect(ConverterIOException.class);
+        expectedException.expectMessage(equalTo("Snapshot '" + file + "' was written with a different layout of '" + Point2.class.getTypeName() + "'."));
+
+        mapToObjectConverter.readSnapshot(file, Point2.class);
+    }
+
+    @Test
+    public void throwsExceptionForNullStringFields() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Cannot store null value of field 'currency' of '" + Instrument.class.getTypeName() + "' in binary records. Path: '[1]'."));
+
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(
+                instrument("ABC", "GBP", Region.EMEA, 100),
+                instrument("XYZ", null, Region.APAC, 1000)
+        ));
+    }
+
+    @Test
+    public void throwsExceptionForNullEnumFields() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Cannot store null value of field 'region' of '" + Instrument.class.getTypeName() + "' in binary records. Path: '[0]'."));
+
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("ABC", "GBP", null, 100)));
+    }
+
+    @Test
+    public void keepsExistingSnapshotWhenWritingFails() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("ABC", "GBP", Region.EMEA, 100)));
+
+        try {
+            mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("XYZ", "JPY", Region.APAC, 1000), instrument("DEF", null, Region.APAC, 10)));
+            fail();
+        } catch (ConverterNullValueException e) {
+            List<Instrument> actual = mapToObjectConverter.readSnapshot(file, Instrument.class);
+
+            assertThat(actual.size(), equalTo(1));
+            assertThat(actual.get(0).symbol, equalTo("ABC"));
+            try (Stream<Path> files = Files.list(temporaryFolder.getRoot().toPath())) {
+                assertThat(files.collect(toList()), equalTo(List.of(file)));
+            }
+        }
+    }
+
+    @Test
+    public void replacesExistingSnapshot() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("ABC", "GBP", Region.EMEA, 100), instrument("DEF", "GBP", Region.EMEA, 10)));
+
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("XYZ", "JPY", Region.APAC, 1000)));
+        List<Instrument> actual = mapToObjectConverter.readSnapshot(file, Instrument.class);
+
+        assertThat(actual.size(), equalTo(1));
+        assertThat(actual.get(0).symbol, equalTo("XYZ"));
+    }
+
+    @Test
+    public void throwsExceptionForFilesWhichAreNotSnapshots() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        Files.writeString(file, "symbol,currency,region,lotSize,tickSize,active");
+
+        expectedException.expect(ConverterIOException.class);
+        expectedException.expectMessage(equalTo("File '" + file + "' is not a snapshot."));
+
+        mapToObjectConverter.readSnapshot(file, Instrument.class);
+    }
+
+    @Test
+    public void throwsExceptionForSnapshotsWithInvalidHeader() throws IOException {
+        Path file = temporaryFolder.newFile().toPath();
+        mapToObjectConverter.writeSnapshot(file, Instrument.class, List.of(instrument("ABC", "GBP", Region.EMEA, 100)));
+        byte[] snapshot = Files.readAllBytes(file);
+
+        // offset, width and value of: zero records per segment, negative count, count beyond the file, strings beyond the file
+        for (int[] field : new int[][] {{20, 4, 0}, {24, 8, -1}, {24, 8, 2}, {32, 8, Integer.MAX_VALUE}}) {
+            ByteBuffer corrupted = ByteBuffer.wrap(snapshot.clone());
+            if (field[1] == 4) {
+                corrupted.putInt(field[0], field[2]);
+            } else {
+                corrupted.putLong(field[0], field[2]);
+            }
+            Files.write(file, corrupted.array());
+
+            try {
+                mapToObjectConverter.readSnapshot(file, Instrument.class);
+                fail();
+            } catch (ConverterIOException e) {
+                assertThat(e.getMessage(), equalTo("File '" + file + "' is not a snapshot."));
+            }
+        }
+    }
+
+    @Test
+    public void throwsExceptionForMissingFiles() {
+        Path file = temporaryFolder.getRoot().toPath().resolve("missing");
+
+        expectedException.expect(ConverterIOException.class);
+        expectedException.expectMessage(equalTo("Cannot read snapshot '" + file + "'."));
+
+        mapToObjectConverter.readSnapshot(file, Instrument.class);
+    }
+
+}
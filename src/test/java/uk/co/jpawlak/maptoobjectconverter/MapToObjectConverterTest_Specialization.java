@@ -0,0 +1,102 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_Specialization {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+
+
+    private static class ClassWithPrimitiveAndOptionalFields {
+        long id;
+        Optional<String> name;
+    }
+
+    @Test
+    public void countsSpecializationHitsForMonomorphicFields() {
+        for (int i = 0; i < 3; i++) {
+            ClassWithPrimitiveAndOptionalFields actual = mapToObjectConverter.convert(Map.of("id", (long) i, "name", "name " + i), ClassWithPrimitiveAndOptionalFields.class);
+
+            assertThat(actual.id, equalTo((long) i));
+            assertThat(actual.name, equalTo(Optional.of("name " + i)));
+        }
+
+        SpecializationStatistics statistics = mapToObjectConverter.specializationStatistics(ClassWithPrimitiveAndOptionalFields.class);
+        assertThat(statistics.getHits(), equalTo(4L));
+        assertThat(statistics.getDeoptimizations(), equalTo(0L));
+    }
+
+
+
+    private static class ClassWithNumberField {
+        Number number;
+    }
+
+    @Test
+    public void deoptimizesWhenValueOfDifferentClassAppears() {
+        mapToObjectConverter.convert(singletonMap("number", 1), ClassWithNumberField.class);
+        mapToObjectConverter.convert(singletonMap("number", 2), ClassWithNumberField.class);
+        ClassWithNumberField actual = mapToObjectConverter.convert(singletonMap("number", 3L), ClassWithNumberField.class);
+        mapToObjectConverter.convert(singletonMap("number", 4), ClassWithNumberField.class);
+
+        assertThat(actual.number, equalTo(3L));
+
+        SpecializationStatistics statistics = mapToObjectConverter.specializationStatistics(ClassWithNumberField.class);
+        assertThat(statistics.getHits(), equalTo(1L));
+        assertThat(statistics.getDeoptimizations(), equalTo(1L));
+    }
+
+    @Test
+    public void checksTypesAfterDeoptimization() {
+        mapToObjectConverter.convert(singletonMap("id", 1L), ClassWithPrimitiveField.class);
+        mapToObjectConverter.convert(singletonMap("id", 2L), ClassWithPrimitiveField.class);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'id' of type 'long'."));
+
+        mapToObjectConverter.convert(singletonMap("id", "3"), ClassWithPrimitiveField.class);
+    }
+
+
+
+    private static class ClassWithPrimitiveField {
+        long id;
+    }
+
+    @Test
+    public void doesNotSpecializeFieldsWithRegisteredConverters() {
+        mapToObjectConverter.registerConverter(long.class, value -> ((Number) value).longValue());
+
+        mapToObjectConverter.convert(singletonMap("id", 1), ClassWithPrimitiveField.class);
+        ClassWithPrimitiveField actual = mapToObjectConverter.convert(singletonMap("id", 2), ClassWithPrimitiveField.class);
+
+        assertThat(actual.id, equalTo(2L));
+        assertThat(mapToObjectConverter.specializationStatistics(ClassWithPrimitiveField.class).getHits(), equalTo(0L));
+    }
+
+    @Test
+    public void resetsStatisticsWhenConverterIsRegistered() {
+        mapToObjectConverter.convert(singletonMap("id", 1L), ClassWithPrimitiveField.class);
+        mapToObjectConverter.convert(singletonMap("id", 2L), ClassWithPrimitiveField.class);
+
+        mapToObjectConverter.registerConverter(String.class, value -> "x");
+
+        assertThat(mapToObjectConverter.specializationStatistics(ClassWithPrimitiveField.class).getHits(), equalTo(0L));
+    }
+
+}
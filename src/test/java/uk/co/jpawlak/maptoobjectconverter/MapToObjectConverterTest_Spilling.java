@@ -0,0 +1,148 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_Spilling {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private enum Side {
+        BUY, SELL
+    }
+
+    private static class Trade {
+        String symbol;
+        long quantity;
+        Side side;
+    }
+
+    private static Map<String, Object> trade(String symbol, long quantity, String side) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("symbol", symbol);
+        map.put("quantity", quantity);
+        map.put("side", side);
+        return map;
+    }
+
+    private static List<Map<String, Object>> trades(int count) {
+        List<Map<String, Object>> trades = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            trades.add(trade("S" + i, i, i % 2 == 0 ? "BUY" : "SELL"));
+        }
+        return trades;
+    }
+
+    @Test
+    public void keepsInstancesWithinBudgetOnHeapAndSpillsTheRest() {
+        try (SpillingList<Trade> actual = mapToObjectConverter.convertAllSpilling(trades(100), Trade.class, 800)) {
+            assertThat(actual.size(), equalTo(100));
+            assertThat(actual.residentSize(), equalTo(10));
+            assertThat(actual.spilledSize(), equalTo(90));
+            assertThat(actual.get(5), sameInstance(actual.get(5)));
+            assertThat(actual.get(50).symbol, equalTo("S50"));
+            assertThat(actual.get(50).quantity, equalTo(50L));
+            assertThat(actual.get(51).side, equalTo(Side.SELL));
+            assertThat(actual.get(99).symbol, equalTo("S99"));
+        }
+    }
+
+    @Test
+    public void keepsAllInstancesOnHeapIfTheyFitWithinBudget() {
+        try (SpillingList<Trade> actual = mapToObjectConverter.convertAllSpilling(trades(100), Trade.class, Long.MAX_VALUE)) {
+            assertThat(actual.residentSize(), equalTo(100));
+            assertThat(actual.get(99).symbol, equalTo("S99"));
+        }
+    }
+
+    private record Point(int x, int y) {}
+
+    @Test
+    public void spillsRecords() {
+        try (SpillingList<Point> actual = mapToObjectConverter.convertAllSpilling(List.of(Map.of("x", 1, "y", 2), Map.of("x", 3, "y", 4)), Point.class, 0)) {
+            assertThat(actual.spilledSize(), equalTo(2));
+            assertThat(actual, equalTo(List.of(new Point(1, 2), new Point(3, 4))));
+        }
+    }
+
+    @Test
+    public void throwsExceptionWithIndexOfInvalidRow() {
+        List<Map<String, Object>> rows = trades(20);
+        rows.get(15).put("symbol", null);
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'symbol'. Path: '[15]'."));
+
+        mapToObjectConverter.convertAllSpilling(rows, Trade.class, 800);
+    }
+
+    @Test
+    public void throwsExceptionWhenClosedListIsRead() {
+        SpillingList<Trade> list = mapToObjectConverter.convertAllSpilling(trades(20), Trade.class, 800);
+        list.close();
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("List of spilled instances has been closed."));
+
+        list.get(15);
+    }
+
+    @Test
+    public void readsOrRejectsElementsWhileListIsClosedConcurrently() throws Exception {
+        SpillingList<Trade> list = mapToObjectConverter.convertAllSpilling(trades(1000), Trade.class, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    int read = 0;
+                    try {
+                        for (int i = 0; ; i = (i + 1) % list.size()) {
+                            assertThat(list.get(i).symbol, equalTo("S" + i));
+                            read++;
+                        }
+                    } catch (ConverterIllegalArgumentException e) {
+                        return read;
+                    }
+                }));
+            }
+            Thread.sleep(50);
+            list.close();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS) >= 0, equalTo(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void throwsExceptionForNegativeBudget() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Heap budget cannot be negative."));
+
+        mapToObjectConverter.convertAllSpilling(trades(1), Trade.class, -1);
+    }
+
+}
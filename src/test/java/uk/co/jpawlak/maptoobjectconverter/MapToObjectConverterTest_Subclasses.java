@@ -0,0 +1,136 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_Subclasses {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter()
+            .registerSubclasses(Event.class, "type", Map.of("created", Created.class, "deleted", Deleted.class));
+
+    private static abstract class Event {
+        String id;
+    }
+
+    private static class Created extends Event {
+        String name;
+    }
+
+    private static class Deleted extends Event {
+        String type;
+    }
+
+    private static Map<String, Object> created(String id, String name) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("type", "created");
+        map.put("id", id);
+        map.put("name", name);
+        return map;
+    }
+
+    @Test
+    public void convertsIntoSubclassRegisteredForValueOfDiscriminatorKey() {
+        Event actual = mapToObjectConverter.convert(created("1", "x"), Event.class);
+
+        assertThat(actual, instanceOf(Created.class));
+        assertThat(actual.id, equalTo("1"));
+        assertThat(((Created) actual).name, equalTo("x"));
+    }
+
+    @Test
+    public void assignsDiscriminatorKeyToFieldOfSubclassWithTheSameName() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("type", "deleted");
+        map.put("id", "2");
+
+        Event actual = mapToObjectConverter.convert(map, Event.class);
+
+        assertThat(((Deleted) actual).type, equalTo("deleted"));
+    }
+
+    private static class Stream {
+        List<Event> events;
+    }
+
+    @Test
+    public void convertsNestedMapsIntoSubclasses() {
+        Map<String, Object> deleted = new HashMap<>();
+        deleted.put("type", "deleted");
+        deleted.put("id", "2");
+
+        Stream actual = mapToObjectConverter.convert(Map.of("events", List.of(created("1", "x"), deleted)), Stream.class);
+
+        assertThat(actual.events.get(0), instanceOf(Created.class));
+        assertThat(actual.events.get(1), instanceOf(Deleted.class));
+    }
+
+    @Test
+    public void ignoresCaseOfDiscriminatorKeyInCaseInsensitiveMode() {
+        MapToObjectConverter converter = new MapToObjectConverter(false)
+                .registerSubclasses(Event.class, "type", Map.of("created", Created.class));
+        Map<String, Object> map = new HashMap<>();
+        map.put("TYPE", "created");
+        map.put("Id", "1");
+        map.put("NAME", "x");
+
+        assertThat(converter.convert(map, Event.class), instanceOf(Created.class));
+    }
+
+    @Test
+    public void validatesKeysAgainstFieldsOfSubclass() {
+        Map<String, Object> map = created("1", "x");
+        map.put("reason", "y");
+
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'reason'."));
+
+        mapToObjectConverter.convert(map, Event.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenNoSubclassIsRegisteredForValue() {
+        Map<String, Object> map = created("1", "x");
+        map.put("type", "updated");
+
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("No subclass of '" + Event.class.getTypeName() + "' registered for value 'updated' of key 'type'."));
+
+        mapToObjectConverter.convert(map, Event.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenMapDoesNotContainDiscriminatorKey() {
+        Map<String, Object> map = created("1", "x");
+        map.remove("type");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No value for discriminator key 'type'."));
+
+        mapToObjectConverter.convert(map, Event.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenRegisteredSubclassIsAbstract() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Subclass '" + Event.class.getTypeName() + "' registered for value 'x' cannot be abstract."));
+
+        mapToObjectConverter.registerSubclasses(Event.class, "type", Map.of("x", Event.class));
+    }
+
+}
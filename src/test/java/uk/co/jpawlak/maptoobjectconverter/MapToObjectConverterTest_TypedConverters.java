@@ -0,0 +1,201 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.RegisteredConverterException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings({"unused", "OptionalUsedAsFieldOrParameterType"})
+public class MapToObjectConverterTest_TypedConverters {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Illegal argument
+
+    @Test
+    public void throwsExceptionWhenTryingToRegisterConverterFromNullClass() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot register converter from null class."));
+
+        mapToObjectConverter.registerConverter(null, String.class, value -> "");
+    }
+
+    @Test
+    public void throwsExceptionWhenTryingToRegisterConverterToJavaOptional() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot register convert for 'java.util.Optional'. Register converter for the type parameter instead."));
+
+        mapToObjectConverter.registerConverter(String.class, Optional.class, Optional::of);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+    // Conversion
+
+    private enum Gender {
+        MALE, FEMALE
+    }
+
+    private static class Employee {
+        Gender gender;
+        int age;
+        Optional<Gender> previousGender;
+    }
+
+    @Test
+    public void usesConverterRegisteredForClassOfTheValue() {
+        Map<String, Object> map = Map.of(
+                "gender", 1,
+                "age", "27",
+                "previousGender", 0
+        );
+
+        mapToObjectConverter
+                .registerConverter(Integer.class, Gender.class, number -> Gender.values()[number])
+                .registerConverter(String.class, int.class, Integer::parseInt);
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual.gender, equalTo(Gender.FEMALE));
+        assertThat(actual.age, equalTo(27));
+        assertThat(actual.previousGender, equalTo(Optional.of(Gender.MALE)));
+    }
+
+    @Test
+    public void fallsBackToDefaultConversionForValuesOfOtherClasses() {
+        Map<String, Object> map = Map.of(
+                "gender", "MALE",
+                "age", 30,
+                "previousGender", "FEMALE"
+        );
+
+        mapToObjectConverter
+                .registerConverter(Integer.class, Gender.class, number -> Gender.values()[number])
+                .registerConverter(String.class, int.class, Integer::parseInt);
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual.gender, equalTo(Gender.MALE));
+        assertThat(actual.age, equalTo(30));
+        assertThat(actual.previousGender, equalTo(Optional.of(Gender.FEMALE)));
+    }
+
+    @Test
+    public void doesNotUseConverterForNullValues() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("gender", 0);
+        map.put("age", 30);
+        map.put("previousGender", null);
+
+        mapToObjectConverter.registerConverter(Integer.class, Gender.class, number -> Gender.values()[number]);
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual.previousGender, equalTo(Optional.empty()));
+    }
+
+
+
+    private static class ClassWithBigDecimalField {
+        BigDecimal amount;
+    }
+
+    @Test
+    public void usesConverterRegisteredForSuperclassOfTheValue() {
+        mapToObjectConverter.registerConverter(Number.class, BigDecimal.class, number -> new BigDecimal(number.toString()));
+
+        ClassWithBigDecimalField fromInteger = mapToObjectConverter.convert(singletonMap("amount", 12), ClassWithBigDecimalField.class);
+        ClassWithBigDecimalField fromDouble = mapToObjectConverter.convert(singletonMap("amount", 0.5d), ClassWithBigDecimalField.class);
+
+        assertThat(fromInteger.amount, equalTo(new BigDecimal("12")));
+        assertThat(fromDouble.amount, equalTo(new BigDecimal("0.5")));
+    }
+
+    @Test
+    public void prefersConverterRegisteredForMostSpecificClass() {
+        mapToObjectConverter
+                .registerConverter(Number.class, BigDecimal.class, number -> BigDecimal.ONE)
+                .registerConverter(Long.class, BigDecimal.class, BigDecimal::valueOf);
+
+        ClassWithBigDecimalField actual = mapToObjectConverter.convert(singletonMap("amount", 7L), ClassWithBigDecimalField.class);
+
+        assertThat(actual.amount, equalTo(BigDecimal.valueOf(7)));
+    }
+
+    @Test
+    public void usesConverterRegisteredForInterfaceOfTheValue() {
+        mapToObjectConverter.registerConverter(CharSequence.class, BigDecimal.class, text -> new BigDecimal(text.toString()));
+
+        ClassWithBigDecimalField actual = mapToObjectConverter.convert(singletonMap("amount", new StringBuilder("3.25")), ClassWithBigDecimalField.class);
+
+        assertThat(actual.amount, equalTo(new BigDecimal("3.25")));
+    }
+
+    @Test
+    public void prefersConverterRegisteredFromSourceClass() {
+        mapToObjectConverter
+                .registerConverter(BigDecimal.class, value -> BigDecimal.ZERO)
+                .registerConverter(String.class, BigDecimal.class, BigDecimal::new);
+
+        ClassWithBigDecimalField actual = mapToObjectConverter.convert(singletonMap("amount", "10"), ClassWithBigDecimalField.class);
+
+        assertThat(actual.amount, equalTo(BigDecimal.TEN));
+    }
+
+    @Test
+    public void throwsExceptionWhenConverterThrowsException() {
+        mapToObjectConverter.registerConverter(String.class, BigDecimal.class, BigDecimal::new);
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectCause(instanceOf(NumberFormatException.class));
+
+        mapToObjectConverter.convert(singletonMap("amount", "ten"), ClassWithBigDecimalField.class);
+    }
+
+    @Test
+    public void throwsExceptionWhenConverterReturnsNullForNonOptionalField() {
+        mapToObjectConverter.registerConverter(String.class, BigDecimal.class, text -> null);
+
+        expectedException.expect(RegisteredConverterException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Registered converter for type 'java.math.BigDecimal' returned null."));
+
+        mapToObjectConverter.convert(singletonMap("amount", "1"), ClassWithBigDecimalField.class);
+    }
+
+    @Test
+    public void throwsExceptionForValueOfClassWithoutConverter() {
+        mapToObjectConverter.registerConverter(String.class, BigDecimal.class, BigDecimal::new);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.Integer' to field 'amount' of type 'java.math.BigDecimal'."));
+
+        mapToObjectConverter.convert(singletonMap("amount", 1), ClassWithBigDecimalField.class);
+    }
+
+    @Test
+    public void specializesFieldForClassOfTheValue() {
+        mapToObjectConverter.registerConverter(String.class, BigDecimal.class, BigDecimal::new);
+
+        mapToObjectConverter.convert(singletonMap("amount", "1"), ClassWithBigDecimalField.class);
+        ClassWithBigDecimalField actual = mapToObjectConverter.convert(singletonMap("amount", "2"), ClassWithBigDecimalField.class);
+
+        assertThat(actual.amount, equalTo(new BigDecimal("2")));
+        assertThat(mapToObjectConverter.specializationStatistics(ClassWithBigDecimalField.class).getHits(), equalTo(1L));
+    }
+
+}
@@ -0,0 +1,189 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingFieldsException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_UnknownKeys {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    private static class Employee {
+        String name;
+        int age;
+    }
+
+    private static Map<String, Object> employee() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "Jaroslaw");
+        map.put("age", 30);
+        map.put("department", "IT");
+        map.put("salary", null);
+        return map;
+    }
+
+    @Test
+    public void throwsExceptionForUnknownKeysByDefault() {
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'department', 'salary'."));
+
+        mapToObjectConverter.convert(employee(), Employee.class);
+    }
+
+    @Test
+    public void ignoresUnknownKeys() {
+        mapToObjectConverter.ignoreUnknownKeys();
+
+        Employee actual = mapToObjectConverter.convert(employee(), Employee.class);
+
+        assertThat(actual.name, equalTo("Jaroslaw"));
+        assertThat(actual.age, equalTo(30));
+    }
+
+    @Test
+    public void throwsExceptionForMissingValuesWhenUnknownKeysAreIgnored() {
+        mapToObjectConverter.ignoreUnknownKeys();
+        Map<String, Object> map = employee();
+        map.remove("age");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'age'."));
+
+        mapToObjectConverter.convert(map, Employee.class);
+    }
+
+    @Test
+    public void checksKeysOfEachShape() {
+        Map<String, Object> map = employee();
+        map.remove("department");
+        map.remove("salary");
+        mapToObjectConverter.convert(map, Employee.class);
+        mapToObjectConverter.convert(map, Employee.class);
+
+        map.put("manager", "Joanna");
+
+        expectedException.expect(ConverterMissingFieldsException.class);
+        expectedException.expectMessage(equalTo("No fields for keys: 'manager'."));
+
+        mapToObjectConverter.convert(map, Employee.class);
+    }
+
+    private static class Manager {
+        String name;
+        Employee assistant;
+    }
+
+    @Test
+    public void ignoresUnknownKeysOfNestedObjects() {
+        mapToObjectConverter.ignoreUnknownKeys();
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "Joanna");
+        map.put("assistant", employee());
+
+        Manager actual = mapToObjectConverter.convert(map, Manager.class);
+
+        assertThat(actual.assistant.name, equalTo("Jaroslaw"));
+    }
+
+    @Test
+    public void ignoresUnknownKeysInKeyCaseInsensitiveMode() {
+        MapToObjectConverter mapToObjectConverter = new MapToObjectConverter(false).ignoreUnknownKeys();
+        Map<String, Object> map = new HashMap<>();
+        map.put("NAME", "Jaroslaw");
+        map.put("Age", 30);
+        map.put("DEPARTMENT", "IT");
+
+        Employee actual = mapToObjectConverter.convert(map, Employee.class);
+
+        assertThat(actual.name, equalTo("Jaroslaw"));
+        assertThat(actual.age, equalTo(30));
+    }
+
+    private static class ExtensibleEmployee {
+        String name;
+        int age;
+        @UnknownKeys
+        Map<String, Object> extras;
+    }
+
+    @Test
+    public void collectsUnknownKeysIntoAnnotatedField() {
+        ExtensibleEmployee actual = mapToObjectConverter.convert(employee(), ExtensibleEmployee.class);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("department", "IT");
+        expected.put("salary", null);
+        assertThat(actual.name, equalTo("Jaroslaw"));
+        assertThat(actual.extras, equalTo(expected));
+    }
+
+    @Test
+    public void assignsEmptyMapToAnnotatedFieldIfThereAreNoUnknownKeys() {
+        Map<String, Object> map = employee();
+        map.remove("department");
+        map.remove("salary");
+
+        ExtensibleEmployee actual = mapToObjectConverter.convert(map, ExtensibleEmployee.class);
+
+        assertThat(actual.extras, equalTo(Map.of()));
+    }
+
+    private record EmployeeRecord(String name, @UnknownKeys Map<String, Object> extras) {}
+
+    @Test
+    public void collectsUnknownKeysIntoAnnotatedRecordComponent() {
+        Map<String, Object> map = Map.of("name", "Jaroslaw", "department", "IT");
+
+        EmployeeRecord actual = mapToObjectConverter.convert(map, EmployeeRecord.class);
+
+        assertThat(actual.name(), equalTo("Jaroslaw"));
+        assertThat(actual.extras(), equalTo(Map.of("department", "IT")));
+    }
+
+    private static class InvalidEmployee {
+        String name;
+        @UnknownKeys
+        Map<String, String> extras;
+    }
+
+    @Test
+    public void throwsExceptionIfAnnotatedFieldIsNotMapOfObjects() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Field 'extras' of '" + InvalidEmployee.class.getTypeName() + "' annotated with @UnknownKeys has to be of type 'Map<String, Object>'."));
+
+        mapToObjectConverter.convert(Map.of("name", "Jaroslaw"), InvalidEmployee.class);
+    }
+
+    public interface EmployeeView {
+        String getName();
+        List<String> getSkills();
+    }
+
+    @Test
+    public void ignoresUnknownKeysOfViews() {
+        mapToObjectConverter.ignoreUnknownKeys();
+        Map<String, Object> map = employee();
+        map.put("skills", List.of("Java"));
+
+        EmployeeView actual = mapToObjectConverter.view(map, EmployeeView.class);
+
+        assertThat(actual.getName(), equalTo("Jaroslaw"));
+        assertThat(actual.getSkills(), equalTo(List.of("Java")));
+    }
+
+}
@@ -0,0 +1,273 @@
+package uk.co.jpawlak.maptoobjectconverter;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.util.CheckClassAdapter;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterIllegalArgumentException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterMissingValuesException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterNullValueException;
+import uk.co.jpawlak.maptoobjectconverter.exceptions.ConverterTypeMismatchException;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+@SuppressWarnings("unused")
+public class MapToObjectConverterTest_Views {
+
+    @Rule
+    public final ExpectedException expectedException = ExpectedException.none();
+
+    private final MapToObjectConverter mapToObjectConverter = new MapToObjectConverter();
+
+    public static class Money {
+        final long cents;
+
+        Money(long cents) {
+            this.cents = cents;
+        }
+    }
+
+    public static class Address {
+        String city;
+    }
+
+    public interface Order {
+        String getId();
+        int getQuantity();
+        boolean isPaid();
+        Optional<String> comment();
+        Money getPrice();
+        Address getAddress();
+        List<Address> getStops();
+    }
+
+    private static Map<String, Object> order() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", "order-1");
+        map.put("quantity", 3);
+        map.put("paid", true);
+        map.put("comment", null);
+        map.put("price", 250L);
+        map.put("address", Map.of("city", "London"));
+        map.put("stops", List.of(Map.of("city", "Leeds"), Map.of("city", "York")));
+        return map;
+    }
+
+    @Test
+    public void readsPropertiesOfViews() {
+        mapToObjectConverter.registerConverter(Long.class, Money.class, Money::new);
+
+        Order actual = mapToObjectConverter.view(order(), Order.class);
+
+        assertThat(actual.getId(), equalTo("order-1"));
+        assertThat(actual.getQuantity(), equalTo(3));
+        assertThat(actual.isPaid(), equalTo(true));
+        assertThat(actual.comment(), equalTo(Optional.empty()));
+        assertThat(actual.getPrice().cents, equalTo(250L));
+        assertThat(actual.getAddress().city, equalTo("London"));
+        assertThat(actual.getStops().get(1).city, equalTo("York"));
+    }
+
+    @Test
+    public void convertsValuesOnlyWhenTheyAreReadForTheFirstTime() {
+        AtomicInteger conversions = new AtomicInteger();
+        mapToObjectConverter.registerConverter(Long.class, Money.class, cents -> {
+            conversions.incrementAndGet();
+            return new Money(cents);
+        });
+
+        Order actual = mapToObjectConverter.view(order(), Order.class);
+        assertThat(conversions.get(), equalTo(0));
+
+        Money price = actual.getPrice();
+        assertThat(actual.getPrice(), sameInstance(price));
+        assertThat(conversions.get(), equalTo(1));
+    }
+
+    public interface Line {
+        int getQuantity();
+        long getUnitPrice();
+
+        default long total() {
+            return getQuantity() * getUnitPrice();
+        }
+    }
+
+    @Test
+    public void callsDefaultMethodsOfInterfaces() {
+        Line actual = mapToObjectConverter.view(Map.of("quantity", 3, "unitPrice", 250L), Line.class);
+
+        assertThat(actual.total(), equalTo(750L));
+    }
+
+    @Test
+    public void doesNotCreateProxies() {
+        mapToObjectConverter.registerConverter(Long.class, Money.class, Money::new);
+
+        Order actual = mapToObjectConverter.view(order(), Order.class);
+
+        assertThat(Proxy.isProxyClass(actual.getClass()), equalTo(false));
+        assertThat(actual.getClass(), sameInstance(mapToObjectConverter.view(order(), Order.class).getClass()));
+    }
+
+    public interface Named {
+        Object getName();
+    }
+
+    public interface Measurements extends Named {
+        @Override
+        String getName();
+        byte getByte();
+        short getShort();
+        char getChar();
+        long getLong();
+        float getFloat();
+        double getDouble();
+        int[] getInts();
+        Object getAnything();
+    }
+
+    @Test
+    public void generatesClassesWhichPassVerification() {
+        for (Class<?> viewInterface : List.of(Order.class, Line.class, Measurements.class)) {
+            StringWriter errors = new StringWriter();
+
+            CheckClassAdapter.verify(new ClassReader(ViewClasses.of(viewInterface).classFile()), ViewClasses.class.getClassLoader(), false, new PrintWriter(errors));
+
+            assertThat(errors.toString(), equalTo(""));
+        }
+    }
+
+    @Test
+    public void readsPropertiesOfAllReturnTypes() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "x");
+        map.put("byte", (byte) 1);
+        map.put("short", (short) 2);
+        map.put("char", 'c');
+        map.put("long", 4L);
+        map.put("float", 5.0f);
+        map.put("double", 6.0);
+        map.put("ints", new int[] {7});
+        map.put("anything", 8);
+
+        Measurements actual = mapToObjectConverter.view(map, Measurements.class);
+
+        assertThat(actual.getName(), equalTo("x"));
+        assertThat(((Named) actual).getName(), equalTo("x"));
+        assertThat(actual.getByte(), equalTo((byte) 1));
+        assertThat(actual.getShort(), equalTo((short) 2));
+        assertThat(actual.getChar(), equalTo('c'));
+        assertThat(actual.getLong(), equalTo(4L));
+        assertThat(actual.getFloat(), equalTo(5.0f));
+        assertThat(actual.getDouble(), equalTo(6.0));
+        assertThat(actual.getInts()[0], equalTo(7));
+        assertThat(actual.getAnything(), equalTo(8));
+    }
+
+    @Test
+    public void comparesViewsByIdentity() {
+        mapToObjectConverter.registerConverter(Long.class, Money.class, Money::new);
+
+        Order actual = mapToObjectConverter.view(order(), Order.class);
+
+        assertThat(actual.equals(actual), equalTo(true));
+        assertThat(actual.equals(mapToObjectConverter.view(order(), Order.class)), equalTo(false));
+        assertThat(actual.hashCode(), equalTo(System.identityHashCode(actual)));
+    }
+
+    @Test
+    public void throwsExceptionWhenKeysAreMissingWhenViewIsCreated() {
+        Map<String, Object> map = order();
+        map.remove("quantity");
+
+        expectedException.expect(ConverterMissingValuesException.class);
+        expectedException.expectMessage(equalTo("No values for fields: 'quantity'."));
+
+        mapToObjectConverter.view(map, Order.class);
+    }
+
+    @Test
+    public void throwsExceptionForNullValuesWhenTheyAreRead() {
+        Map<String, Object> map = order();
+        map.put("id", null);
+        Order actual = mapToObjectConverter.view(map, Order.class);
+
+        expectedException.expect(ConverterNullValueException.class);
+        expectedException.expectMessage(equalTo("Null values require fields to be Optional. Null values for fields: 'id'."));
+
+        actual.getId();
+    }
+
+    @Test
+    public void throwsExceptionForValuesOfWrongTypeWhenTheyAreRead() {
+        Map<String, Object> map = order();
+        map.put("quantity", "three");
+        Order actual = mapToObjectConverter.view(map, Order.class);
+
+        expectedException.expect(ConverterTypeMismatchException.class);
+        expectedException.expectMessage(equalTo("Cannot assign value of type 'java.lang.String' to field 'quantity' of type 'int'."));
+
+        actual.getQuantity();
+    }
+
+    public interface Customer {
+        String getName();
+    }
+
+    @Test
+    public void matchesKeysOfDifferentShapesInKeyCaseInsensitiveMode() {
+        MapToObjectConverter mapToObjectConverter = new MapToObjectConverter(false);
+
+        Customer first = mapToObjectConverter.view(Map.of("NAME", "Jaroslaw"), Customer.class);
+        Customer second = mapToObjectConverter.view(Map.of("Name", "Joanna"), Customer.class);
+
+        assertThat(first.getName(), equalTo("Jaroslaw"));
+        assertThat(second.getName(), equalTo("Joanna"));
+    }
+
+    public interface Command {
+        void execute();
+    }
+
+    @Test
+    public void throwsExceptionForMethodsWhichAreNotGetters() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Method 'execute' of '" + Command.class.getTypeName() + "' is not a getter."));
+
+        mapToObjectConverter.view(new HashMap<>(), Command.class);
+    }
+
+    interface Hidden {
+        String getName();
+    }
+
+    @Test
+    public void throwsExceptionForInterfacesWhichAreNotPublic() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot create view of '" + Hidden.class.getTypeName() + "'. Class '" + Hidden.class.getTypeName() + "' has to be public and visible from the class loader of the converter."));
+
+        mapToObjectConverter.view(Map.of("name", "x"), Hidden.class);
+    }
+
+    @Test
+    public void throwsExceptionForClasses() {
+        expectedException.expect(ConverterIllegalArgumentException.class);
+        expectedException.expectMessage(equalTo("Cannot create view of '" + Address.class.getTypeName() + "'. Views can be created only for interfaces."));
+
+        mapToObjectConverter.view(Map.of("city", "x"), Address.class);
+    }
+
+}